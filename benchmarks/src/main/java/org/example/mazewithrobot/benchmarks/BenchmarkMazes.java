@@ -0,0 +1,113 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.Maze;
+import org.example.mazewithrobot.MazeGenerator;
+import org.example.mazewithrobot.MazeLoader;
+import org.example.mazewithrobot.PassabilityGrid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * Builds the mazes shared by the benchmarks: the bundled {@code maze.png}, synthetic
+ * serpentine mazes of any size, and seeded mazes from {@link MazeGenerator}.
+ */
+final class BenchmarkMazes {
+    /** The name used to select the bundled maze image. */
+    static final String BUNDLED = "bundled";
+
+    /** The seed of every generated maze, so that all runs measure the same mazes. */
+    private static final long SEED = 42;
+
+    /** The thickness of a synthetic wall in pixels. */
+    private static final int WALL = 10;
+
+    /** The width of a synthetic corridor in pixels, enough for the robot with some slack. */
+    private static final int CORRIDOR = 30;
+
+    /** The distance between two synthetic corridors in pixels. */
+    private static final int PITCH = CORRIDOR + WALL;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BenchmarkMazes() {
+    }
+
+    /**
+     * Builds the maze selected by a benchmark parameter.
+     *
+     * @param name {@link #BUNDLED} for the bundled image, the side length of a serpentine maze in pixels,
+     *             or {@code algorithm:cells} for a square generated maze, such as {@code kruskal:100}.
+     * @return The maze, with its entrance and exit located.
+     */
+    static Maze load(String name) {
+        if (name.equals(BUNDLED)) {
+            try (InputStream input = Maze.class.getResourceAsStream("/maze.png")) {
+                if (input == null) {
+                    throw new IllegalStateException("maze.png is missing from the class path");
+                }
+                return MazeLoader.load(input, 10, 260);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int separator = name.indexOf(':');
+        if (separator >= 0) {
+            MazeGenerator.Algorithm algorithm =
+                    MazeGenerator.Algorithm.valueOf(name.substring(0, separator).toUpperCase(Locale.ROOT));
+            int cells = Integer.parseInt(name.substring(separator + 1));
+            return new MazeGenerator(cells, cells, SEED).generateMaze(algorithm);
+        }
+        return new Maze(serpentine(Integer.parseInt(name)), 0, WALL);
+    }
+
+    /**
+     * Builds a square serpentine maze: horizontal corridors joined alternately at their right
+     * and left ends, entered on the left border of the first corridor and left through the border
+     * at the far end of the last one. Solving it visits every corridor.
+     *
+     * @param size The side length of the maze in pixels.
+     * @return The passability grid of the maze.
+     */
+    static PassabilityGrid serpentine(int size) {
+        PassabilityGrid grid = new PassabilityGrid(size, size);
+        int corridors = (size - WALL) / PITCH;
+        if (corridors < 2) {
+            throw new IllegalArgumentException("Synthetic mazes must be at least " + (WALL + 2 * PITCH) + " pixels");
+        }
+        for (int k = 0; k < corridors; k++) {
+            int top = WALL + k * PITCH;
+            fill(grid, WALL, top, size - 2 * WALL, CORRIDOR);
+            if (k > 0) {
+                // Join this corridor to the previous one, alternating between the right and left ends
+                int gapX = k % 2 == 1 ? size - WALL - CORRIDOR : WALL;
+                fill(grid, gapX, top - WALL, CORRIDOR, WALL);
+            }
+        }
+        // Entrance on the left of the first corridor, exit at the far end of the last one
+        fill(grid, 0, WALL, WALL, CORRIDOR);
+        int lastTop = WALL + (corridors - 1) * PITCH;
+        fill(grid, (corridors - 1) % 2 == 1 ? 0 : size - WALL, lastTop, WALL, CORRIDOR);
+        return grid;
+    }
+
+    /**
+     * Marks a rectangle of the grid as path.
+     *
+     * @param grid The grid to update.
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    private static void fill(PassabilityGrid grid, int x, int y, int width, int height) {
+        for (int row = y; row < y + height; row++) {
+            for (int column = x; column < x + width; column++) {
+                grid.setPassable(column, row, true);
+            }
+        }
+    }
+}
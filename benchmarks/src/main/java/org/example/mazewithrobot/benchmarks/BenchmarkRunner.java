@@ -0,0 +1,33 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result also reports allocation rates.
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Prevents instantiation of this entry point class.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks whose names match the given pattern, or all of them.
+     *
+     * @param args An optional regular expression selecting the benchmarks to run.
+     * @throws RunnerException If JMH fails to run the benchmarks.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.Maze;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the robot footprint check, {@link Maze#isValidMove}, at random positions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+    /** The number of positions checked per benchmark invocation. */
+    private static final int POSITIONS = 4096;
+
+    /** The maze to check: the bundled image or the side length of a synthetic maze. */
+    @Param({BenchmarkMazes.BUNDLED, "100", "1000", "5000", "20000"})
+    public String maze;
+
+    /** The maze under test. */
+    private Maze subject;
+
+    /** The x-coordinates of the positions to check. */
+    private int[] xs;
+
+    /** The y-coordinates of the positions to check. */
+    private int[] ys;
+
+    /**
+     * Builds the maze and a fixed set of random positions once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        subject = BenchmarkMazes.load(maze);
+        Random random = new Random(42);
+        xs = new int[POSITIONS];
+        ys = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = random.nextInt(subject.getWidth());
+            ys[i] = random.nextInt(subject.getHeight());
+        }
+    }
+
+    /**
+     * Checks whether the robot fits at every prepared position.
+     *
+     * @return The number of valid positions.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int isValidMove() {
+        int valid = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            if (subject.isValidMove(xs[i], ys[i])) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
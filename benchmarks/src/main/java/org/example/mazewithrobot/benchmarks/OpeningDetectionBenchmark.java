@@ -0,0 +1,45 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.MazeSource;
+import org.example.mazewithrobot.OpeningDetector;
+import org.example.mazewithrobot.Point;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the border scan that finds the openings of a maze, as run by {@code Maze.findExit}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class OpeningDetectionBenchmark {
+    /** The maze to scan: the bundled image or the side length of a synthetic maze. */
+    @Param({BenchmarkMazes.BUNDLED, "100", "1000", "5000", "20000"})
+    public String maze;
+
+    /** The passability grid of the maze. */
+    private MazeSource grid;
+
+    /**
+     * Builds the maze once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        grid = BenchmarkMazes.load(maze).getGrid();
+    }
+
+    /**
+     * Scans all four borders for openings.
+     *
+     * @return The openings found.
+     */
+    @Benchmark
+    public List<Point> findOpenings() {
+        return OpeningDetector.findOpenings(grid);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete solves, from the start of the robot to the exit, for each search algorithm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class SolveBenchmark {
+    /** The maze to solve: the bundled image, the side length of a serpentine maze, or a generated maze. */
+    @Param({BenchmarkMazes.BUNDLED, "100", "1000", "5000", "20000",
+            "recursive_backtracker:100", "kruskal:100", "prim:100", "braided:100", "eller:500"})
+    public String maze;
+
+    /** The search algorithm to run, one of {@link MazeSolvers#NAMES}. */
+    @Param({"dfs", "bfs", "pbfs", "astar", "dijkstra", "jps", "bibfs", "corridor", "hpa"})
+    public String solver;
+
+    /** The maze under test. */
+    private Maze subject;
+
+    /** The lattice of the maze, built once per trial. */
+    private Lattice lattice;
+
+    /** The selected solver, created once per trial along with any graph it searches. */
+    private MazeSolver search;
+
+    /**
+     * Builds the maze, its lattice and the selected solver once per trial.
+     * Graph-based solvers build their corridor or cluster graph here, outside the measurement.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        subject = BenchmarkMazes.load(maze);
+        lattice = subject.getLattice();
+        search = MazeSolvers.create(solver, subject);
+    }
+
+    /**
+     * Solves the maze with the selected algorithm.
+     *
+     * @return The number of steps on the route found.
+     */
+    @Benchmark
+    public int solve() {
+        return search.solve(lattice.start(), lattice.goal()).length;
+    }
+}
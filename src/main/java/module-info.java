@@ -1,6 +1,8 @@
 module org.example.mazewithrobot {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.desktop;
+    requires jdk.management;
 
 
     opens org.example.mazewithrobot to javafx.fxml;
@@ -0,0 +1,155 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Finds a shortest route over a maze {@link Lattice} with A* search.
+ * The search is guided by the Manhattan distance to the goal, which never overestimates on a
+ * 4-connected lattice, so the route found is optimal. The open set is an {@link IntMinHeap} of
+ * node ids and all per-node state lives in primitive arrays. Without the heuristic the same
+ * search is Dijkstra's algorithm, which expands nodes purely in order of their distance.
+ */
+public class AStarSolver implements MazeSolver {
+    /** The lattice to search. */
+    private final Lattice lattice;
+
+    /** True to guide the search with the Manhattan distance, false to run Dijkstra's algorithm. */
+    private final boolean informed;
+
+    /** The number of nodes expanded by the last search. */
+    private int expandedCount;
+
+    /** The largest open set size reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for a lattice.
+     *
+     * @param lattice The lattice to search.
+     */
+    public AStarSolver(Lattice lattice) {
+        this(lattice, true);
+    }
+
+    /**
+     * Constructs a new solver for a lattice, with or without the heuristic.
+     *
+     * @param lattice The lattice to search.
+     * @param informed True to guide the search with the Manhattan distance, false to run Dijkstra's algorithm.
+     */
+    public AStarSolver(Lattice lattice, boolean informed) {
+        this.lattice = lattice;
+        this.informed = informed;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return informed ? "astar" : "dijkstra";
+    }
+
+    /**
+     * Finds a shortest route between two nodes.
+     *
+     * @param start The id of the start node.
+     * @param goal The id of the goal node.
+     * @return The node ids along the route, from start to goal, or an empty array if the goal is unreachable.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        expandedCount = 0;
+        peakFrontier = 0;
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            return new int[0];
+        }
+
+        int[] cost = new int[lattice.size()];
+        int[] parent = new int[lattice.size()];
+        long[] closed = new long[(lattice.size() + 63) >>> 6];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        IntMinHeap open = new IntMinHeap(1024);
+
+        cost[start] = 0;
+        parent[start] = start;
+        open.push(start, estimate(start, goal));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if ((closed[current >>> 6] & (1L << current)) != 0) {
+                continue; // Stale entry for a node that was already expanded
+            }
+            closed[current >>> 6] |= 1L << current;
+            expandedCount++;
+            if (current == goal) {
+                peakFrontier = open.peakSize();
+                return tracePath(parent, goal);
+            }
+
+            int nextCost = cost[current] + 1;
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int next = lattice.neighbor(current, direction);
+                if (next >= 0 && nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    parent[next] = current;
+                    open.push(next, nextCost + estimate(next, goal));
+                }
+            }
+        }
+        peakFrontier = open.peakSize();
+        return new int[0];
+    }
+
+    /**
+     * Estimates the remaining distance to the goal.
+     *
+     * @param node The id of the node to estimate from.
+     * @param goal The id of the goal node.
+     * @return The Manhattan distance in steps, or 0 when running Dijkstra's algorithm.
+     */
+    private int estimate(int node, int goal) {
+        return informed ? lattice.manhattan(node, goal) : 0;
+    }
+
+    /**
+     * Rebuilds a route by following parent links back from the goal.
+     *
+     * @param parent The parent of every reached node; the start is its own parent.
+     * @param goal The id of the goal node.
+     * @return The node ids along the route, from start to goal.
+     */
+    static int[] tracePath(int[] parent, int goal) {
+        int length = 1;
+        for (int node = goal; parent[node] != node; node = parent[node]) {
+            length++;
+        }
+        int[] route = new int[length];
+        for (int node = goal, i = length - 1; i >= 0; node = parent[node], i--) {
+            route[i] = node;
+        }
+        return route;
+    }
+
+    /**
+     * Gets the number of nodes expanded by the last search.
+     *
+     * @return The number of expanded nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest open set size reached by the last search.
+     *
+     * @return The peak number of heap entries.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+}
@@ -0,0 +1,351 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Command-line entry point that solves a large number of mazes concurrently, without the JavaFX toolkit.
+ *
+ * <p>Usage: {@code BatchRunner [--start x,y] [--solver name] [--tolerance exact|argb:N|luma:N]
+ *     [--threads N] [--in-flight N] maze-or-directory...}</p>
+ *
+ * <p>Mazes flow through a bounded pipeline. Each maze is decoded and its openings detected on a
+ * virtual thread, since that stage mostly waits on the disk. It is then solved on a pool of
+ * {@code --threads} platform threads, by default one per processor. At most {@code --in-flight}
+ * mazes are between the two stages at a time, which bounds the memory held by decoded mazes. A
+ * writer thread prints one line per maze in the order they were given, with the same columns as
+ * {@link HeadlessSolver} followed by the latency of the maze. A summary with the throughput in
+ * mazes per second and the median and 99th percentile latencies closes the output, on lines
+ * starting with {@code #}.</p>
+ */
+public final class BatchRunner {
+    /** The default x-coordinate the robot starts from, matching the JavaFX application. */
+    private static final double DEFAULT_START_X = 10;
+
+    /** The default y-coordinate the robot starts from, matching the JavaFX application. */
+    private static final double DEFAULT_START_Y = 260;
+
+    /**
+     * Prevents instantiation of this entry point class.
+     */
+    private BatchRunner() {
+    }
+
+    /**
+     * Solves every maze given on the command line, expanding directories to the files they contain.
+     *
+     * @param args The options followed by the maze files and directories.
+     */
+    public static void main(String[] args) {
+        double startX = DEFAULT_START_X;
+        double startY = DEFAULT_START_Y;
+        String solverName = "dfs";
+        PathTolerance tolerance = PathTolerance.exact();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int inFlight = 0;
+        int first = 0;
+        while (first + 1 < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--start" -> {
+                    String[] coordinates = args[first + 1].split(",");
+                    startX = Double.parseDouble(coordinates[0].trim());
+                    startY = Double.parseDouble(coordinates[1].trim());
+                }
+                case "--solver" -> solverName = args[first + 1];
+                case "--tolerance" -> tolerance = PathTolerance.parse(args[first + 1]);
+                case "--threads" -> threads = Integer.parseInt(args[first + 1]);
+                case "--in-flight" -> inFlight = Integer.parseInt(args[first + 1]);
+                default -> usage();
+            }
+            first += 2;
+        }
+        if (first >= args.length || !MazeSolvers.NAMES.contains(solverName) || threads <= 0 || inFlight < 0) {
+            usage();
+        }
+
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = first; i < args.length; i++) {
+                files.addAll(expand(Path.of(args[i])));
+            }
+        } catch (IOException e) {
+            System.err.println("Could not list mazes: " + e.getMessage());
+            System.exit(2);
+        }
+        // Keep every solver busy with one maze while the next ones are decoded
+        int capacity = inFlight > 0 ? inFlight : threads * 2;
+        boolean allSolved = run(files, startX, startY, solverName, tolerance, threads, capacity);
+        if (!allSolved) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the command-line usage and exits.
+     */
+    private static void usage() {
+        System.err.println("Usage: BatchRunner [--start x,y] [--solver " + String.join("|", MazeSolvers.NAMES) + "] "
+                + "[--tolerance exact|argb:N|luma:N] [--threads N] [--in-flight N] maze-or-directory...");
+        System.exit(2);
+    }
+
+    /**
+     * Expands a command-line path to the maze files it names.
+     *
+     * @param path A maze file, or a directory whose regular files are all mazes.
+     * @return The maze files, sorted by name for directories.
+     * @throws IOException If the directory cannot be listed.
+     */
+    private static List<Path> expand(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> entries = Files.list(path)) {
+            return entries.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    /**
+     * Runs the pipeline over a list of mazes and prints the results and summary.
+     *
+     * @param files The maze files to solve, in output order.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param solverName The name of the search algorithm to use.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @param threads The number of threads solving mazes.
+     * @param capacity The largest number of mazes in the pipeline at a time.
+     * @return True if every maze was solved, false otherwise.
+     */
+    private static boolean run(List<Path> files, double startX, double startY, String solverName, PathTolerance tolerance,
+                               int threads, int capacity) {
+        Semaphore slots = new Semaphore(capacity);
+        BlockingQueue<CompletableFuture<Outcome>> pending = new LinkedBlockingQueue<>();
+        long[] latencies = new long[files.size()];
+        boolean[] allSolved = {true};
+
+        // The writer prints results in input order, blocking on each maze until it is done
+        Thread writer = new Thread(() -> {
+            System.out.println("maze\tsolver\tsolved\tpath_length\tnodes\tload_ms\tsolve_ms\tpeak_frontier\tallocated_bytes\tlatency_ms");
+            for (int i = 0; i < files.size(); i++) {
+                Outcome outcome = take(pending).join();
+                latencies[i] = outcome.latencyNanos;
+                allSolved[0] &= outcome.solved();
+                System.out.println(outcome);
+            }
+        }, "batch-writer");
+
+        long startNanos = System.nanoTime();
+        writer.start();
+        try (ExecutorService decoders = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService solvers = Executors.newFixedThreadPool(threads)) {
+            for (Path file : files) {
+                slots.acquireUninterruptibly();
+                long submitted = System.nanoTime();
+                CompletableFuture<Outcome> outcome = CompletableFuture
+                        .supplyAsync(() -> decode(file, startX, startY, tolerance), decoders)
+                        .thenApplyAsync(maze -> solve(file, maze, solverName), solvers)
+                        .exceptionally(e -> new Outcome(file, solverName, e.getCause() != null ? e.getCause() : e))
+                        .thenApply(result -> {
+                            result.latencyNanos = System.nanoTime() - submitted;
+                            slots.release();
+                            return result;
+                        });
+                pending.add(outcome);
+            }
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+
+        Arrays.sort(latencies);
+        System.out.printf("# mazes %d, threads %d, in flight %d%n", files.size(), threads, capacity);
+        System.out.printf("# throughput %.2f mazes/s over %.3f s%n", files.size() / (elapsed / 1e9), elapsed / 1e9);
+        System.out.printf("# latency p50 %.3f ms, p99 %.3f ms%n", percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+        return allSolved[0];
+    }
+
+    /**
+     * Takes the next pending result, waiting for the main thread to submit it.
+     *
+     * @param pending The queue of pending results, in input order.
+     * @return The next pending result.
+     */
+    private static CompletableFuture<Outcome> take(BlockingQueue<CompletableFuture<Outcome>> pending) {
+        try {
+            return pending.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for results", e);
+        }
+    }
+
+    /**
+     * Decodes a maze and detects its openings, the first stage of the pipeline.
+     *
+     * @param file The maze file.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The decoded maze, with the time spent in {@link Decoded#loadNanos}.
+     */
+    private static Decoded decode(Path file, double startX, double startY, PathTolerance tolerance) {
+        long start = System.nanoTime();
+        try {
+            Maze maze = MazeLoader.load(file, startX, startY, tolerance);
+            return new Decoded(maze, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the lattice of a decoded maze and solves it, the second stage of the pipeline.
+     *
+     * @param file The maze file, for the output.
+     * @param decoded The decoded maze.
+     * @param solverName The name of the search algorithm to use.
+     * @return The outcome of the solve.
+     */
+    private static Outcome solve(Path file, Decoded decoded, String solverName) {
+        long start = System.nanoTime();
+        Lattice lattice = decoded.maze.getLattice();
+        SolveResult result = MazeSolvers.create(solverName, decoded.maze).measure(lattice.start(), lattice.goal());
+        return new Outcome(file, result, decoded.loadNanos, System.nanoTime() - start);
+    }
+
+    /**
+     * Gets a percentile of sorted values with the nearest-rank method.
+     *
+     * @param sorted The values, in ascending order.
+     * @param fraction The percentile as a fraction between 0 and 1.
+     * @return The value at the percentile, or 0 if there are no values.
+     */
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * A maze that has been decoded and is waiting to be solved.
+     */
+    private static final class Decoded {
+        /** The decoded maze. */
+        private final Maze maze;
+
+        /** The time spent decoding the maze, in nanoseconds. */
+        private final long loadNanos;
+
+        /**
+         * Constructs a decoded maze.
+         *
+         * @param maze The decoded maze.
+         * @param loadNanos The time spent decoding the maze, in nanoseconds.
+         */
+        Decoded(Maze maze, long loadNanos) {
+            this.maze = maze;
+            this.loadNanos = loadNanos;
+        }
+    }
+
+    /**
+     * The outcome of one maze in the batch, solved or failed.
+     */
+    private static final class Outcome {
+        /** The maze file. */
+        private final Path file;
+
+        /** The name of the search algorithm used. */
+        private final String solverName;
+
+        /** The result of the solve, or null if the maze failed before it was solved. */
+        private final SolveResult result;
+
+        /** The failure, or null if the maze was solved or found unsolvable. */
+        private final Throwable failure;
+
+        /** The time spent decoding the maze, in nanoseconds. */
+        private final long loadNanos;
+
+        /** The time spent building the lattice and solving, in nanoseconds. */
+        private final long solveNanos;
+
+        /** The time from submitting the maze to its outcome, in nanoseconds. */
+        private long latencyNanos;
+
+        /**
+         * Constructs the outcome of a completed solve.
+         *
+         * @param file The maze file.
+         * @param result The result of the solve.
+         * @param loadNanos The time spent decoding the maze, in nanoseconds.
+         * @param solveNanos The time spent building the lattice and solving, in nanoseconds.
+         */
+        Outcome(Path file, SolveResult result, long loadNanos, long solveNanos) {
+            this.file = file;
+            this.solverName = result.getSolverName();
+            this.result = result;
+            this.failure = null;
+            this.loadNanos = loadNanos;
+            this.solveNanos = solveNanos;
+        }
+
+        /**
+         * Constructs the outcome of a maze that failed to load or solve.
+         *
+         * @param file The maze file.
+         * @param solverName The name of the search algorithm used.
+         * @param failure The failure.
+         */
+        Outcome(Path file, String solverName, Throwable failure) {
+            this.file = file;
+            this.solverName = solverName;
+            this.result = null;
+            this.failure = failure;
+            this.loadNanos = 0;
+            this.solveNanos = 0;
+        }
+
+        /**
+         * Checks if a route was found.
+         *
+         * @return True if the maze was solved.
+         */
+        boolean solved() {
+            return result != null && result.isSolved();
+        }
+
+        /**
+         * Formats the outcome as one line of tab-separated values.
+         *
+         * @return The output line.
+         */
+        @Override
+        public String toString() {
+            if (result == null) {
+                String message = failure instanceof UncheckedIOException ? failure.getCause().getMessage() : failure.getMessage();
+                return String.format("%s\t%s\tfalse\t-\t-\t-\t-\t-\t-\t%.3f\t# %s", file, solverName, latencyNanos / 1e6, message);
+            }
+            return String.format("%s\t%s\t%b\t%d\t%d\t%.3f\t%.3f\t%d\t%d\t%.3f", file, solverName, result.isSolved(),
+                    result.getLength(), result.getExpandedCount(), loadNanos / 1e6, solveNanos / 1e6,
+                    result.getPeakFrontier(), result.getAllocatedBytes(), latencyNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.mazewithrobot;
+
+/**
+ * Finds a shortest route over a maze {@link Lattice} with a breadth-first search run from both
+ * ends at once, typically the entrance and the exit of the maze.
+ *
+ * <p>Each side keeps its own visited bitset, parent array and ring-buffer queue. The search always
+ * advances the side with the smaller frontier by one full level, and stops at the first node
+ * discovered by both sides; because both sides grow level by level, that first meeting already
+ * lies on a shortest route.</p>
+ */
+public class BidirectionalBfsSolver implements MazeSolver {
+    /** The lattice to search. */
+    private final Lattice lattice;
+
+    /** The number of nodes expanded by the last search, on both sides. */
+    private int expandedCount;
+
+    /** The largest combined frontier size reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for a lattice.
+     *
+     * @param lattice The lattice to search.
+     */
+    public BidirectionalBfsSolver(Lattice lattice) {
+        this.lattice = lattice;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "bibfs";
+    }
+
+    /**
+     * Finds a shortest route between two nodes.
+     *
+     * @param source The id of the node to start from, such as the entrance.
+     * @param target The id of the node to reach, such as the exit.
+     * @return The node ids along the route, from source to target, or an empty array if they are not connected.
+     */
+    @Override
+    public int[] solve(int source, int target) {
+        expandedCount = 0;
+        peakFrontier = 0;
+        if (source < 0 || target < 0 || !lattice.isOpen(source) || !lattice.isOpen(target)) {
+            return new int[0];
+        }
+        if (source == target) {
+            return new int[] {source};
+        }
+
+        int words = (lattice.size() + 63) >>> 6;
+        long[] forwardVisited = new long[words];
+        long[] backwardVisited = new long[words];
+        int[] forwardParent = new int[lattice.size()];
+        int[] backwardParent = new int[lattice.size()];
+        IntQueue forwardQueue = new IntQueue(1024);
+        IntQueue backwardQueue = new IntQueue(1024);
+
+        forwardVisited[source >>> 6] |= 1L << source;
+        forwardParent[source] = source;
+        forwardQueue.add(source);
+        backwardVisited[target >>> 6] |= 1L << target;
+        backwardParent[target] = target;
+        backwardQueue.add(target);
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            peakFrontier = Math.max(peakFrontier, forwardQueue.size() + backwardQueue.size());
+            int meeting;
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                meeting = expandLevel(forwardQueue, forwardVisited, forwardParent, backwardVisited);
+            } else {
+                meeting = expandLevel(backwardQueue, backwardVisited, backwardParent, forwardVisited);
+            }
+            if (meeting >= 0) {
+                return joinPaths(forwardParent, backwardParent, meeting);
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Expands every node of one side's current frontier level.
+     *
+     * @param queue The queue of the side being expanded.
+     * @param visited The visited bitset of the side being expanded.
+     * @param parent The parent array of the side being expanded.
+     * @param otherVisited The visited bitset of the opposite side.
+     * @return The id of the first node also visited by the opposite side, or -1 if the sides have not met.
+     */
+    private int expandLevel(IntQueue queue, long[] visited, int[] parent, long[] otherVisited) {
+        for (int remaining = queue.size(); remaining > 0; remaining--) {
+            int current = queue.poll();
+            expandedCount++;
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int next = lattice.neighbor(current, direction);
+                if (next < 0 || (visited[next >>> 6] & (1L << next)) != 0) {
+                    continue;
+                }
+                visited[next >>> 6] |= 1L << next;
+                parent[next] = current;
+                if ((otherVisited[next >>> 6] & (1L << next)) != 0) {
+                    return next;
+                }
+                queue.add(next);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Joins the two half routes that meet at a node.
+     *
+     * @param forwardParent The parent array of the side grown from the source.
+     * @param backwardParent The parent array of the side grown from the target.
+     * @param meeting The id of the node where the sides met.
+     * @return The node ids along the route, from source to target.
+     */
+    private static int[] joinPaths(int[] forwardParent, int[] backwardParent, int meeting) {
+        int[] head = AStarSolver.tracePath(forwardParent, meeting);
+        int tailLength = 0;
+        for (int node = meeting; backwardParent[node] != node; node = backwardParent[node]) {
+            tailLength++;
+        }
+        int[] route = new int[head.length + tailLength];
+        System.arraycopy(head, 0, route, 0, head.length);
+        int index = head.length;
+        for (int node = meeting; backwardParent[node] != node; ) {
+            node = backwardParent[node];
+            route[index++] = node;
+        }
+        return route;
+    }
+
+    /**
+     * Gets the number of nodes expanded by the last search, on both sides.
+     *
+     * @return The number of expanded nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest combined frontier size reached by the last search.
+     *
+     * @return The peak number of queued nodes.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.mazewithrobot;
+
+/**
+ * Finds a shortest route over a maze {@link Lattice} with breadth-first search.
+ * Every step costs the same, so the first time the goal is reached is along a shortest route.
+ * The frontier is an {@link IntQueue} of node ids and the visited set is a bitset.
+ */
+public class BreadthFirstSolver implements MazeSolver {
+    /** The lattice to search. */
+    private final Lattice lattice;
+
+    /** The number of nodes expanded by the last search. */
+    private int expandedCount;
+
+    /** The largest queue size reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for a lattice.
+     *
+     * @param lattice The lattice to search.
+     */
+    public BreadthFirstSolver(Lattice lattice) {
+        this.lattice = lattice;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "bfs";
+    }
+
+    /**
+     * Finds a shortest route between two nodes.
+     *
+     * @param start The id of the start node.
+     * @param goal The id of the goal node.
+     * @return The node ids along the route, from start to goal, or an empty array if the goal is unreachable.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        expandedCount = 0;
+        peakFrontier = 0;
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            return new int[0];
+        }
+
+        int[] parent = new int[lattice.size()];
+        long[] visited = new long[(lattice.size() + 63) >>> 6];
+        IntQueue queue = new IntQueue(1024);
+        parent[start] = start;
+        visited[start >>> 6] |= 1L << start;
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            peakFrontier = Math.max(peakFrontier, queue.size());
+            int current = queue.poll();
+            expandedCount++;
+            if (current == goal) {
+                return AStarSolver.tracePath(parent, goal);
+            }
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int next = lattice.neighbor(current, direction);
+                if (next >= 0 && (visited[next >>> 6] & (1L << next)) == 0) {
+                    visited[next >>> 6] |= 1L << next;
+                    parent[next] = current;
+                    queue.add(next);
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Gets the number of nodes expanded by the last search.
+     *
+     * @return The number of expanded nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest queue size reached by the last search.
+     *
+     * @return The peak number of queued nodes.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+}
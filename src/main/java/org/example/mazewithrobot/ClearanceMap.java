@@ -0,0 +1,65 @@
+package org.example.mazewithrobot;
+
+/**
+ * A summed-area table of the wall pixels of a maze.
+ * It answers whether a rectangular footprint of any size is free of walls
+ * with four array lookups, independently of the size of the footprint.
+ */
+public class ClearanceMap {
+    /** The width of the maze in pixels. */
+    private final int width;
+
+    /** The height of the maze in pixels. */
+    private final int height;
+
+    /** The stride of a row in the table, one more than the maze width. */
+    private final int stride;
+
+    /** The number of wall pixels above and to the left of each table entry. */
+    private final int[] wallCounts;
+
+    /**
+     * Constructs a clearance map from the passability of a maze.
+     *
+     * @param grid The passability of the maze pixels.
+     */
+    public ClearanceMap(MazeSource grid) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.stride = width + 1;
+        this.wallCounts = new int[Math.multiplyExact(stride, height + 1)];
+
+        for (int y = 0; y < height; y++) {
+            int rowWalls = 0;
+            int above = y * stride;
+            int current = above + stride;
+            for (int x = 0; x < width; x++) {
+                if (!grid.isPassable(x, y)) {
+                    rowWalls++;
+                }
+                wallCounts[current + x + 1] = wallCounts[above + x + 1] + rowWalls;
+            }
+        }
+    }
+
+    /**
+     * Checks if a rectangular footprint lies inside the maze and contains no wall pixels.
+     *
+     * @param x The x-coordinate of the top-left corner of the footprint.
+     * @param y The y-coordinate of the top-left corner of the footprint.
+     * @param footprintWidth The width of the footprint in pixels.
+     * @param footprintHeight The height of the footprint in pixels.
+     * @return True if every pixel of the footprint is passable, false otherwise.
+     */
+    public boolean isClear(int x, int y, int footprintWidth, int footprintHeight) {
+        if (x < 0 || y < 0 || x + footprintWidth > width || y + footprintHeight > height) {
+            return false;
+        }
+        int top = y * stride;
+        int bottom = (y + footprintHeight) * stride;
+        int right = x + footprintWidth;
+        int walls = wallCounts[bottom + right] - wallCounts[top + right]
+                - wallCounts[bottom + x] + wallCounts[top + x];
+        return walls == 0;
+    }
+}
@@ -0,0 +1,469 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The abstract graph used by hierarchical pathfinding (HPA*) on a maze {@link Lattice}.
+ *
+ * <p>The lattice is split into square clusters of {@code clusterSize} by {@code clusterSize} nodes.
+ * Wherever two neighboring clusters touch through open nodes, every run of open node pairs across
+ * the boundary gets one transition in its middle, or one at each end for wide runs. The nodes on
+ * both sides of a transition become abstract nodes, joined by an edge of weight 1. Inside every
+ * cluster, the abstract nodes are joined by edges weighted with their shortest distance within the
+ * cluster; these distances are computed with one breadth-first search per node, for all clusters
+ * in parallel. The graph is built once per maze and shared by every query, see
+ * {@link Maze#getClusterGraph()} and {@link HierarchicalSolver}.</p>
+ */
+public final class ClusterGraph {
+    /** The default side length of a cluster, in lattice nodes. */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    /** The shortest boundary run that gets a transition at each end instead of one in its middle. */
+    private static final int WIDE_RUN = 6;
+
+    /** The lattice the graph abstracts. */
+    private final Lattice lattice;
+
+    /** The side length of a cluster, in lattice nodes. */
+    private final int clusterSize;
+
+    /** The number of cluster columns. */
+    private final int clusterColumns;
+
+    /** The number of cluster rows. */
+    private final int clusterRows;
+
+    /** The lattice node ids of the abstract nodes, in increasing order. */
+    private final int[] nodes;
+
+    /** The index of the first abstract node of every cluster in {@link #clusterMembers}, plus a final end index. */
+    private final int[] clusterStart;
+
+    /** The abstract node ids grouped by cluster. */
+    private final int[] clusterMembers;
+
+    /** The index of the first edge leaving every abstract node, plus a final end index. */
+    private final int[] edgeStart;
+
+    /** The abstract node id each edge leads to. */
+    private final int[] edgeTarget;
+
+    /** The length of each edge in lattice steps. */
+    private final int[] edgeWeight;
+
+    /**
+     * Builds the abstract graph of a lattice with the default cluster size.
+     *
+     * @param lattice The lattice to abstract.
+     */
+    public ClusterGraph(Lattice lattice) {
+        this(lattice, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Builds the abstract graph of a lattice.
+     *
+     * @param lattice The lattice to abstract.
+     * @param clusterSize The side length of a cluster, in lattice nodes.
+     */
+    public ClusterGraph(Lattice lattice, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2, got " + clusterSize);
+        }
+        this.lattice = lattice;
+        this.clusterSize = clusterSize;
+        this.clusterColumns = Math.max(1, (lattice.getColumns() + clusterSize - 1) / clusterSize);
+        this.clusterRows = Math.max(1, (lattice.getRows() + clusterSize - 1) / clusterSize);
+
+        // Find the transitions between neighboring clusters
+        IntList transitions = new IntList();
+        for (int row = 0; row < lattice.getRows(); row += clusterSize) {
+            for (int column = clusterSize; column < lattice.getColumns(); column += clusterSize) {
+                addTransitions(transitions, column - 1, row, 0, 1, 1, 0);
+            }
+        }
+        for (int row = clusterSize; row < lattice.getRows(); row += clusterSize) {
+            for (int column = 0; column < lattice.getColumns(); column += clusterSize) {
+                addTransitions(transitions, column, row - 1, 1, 0, 0, 1);
+            }
+        }
+
+        // Every transition end is an abstract node
+        int[] ends = transitions.toArray();
+        Arrays.sort(ends);
+        int count = 0;
+        for (int i = 0; i < ends.length; i++) {
+            if (i == 0 || ends[i] != ends[i - 1]) {
+                ends[count++] = ends[i];
+            }
+        }
+        this.nodes = Arrays.copyOf(ends, count);
+
+        // Group the abstract nodes by cluster
+        int clusterCount = clusterColumns * clusterRows;
+        this.clusterStart = new int[clusterCount + 1];
+        for (int node : nodes) {
+            clusterStart[clusterOf(node) + 1]++;
+        }
+        for (int i = 0; i < clusterCount; i++) {
+            clusterStart[i + 1] += clusterStart[i];
+        }
+        this.clusterMembers = new int[nodes.length];
+        int[] fill = Arrays.copyOf(clusterStart, clusterCount);
+        for (int node = 0; node < nodes.length; node++) {
+            clusterMembers[fill[clusterOf(nodes[node])]++] = node;
+        }
+
+        // Distances between the abstract nodes of each cluster, one cluster per task
+        int[][] intraEdges = IntStream.range(0, clusterCount).parallel()
+                .mapToObj(this::intraClusterEdges)
+                .toArray(int[][]::new);
+
+        // Assemble the edges in compressed sparse row form
+        int[] pairs = transitions.toArray();
+        this.edgeStart = new int[nodes.length + 1];
+        for (int i = 0; i < pairs.length; i++) {
+            edgeStart[nodeIndex(pairs[i]) + 1]++;
+        }
+        for (int[] edges : intraEdges) {
+            for (int i = 0; i < edges.length; i += 3) {
+                edgeStart[edges[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            edgeStart[i + 1] += edgeStart[i];
+        }
+        this.edgeTarget = new int[edgeStart[nodes.length]];
+        this.edgeWeight = new int[edgeStart[nodes.length]];
+        int[] next = Arrays.copyOf(edgeStart, nodes.length);
+        for (int i = 0; i < pairs.length; i += 2) {
+            int a = nodeIndex(pairs[i]);
+            int b = nodeIndex(pairs[i + 1]);
+            edgeTarget[next[a]] = b;
+            edgeWeight[next[a]++] = 1;
+            edgeTarget[next[b]] = a;
+            edgeWeight[next[b]++] = 1;
+        }
+        for (int[] edges : intraEdges) {
+            for (int i = 0; i < edges.length; i += 3) {
+                edgeTarget[next[edges[i]]] = edges[i + 1];
+                edgeWeight[next[edges[i]]++] = edges[i + 2];
+            }
+        }
+    }
+
+    /**
+     * Adds the transitions across one side of a cluster boundary.
+     *
+     * @param transitions The list to add the lattice ids of both ends of each transition to.
+     * @param column The lattice column of the first node on the near side of the boundary.
+     * @param row The lattice row of the first node on the near side of the boundary.
+     * @param alongX The column step along the boundary.
+     * @param alongY The row step along the boundary.
+     * @param acrossX The column offset to the far side of the boundary.
+     * @param acrossY The row offset to the far side of the boundary.
+     */
+    private void addTransitions(IntList transitions, int column, int row, int alongX, int alongY, int acrossX, int acrossY) {
+        int runStart = -1;
+        for (int i = 0; i <= clusterSize; i++) {
+            int near = i < clusterSize ? lattice.id(column + i * alongX, row + i * alongY) : -1;
+            int far = near >= 0 ? lattice.id(column + i * alongX + acrossX, row + i * alongY + acrossY) : -1;
+            boolean crossing = far >= 0 && lattice.isOpen(near) && lattice.isOpen(far);
+            if (crossing && runStart < 0) {
+                runStart = i;
+            } else if (!crossing && runStart >= 0) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= WIDE_RUN) {
+                    addTransition(transitions, column, row, runStart, alongX, alongY, acrossX, acrossY);
+                    addTransition(transitions, column, row, runEnd, alongX, alongY, acrossX, acrossY);
+                } else {
+                    addTransition(transitions, column, row, (runStart + runEnd) / 2, alongX, alongY, acrossX, acrossY);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    /**
+     * Adds a single transition across a cluster boundary.
+     *
+     * @param transitions The list to add the lattice ids of both ends to.
+     * @param column The lattice column of the first node on the near side of the boundary.
+     * @param row The lattice row of the first node on the near side of the boundary.
+     * @param offset The position of the transition along the boundary.
+     * @param alongX The column step along the boundary.
+     * @param alongY The row step along the boundary.
+     * @param acrossX The column offset to the far side of the boundary.
+     * @param acrossY The row offset to the far side of the boundary.
+     */
+    private void addTransition(IntList transitions, int column, int row, int offset, int alongX, int alongY, int acrossX, int acrossY) {
+        transitions.add(lattice.id(column + offset * alongX, row + offset * alongY));
+        transitions.add(lattice.id(column + offset * alongX + acrossX, row + offset * alongY + acrossY));
+    }
+
+    /**
+     * Computes the edges between the abstract nodes of one cluster.
+     *
+     * @param cluster The cluster index.
+     * @return The edges as consecutive (from, to, weight) triples of abstract node ids and lengths.
+     */
+    private int[] intraClusterEdges(int cluster) {
+        int first = clusterStart[cluster];
+        int end = clusterStart[cluster + 1];
+        IntList edges = new IntList();
+        int[] distance = new int[clusterSize * clusterSize];
+        IntQueue queue = new IntQueue(clusterSize * 4);
+        for (int i = first; i < end; i++) {
+            int from = clusterMembers[i];
+            searchCluster(nodes[from], distance, null, queue);
+            for (int j = first; j < end; j++) {
+                int to = clusterMembers[j];
+                int d = distance[localIndex(nodes[to])];
+                if (to != from && d > 0) {
+                    edges.add(from);
+                    edges.add(to);
+                    edges.add(d);
+                }
+            }
+        }
+        return edges.toArray();
+    }
+
+    /**
+     * Runs a breadth-first search from a node that never leaves the node's cluster.
+     *
+     * @param from The lattice node id to search from.
+     * @param distance The array to fill with the distance of every node of the cluster,
+     *                 indexed by {@link #localIndex(int)}, or -1 for unreachable nodes.
+     * @param parent The array to fill with the local index of the parent of every reached node,
+     *               or null when the route is not needed.
+     * @param queue The queue to use for the search; it is cleared first.
+     */
+    void searchCluster(int from, int[] distance, int[] parent, IntQueue queue) {
+        int cluster = clusterOf(from);
+        Arrays.fill(distance, -1);
+        queue.clear();
+        distance[localIndex(from)] = 0;
+        if (parent != null) {
+            parent[localIndex(from)] = localIndex(from);
+        }
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            int nextDistance = distance[localIndex(current)] + 1;
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int next = lattice.neighbor(current, direction);
+                if (next < 0 || clusterOf(next) != cluster || distance[localIndex(next)] >= 0) {
+                    continue;
+                }
+                distance[localIndex(next)] = nextDistance;
+                if (parent != null) {
+                    parent[localIndex(next)] = localIndex(current);
+                }
+                queue.add(next);
+            }
+        }
+    }
+
+    /**
+     * Gets the cluster of a lattice node.
+     *
+     * @param latticeId The lattice node id.
+     * @return The cluster index, row by row.
+     */
+    public int cluster(int latticeId) {
+        return clusterOf(latticeId);
+    }
+
+    /**
+     * Gets the cluster of a lattice node, for use while the graph is being built.
+     *
+     * @param latticeId The lattice node id.
+     * @return The cluster index, row by row.
+     */
+    private int clusterOf(int latticeId) {
+        return (lattice.row(latticeId) / clusterSize) * clusterColumns + lattice.column(latticeId) / clusterSize;
+    }
+
+    /**
+     * Gets the index of a lattice node within its cluster.
+     *
+     * @param latticeId The lattice node id.
+     * @return The local index, from 0 to {@code clusterSize * clusterSize - 1}.
+     */
+    int localIndex(int latticeId) {
+        return (lattice.row(latticeId) % clusterSize) * clusterSize + lattice.column(latticeId) % clusterSize;
+    }
+
+    /**
+     * Gets the lattice node at a local index of a cluster.
+     *
+     * @param cluster The cluster index.
+     * @param local The local index within the cluster.
+     * @return The lattice node id.
+     */
+    int latticeId(int cluster, int local) {
+        int column = (cluster % clusterColumns) * clusterSize + local % clusterSize;
+        int row = (cluster / clusterColumns) * clusterSize + local / clusterSize;
+        return lattice.id(column, row);
+    }
+
+    /**
+     * Gets the abstract node id of a lattice node.
+     *
+     * @param latticeId The lattice node id.
+     * @return The abstract node id, or a negative value if the lattice node is not an abstract node.
+     */
+    public int nodeIndex(int latticeId) {
+        return Arrays.binarySearch(nodes, latticeId);
+    }
+
+    /**
+     * Gets the lattice the graph abstracts.
+     *
+     * @return The lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Gets the side length of a cluster.
+     *
+     * @return The cluster size in lattice nodes.
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * Gets the number of abstract nodes.
+     *
+     * @return The number of abstract nodes.
+     */
+    public int nodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Gets the number of directed edges.
+     *
+     * @return The number of edges.
+     */
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * Gets the lattice node id of an abstract node.
+     *
+     * @param node The abstract node id.
+     * @return The lattice node id.
+     */
+    public int latticeNode(int node) {
+        return nodes[node];
+    }
+
+    /**
+     * Gets the index of the first abstract node of a cluster in the member list.
+     *
+     * @param cluster The cluster index.
+     * @return The first member index.
+     */
+    int firstMember(int cluster) {
+        return clusterStart[cluster];
+    }
+
+    /**
+     * Gets the index just past the last abstract node of a cluster in the member list.
+     *
+     * @param cluster The cluster index.
+     * @return The end member index.
+     */
+    int endMember(int cluster) {
+        return clusterStart[cluster + 1];
+    }
+
+    /**
+     * Gets an abstract node from the member list.
+     *
+     * @param index The index in the member list.
+     * @return The abstract node id.
+     */
+    int member(int index) {
+        return clusterMembers[index];
+    }
+
+    /**
+     * Gets the index of the first edge leaving an abstract node.
+     *
+     * @param node The abstract node id.
+     * @return The first edge index.
+     */
+    public int firstEdge(int node) {
+        return edgeStart[node];
+    }
+
+    /**
+     * Gets the index just past the last edge leaving an abstract node.
+     *
+     * @param node The abstract node id.
+     * @return The end edge index.
+     */
+    public int endEdge(int node) {
+        return edgeStart[node + 1];
+    }
+
+    /**
+     * Gets the abstract node an edge leads to.
+     *
+     * @param edge The edge index.
+     * @return The target abstract node id.
+     */
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    /**
+     * Gets the length of an edge.
+     *
+     * @param edge The edge index.
+     * @return The length in lattice steps.
+     */
+    public int edgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    /**
+     * A growable list of ints, used while the graph is built.
+     */
+    private static final class IntList {
+        /** The values in the list. */
+        private int[] values = new int[64];
+
+        /** The number of values in the list. */
+        private int size;
+
+        /**
+         * Appends a value.
+         *
+         * @param value The value to append.
+         */
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Copies the values into an array.
+         *
+         * @return The values, in insertion order.
+         */
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Plans collision-free moves for many robots heading to the exit, with windowed hierarchical
+ * cooperative A* (WHCA*).
+ *
+ * <p>Every {@link #REPLAN_INTERVAL} steps, the robots are planned one after the other, nearest to
+ * the exit first. Each robot runs a space-time A* over (node, time) for the next {@value #WINDOW}
+ * steps, where it may move to a neighbor or wait, and avoids every cell the robots planned before
+ * it have claimed in the {@link ReservationTable}; it then reserves its own moves. The heuristic
+ * is the abstract distance to the exit, ignoring other robots: since all robots share the exit,
+ * one breadth-first search backwards from it serves every robot for the whole run.</p>
+ *
+ * <p>Before planning, every robot reserves its current position for the whole window, released
+ * only when its own turn comes. A robot therefore never plans through one that has not moved yet,
+ * and waiting in place is always possible, so every robot gets a full window of safe moves.
+ * A robot that reaches the exit leaves the maze and frees its cells.</p>
+ *
+ * <p>Holding everyone in place can lock a junction: a robot parked in a dead end next to it must
+ * back away to let a queue through, but it never plans a step away from the exit. So when nobody
+ * would move before the next replan, the planner tries again with each of the {@value #MAX_LEADERS}
+ * robots nearest to the exit planned first, while the others hold their positions for the first
+ * step only. The leader then plans straight through the robots in its way, and those planned after
+ * it have to clear out in time or the attempt fails. The leader may also wait a few steps before
+ * moving, which gives a chain of robots time to back away one after the other. The first attempt
+ * that gives every robot a full window of safe moves, with at least one robot moving, is kept.</p>
+ *
+ * <p>Like any windowed cooperative A*, the planner is still not complete. When no attempt frees
+ * anyone, everyone waits, and {@link Swarm} notices when nobody moves for a whole window and stops.</p>
+ */
+public final class CooperativePlanner {
+    /** The number of steps every robot plans ahead. */
+    public static final int WINDOW = 16;
+
+    /** The number of planned steps taken before planning again. */
+    public static final int REPLAN_INTERVAL = WINDOW / 2;
+
+    /** The number of robots nearest to the exit tried as the leader when nobody moves, see {@link #plan(int[])}. */
+    private static final int MAX_LEADERS = 8;
+
+    /** The numbers of steps a leader waits before moving, giving the robots it pushes time to make room. */
+    private static final int[] LEADER_DELAYS = {0, 1, 2, 4, 7};
+
+    /** The width of the square of nodes a robot can reach within a window, centred on its start. */
+    private static final int SIDE = 2 * WINDOW + 1;
+
+    /** The number of space-time states at one time step of a search. */
+    private static final int LAYER = SIDE * SIDE;
+
+    /** The largest heuristic value, keeping the heap keys within an int. */
+    private static final int MAX_HEURISTIC = Integer.MAX_VALUE / (WINDOW + 1) - WINDOW - 1;
+
+    /** The lattice the robots move on. */
+    private final Lattice lattice;
+
+    /** The number of steps from every node to the exit, ignoring other robots, or -1 if unreachable. */
+    private final int[] distance;
+
+    /** The reservations of the current window. */
+    private final ReservationTable table;
+
+    /** The search number each space-time state was last reached in, so the arrays need no clearing. */
+    private final int[] reachedIn = new int[LAYER * (WINDOW + 1)];
+
+    /** The state every reached space-time state was reached from. */
+    private final int[] parent = new int[LAYER * (WINDOW + 1)];
+
+    /** The open states of the current search. */
+    private final IntMinHeap open = new IntMinHeap(256);
+
+    /** The number of the current search. */
+    private int search;
+
+    /** The planned nodes of every robot, from its position at the start of the window. */
+    private int[][] plans = new int[0][];
+
+    /** The number of planned nodes of every robot, or 0 for a robot that has left the maze. */
+    private int[] planLengths = new int[0];
+
+    /** True for every robot whose plan ends at the exit, after which it leaves the maze. */
+    private boolean[] leaves = new boolean[0];
+
+    /**
+     * Constructs a planner for the robots of a lattice, measuring the distance of every node to the exit.
+     *
+     * @param lattice The lattice the robots move on.
+     */
+    public CooperativePlanner(Lattice lattice) {
+        this.lattice = lattice;
+        this.distance = distancesToGoal(lattice);
+        this.table = new ReservationTable(lattice, WINDOW);
+    }
+
+    /**
+     * Measures the number of steps from every node to the goal with a breadth-first search from the goal.
+     *
+     * @param lattice The lattice to measure.
+     * @return The distance of every node, or -1 for nodes that cannot reach the goal.
+     */
+    private static int[] distancesToGoal(Lattice lattice) {
+        int[] distance = new int[lattice.size()];
+        Arrays.fill(distance, -1);
+        int goal = lattice.goal();
+        if (goal < 0) {
+            return distance;
+        }
+        IntQueue queue = new IntQueue(1024);
+        distance[goal] = 0;
+        queue.add(goal);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int neighbor = lattice.neighbor(node, direction);
+                if (neighbor >= 0 && distance[neighbor] < 0) {
+                    distance[neighbor] = distance[node] + 1;
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Picks start nodes whose footprints do not overlap, taking the candidates in order.
+     * Every picked node also keeps the cells of its first move in any direction, so no two robots
+     * start touching: robots packed nose to tail in a corridor could otherwise only make room at a
+     * junction by backing away further than a window looks ahead.
+     *
+     * @param candidates The candidate nodes, in order of preference.
+     * @param count The number of nodes wanted.
+     * @return The picked nodes; fewer than wanted if the candidates run out.
+     */
+    public int[] placeApart(int[] candidates, int count) {
+        int[] picked = new int[Math.min(count, candidates.length)];
+        int pickedCount = 0;
+        table.compact();
+        for (int i = 0; i < candidates.length && pickedCount < picked.length; i++) {
+            int node = candidates[i];
+            if (!table.isFree(node, node, 0)) {
+                continue;
+            }
+            table.reserve(node, node, 0);
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int neighbor = lattice.neighbor(node, direction);
+                if (neighbor >= 0) {
+                    table.reserve(node, neighbor, 0);
+                }
+            }
+            picked[pickedCount++] = node;
+        }
+        table.compact();
+        return Arrays.copyOf(picked, pickedCount);
+    }
+
+    /**
+     * Plans the next window of moves of every robot.
+     * When no robot would move before the next replan, the robots nearest to the exit are tried in
+     * turn as the leader of a plan that the others must make room for, as described above.
+     *
+     * @param positions The node of every robot, or -1 for a robot that has left the maze.
+     */
+    public void plan(int[] positions) {
+        int count = positions.length;
+        if (plans.length != count) {
+            plans = new int[count][WINDOW + 1];
+            planLengths = new int[count];
+            leaves = new boolean[count];
+        }
+
+        // Order the robots by their distance to the exit
+        long[] keys = new long[count];
+        int active = 0;
+        for (int i = 0; i < count; i++) {
+            int node = positions[i];
+            if (node < 0) {
+                planLengths[i] = 0;
+                continue;
+            }
+            keys[active++] = (long) heuristic(node) << 32 | i;
+        }
+        Arrays.sort(keys, 0, active);
+        int[] order = new int[active];
+        for (int k = 0; k < active; k++) {
+            order[k] = (int) keys[k];
+        }
+
+        planInOrder(positions, order, WINDOW, 0);
+        if (active == 0 || movesBeforeReplan(positions, order)) {
+            return;
+        }
+        int[] ledOrder = new int[active];
+        for (int delay : LEADER_DELAYS) {
+            for (int leader = 0; leader < Math.min(active, MAX_LEADERS); leader++) {
+                ledOrder[0] = order[leader];
+                System.arraycopy(order, 0, ledOrder, 1, leader);
+                System.arraycopy(order, leader + 1, ledOrder, leader + 1, active - leader - 1);
+                if (planInOrder(positions, ledOrder, 1, delay) && movesBeforeReplan(positions, ledOrder)) {
+                    return;
+                }
+            }
+        }
+        // Nobody can make room: keep everyone waiting, and let the swarm notice the stall
+        planInOrder(positions, order, WINDOW, 0);
+    }
+
+    /**
+     * Plans the robots one after the other against the reservations of the robots planned before.
+     * Until its turn, every robot holds its position for a number of time slots. Holding it for the
+     * whole window always succeeds, since waiting in place then stays possible for every robot.
+     *
+     * @param positions The node of every robot, or -1 for a robot that has left the maze.
+     * @param order The indices of the robots still in the maze, in planning order.
+     * @param heldSlots The number of time slots every robot holds its position for until its turn.
+     * @param leaderDelay The number of steps the first robot waits before moving.
+     * @return True if every robot found a full window of moves, false if one was boxed in.
+     */
+    private boolean planInOrder(int[] positions, int[] order, int heldSlots, int leaderDelay) {
+        table.compact();
+        for (int robot : order) {
+            for (int slot = 0; slot < heldSlots; slot++) {
+                table.reserve(positions[robot], positions[robot], slot);
+            }
+        }
+        for (int robot : order) {
+            int start = positions[robot];
+            for (int slot = 0; slot < heldSlots; slot++) {
+                table.release(start, slot);
+            }
+            if (!planRobot(robot, start, robot == order[0] ? leaderDelay : 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if any robot is planned to move before the next replan.
+     *
+     * @param positions The node of every robot at the start of the window.
+     * @param order The indices of the robots still in the maze.
+     * @return True if some robot moves or leaves within {@link #REPLAN_INTERVAL} steps.
+     */
+    private boolean movesBeforeReplan(int[] positions, int[] order) {
+        for (int robot : order) {
+            for (int step = 1; step <= REPLAN_INTERVAL; step++) {
+                if (positionAfter(robot, step) != positions[robot]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plans one robot against the reservations made so far and reserves its moves.
+     * A robot that cannot last the window is planned to stay put, unreserved.
+     *
+     * @param robot The index of the robot.
+     * @param start The node of the robot.
+     * @param delay The number of steps the robot waits before moving.
+     * @return True if the robot reaches the end of the window or the exit, false otherwise.
+     */
+    private boolean planRobot(int robot, int start, int delay) {
+        int end = searchWindow(start, delay);
+        if (end < 0) {
+            plans[robot][0] = start;
+            planLengths[robot] = 1;
+            leaves[robot] = false;
+            return false;
+        }
+        int depth = end / LAYER;
+        int[] plan = plans[robot];
+        int state = end;
+        for (int step = depth; step >= 0; step--) {
+            plan[step] = nodeOf(state, start);
+            state = parent[state];
+        }
+        planLengths[robot] = depth + 1;
+        leaves[robot] = isExit(plan[depth]);
+
+        for (int step = 0; step < depth; step++) {
+            table.reserve(plan[step], plan[step + 1], step);
+        }
+        if (depth < WINDOW) {
+            // The robot is still at the exit while it leaves
+            table.reserve(plan[depth], plan[depth], depth);
+        }
+        return true;
+    }
+
+    /**
+     * Runs a space-time A* from a node until the end of the window or the exit, whichever comes first.
+     * Every move and every wait costs one step.
+     *
+     * @param start The node to start from.
+     * @param delay The number of steps spent waiting before the first move.
+     * @return The space-time state the search ended at, or -1 if every way is blocked before either.
+     */
+    private int searchWindow(int start, int delay) {
+        if (++search == 0) {
+            Arrays.fill(reachedIn, 0);
+            search = 1;
+        }
+        open.clear();
+        int origin = WINDOW * SIDE + WINDOW;
+        reachedIn[origin] = search;
+        parent[origin] = origin;
+        open.push(origin, key(0, start));
+        int startColumn = lattice.column(start);
+        int startRow = lattice.row(start);
+
+        while (!open.isEmpty()) {
+            int state = open.pop();
+            int depth = state / LAYER;
+            int node = nodeOf(state, start);
+            if (depth == WINDOW || isExit(node)) {
+                return state;
+            }
+            // The last move is waiting in place, the only one allowed during the delay
+            for (int move = depth < delay ? Lattice.DIRECTIONS.length : 0; move <= Lattice.DIRECTIONS.length; move++) {
+                int next = move < Lattice.DIRECTIONS.length ? lattice.neighbor(node, move) : node;
+                if (next < 0 || !table.isFree(node, next, depth)) {
+                    continue;
+                }
+                int nextState = (depth + 1) * LAYER + (lattice.row(next) - startRow + WINDOW) * SIDE
+                        + lattice.column(next) - startColumn + WINDOW;
+                if (reachedIn[nextState] != search) {
+                    reachedIn[nextState] = search;
+                    parent[nextState] = state;
+                    open.push(nextState, key(depth + 1, next));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the heap key of a space-time state: its estimated total cost, ties broken towards later steps.
+     *
+     * @param depth The number of steps taken.
+     * @param node The node reached.
+     * @return The heap key.
+     */
+    private int key(int depth, int node) {
+        return (depth + heuristic(node)) * (WINDOW + 1) + WINDOW - depth;
+    }
+
+    /**
+     * Gets the abstract distance from a node to the exit.
+     *
+     * @param node The node.
+     * @return The number of steps to the exit ignoring other robots, capped for unreachable nodes.
+     */
+    private int heuristic(int node) {
+        int steps = distance[node];
+        return steps < 0 ? MAX_HEURISTIC : Math.min(steps, MAX_HEURISTIC);
+    }
+
+    /**
+     * Gets the node of a space-time state of a search.
+     *
+     * @param state The space-time state.
+     * @param start The node the search started from.
+     * @return The node id.
+     */
+    private int nodeOf(int state, int start) {
+        int offset = state % LAYER;
+        return lattice.id(lattice.column(start) + offset % SIDE - WINDOW, lattice.row(start) + offset / SIDE - WINDOW);
+    }
+
+    /**
+     * Checks if a robot at a node has reached the exit.
+     *
+     * @param node The node.
+     * @return True if the node is within the exit range.
+     */
+    private boolean isExit(int node) {
+        return lattice.getMaze().isAtExit(lattice.x(node), lattice.y(node));
+    }
+
+    /**
+     * Gets the node a robot is planned to be at after a number of steps of the current window.
+     *
+     * @param robot The index of the robot.
+     * @param steps The number of steps since the window was planned.
+     * @return The node, or -1 once the robot has left the maze.
+     */
+    public int positionAfter(int robot, int steps) {
+        int length = planLengths[robot];
+        if (length == 0) {
+            return -1;
+        }
+        if (steps < length) {
+            return plans[robot][steps];
+        }
+        return leaves[robot] ? -1 : plans[robot][length - 1];
+    }
+}
@@ -0,0 +1,275 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A compressed view of a maze {@link Lattice} in which every corridor is collapsed into one edge.
+ *
+ * <p>The nodes of the graph are the junctions and dead ends of the lattice, that is the open
+ * nodes without exactly two open neighbors, plus any terminal nodes the caller needs to route
+ * between, such as the start and the goal. Every chain of two-neighbor nodes between them becomes
+ * a single edge weighted by its length in steps. Searches run on this much smaller graph, and
+ * {@link #expand(int[])} turns a route of junctions back into single steps when it is animated.</p>
+ *
+ * <p>Edges are stored in compressed sparse row form: the edges leaving graph node {@code n} are
+ * the indices from {@code edgeStart[n]} up to {@code edgeStart[n + 1]}.</p>
+ */
+public class CorridorGraph {
+    /** The lattice the graph was built from. */
+    private final Lattice lattice;
+
+    /** The graph node id of every lattice node, or -1 for nodes inside corridors. */
+    private final int[] graphNode;
+
+    /** The lattice node id of every graph node. */
+    private final int[] latticeNode;
+
+    /** The index of the first edge leaving every graph node, plus a final end index. */
+    private final int[] edgeStart;
+
+    /** The graph node id each edge leads to. */
+    private final int[] edgeTarget;
+
+    /** The length of each edge in lattice steps. */
+    private final int[] edgeWeight;
+
+    /** The direction of the first step of each edge, as an index into {@link Lattice#DIRECTIONS}. */
+    private final byte[] edgeDirection;
+
+    /**
+     * Builds the corridor graph of a lattice.
+     *
+     * @param lattice The lattice to compress.
+     * @param terminals The lattice node ids that must stay graph nodes even inside a corridor;
+     *                  negative ids are ignored.
+     */
+    public CorridorGraph(Lattice lattice, int... terminals) {
+        this.lattice = lattice;
+        this.graphNode = new int[lattice.size()];
+
+        // First pass: number the junctions, dead ends and terminals
+        int nodeCount = 0;
+        for (int id = 0; id < lattice.size(); id++) {
+            graphNode[id] = lattice.isOpen(id) && degree(id) != 2 ? nodeCount++ : -1;
+        }
+        for (int terminal : terminals) {
+            if (terminal >= 0 && lattice.isOpen(terminal) && graphNode[terminal] < 0) {
+                graphNode[terminal] = nodeCount++;
+            }
+        }
+        this.latticeNode = new int[nodeCount];
+        this.edgeStart = new int[nodeCount + 1];
+        int edgeCount = 0;
+        for (int id = 0; id < lattice.size(); id++) {
+            if (graphNode[id] >= 0) {
+                latticeNode[graphNode[id]] = id;
+                edgeCount += degree(id);
+            }
+        }
+
+        // Second pass: walk every corridor leaving every graph node, in graph node order
+        this.edgeTarget = new int[edgeCount];
+        this.edgeWeight = new int[edgeCount];
+        this.edgeDirection = new byte[edgeCount];
+        int edge = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            edgeStart[node] = edge;
+            int from = latticeNode[node];
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int previous = from;
+                int current = lattice.neighbor(from, direction);
+                if (current < 0) {
+                    continue;
+                }
+                int length = 1;
+                while (graphNode[current] < 0) {
+                    int next = otherNeighbor(current, previous);
+                    previous = current;
+                    current = next;
+                    length++;
+                }
+                edgeTarget[edge] = graphNode[current];
+                edgeWeight[edge] = length;
+                edgeDirection[edge] = (byte) direction;
+                edge++;
+            }
+        }
+        edgeStart[nodeCount] = edge;
+    }
+
+    /**
+     * Counts the open neighbors of a lattice node.
+     *
+     * @param id The lattice node id.
+     * @return The number of open neighbors, from 0 to 4.
+     */
+    private int degree(int id) {
+        int degree = 0;
+        for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+            if (lattice.neighbor(id, direction) >= 0) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Gets the neighbor of a corridor node that is not the node the walk came from.
+     *
+     * @param id The lattice node id of a node with exactly two open neighbors.
+     * @param previous The lattice node id the walk came from.
+     * @return The lattice node id to continue the walk with.
+     */
+    private int otherNeighbor(int id, int previous) {
+        for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+            int neighbor = lattice.neighbor(id, direction);
+            if (neighbor >= 0 && neighbor != previous) {
+                return neighbor;
+            }
+        }
+        throw new IllegalStateException("Corridor node " + id + " has no way forward");
+    }
+
+    /**
+     * Expands a route of graph nodes into every lattice step along it.
+     * Between two consecutive nodes the shortest edge joining them is followed.
+     *
+     * @param waypoints The lattice node ids of the graph nodes along the route, in order.
+     * @return The lattice node ids of every step along the route, from first to last waypoint.
+     * @throws IllegalArgumentException If two consecutive waypoints are not joined by an edge.
+     */
+    public int[] expand(int[] waypoints) {
+        if (waypoints.length == 0) {
+            return new int[0];
+        }
+        int[] route = new int[64];
+        int length = 0;
+        route[length++] = waypoints[0];
+        for (int i = 1; i < waypoints.length; i++) {
+            int edge = shortestEdge(graphNode[waypoints[i - 1]], graphNode[waypoints[i]]);
+            if (edge < 0) {
+                throw new IllegalArgumentException("Waypoints " + waypoints[i - 1] + " and " + waypoints[i] + " are not joined by a corridor");
+            }
+            if (length + edgeWeight[edge] > route.length) {
+                route = Arrays.copyOf(route, Math.max(route.length * 2, length + edgeWeight[edge]));
+            }
+            int previous = waypoints[i - 1];
+            int current = lattice.neighbor(previous, edgeDirection[edge]);
+            route[length++] = current;
+            while (current != waypoints[i]) {
+                int next = otherNeighbor(current, previous);
+                previous = current;
+                current = next;
+                route[length++] = current;
+            }
+        }
+        return Arrays.copyOf(route, length);
+    }
+
+    /**
+     * Finds the shortest edge between two graph nodes.
+     *
+     * @param from The graph node id the edge leaves.
+     * @param to The graph node id the edge leads to.
+     * @return The edge index, or -1 if the nodes are not joined.
+     */
+    private int shortestEdge(int from, int to) {
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        int best = -1;
+        for (int edge = edgeStart[from]; edge < edgeStart[from + 1]; edge++) {
+            if (edgeTarget[edge] == to && (best < 0 || edgeWeight[edge] < edgeWeight[best])) {
+                best = edge;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the lattice the graph was built from.
+     *
+     * @return The lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Gets the number of graph nodes.
+     *
+     * @return The number of junctions, dead ends and terminals.
+     */
+    public int nodeCount() {
+        return latticeNode.length;
+    }
+
+    /**
+     * Gets the number of directed edges.
+     *
+     * @return The number of edges, each corridor being counted once from each end.
+     */
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * Gets the graph node id of a lattice node.
+     *
+     * @param latticeId The lattice node id.
+     * @return The graph node id, or -1 if the lattice node lies inside a corridor.
+     */
+    public int graphNode(int latticeId) {
+        return latticeId < 0 ? -1 : graphNode[latticeId];
+    }
+
+    /**
+     * Gets the lattice node id of a graph node.
+     *
+     * @param node The graph node id.
+     * @return The lattice node id.
+     */
+    public int latticeNode(int node) {
+        return latticeNode[node];
+    }
+
+    /**
+     * Gets the index of the first edge leaving a graph node.
+     *
+     * @param node The graph node id.
+     * @return The first edge index.
+     */
+    public int firstEdge(int node) {
+        return edgeStart[node];
+    }
+
+    /**
+     * Gets the index just past the last edge leaving a graph node.
+     *
+     * @param node The graph node id.
+     * @return The end edge index.
+     */
+    public int endEdge(int node) {
+        return edgeStart[node + 1];
+    }
+
+    /**
+     * Gets the graph node an edge leads to.
+     *
+     * @param edge The edge index.
+     * @return The target graph node id.
+     */
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    /**
+     * Gets the length of an edge.
+     *
+     * @param edge The edge index.
+     * @return The length in lattice steps.
+     */
+    public int edgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+}
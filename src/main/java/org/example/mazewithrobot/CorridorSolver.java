@@ -0,0 +1,136 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Finds a shortest route over a {@link CorridorGraph} with A* search.
+ * Edges are weighted by corridor length and the heuristic is the Manhattan distance on the
+ * lattice, so the route found is as short as one found on the full lattice, while only the
+ * junctions are ever expanded.
+ */
+public class CorridorSolver implements MazeSolver {
+    /** The graph to search. */
+    private final CorridorGraph graph;
+
+    /** The number of graph nodes expanded by the last search. */
+    private int expandedCount;
+
+    /** The largest open set size reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for a corridor graph.
+     *
+     * @param graph The graph to search.
+     */
+    public CorridorSolver(CorridorGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "corridor";
+    }
+
+    /**
+     * Finds a shortest route between two graph nodes, with every step along it.
+     *
+     * @param start The lattice node id of the start, which must be a graph node.
+     * @param goal The lattice node id of the goal, which must be a graph node.
+     * @return The lattice node ids along the route, from start to goal, or an empty array if the goal is unreachable.
+     * @throws IllegalArgumentException If the start or goal is open but not a graph node.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        return graph.expand(findWaypoints(start, goal));
+    }
+
+    /**
+     * Finds a shortest route between two graph nodes.
+     * Pass the result to {@link CorridorGraph#expand(int[])} to get every step along it.
+     *
+     * @param start The lattice node id of the start, which must be a graph node.
+     * @param goal The lattice node id of the goal, which must be a graph node.
+     * @return The lattice node ids of the junctions along the route, from start to goal,
+     *         or an empty array if the goal is unreachable.
+     * @throws IllegalArgumentException If the start or goal is open but not a graph node.
+     */
+    public int[] findWaypoints(int start, int goal) {
+        expandedCount = 0;
+        peakFrontier = 0;
+        Lattice lattice = graph.getLattice();
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            return new int[0];
+        }
+        int source = graph.graphNode(start);
+        int target = graph.graphNode(goal);
+        if (source < 0 || target < 0) {
+            throw new IllegalArgumentException("Start and goal must be terminals of the corridor graph");
+        }
+
+        int nodes = graph.nodeCount();
+        int[] cost = new int[nodes];
+        int[] parent = new int[nodes];
+        long[] closed = new long[(nodes + 63) >>> 6];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        IntMinHeap open = new IntMinHeap(256);
+
+        cost[source] = 0;
+        parent[source] = source;
+        open.push(source, lattice.manhattan(start, goal));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if ((closed[current >>> 6] & (1L << current)) != 0) {
+                continue; // Stale entry for a node that was already expanded
+            }
+            closed[current >>> 6] |= 1L << current;
+            expandedCount++;
+            if (current == target) {
+                peakFrontier = open.peakSize();
+                int[] route = AStarSolver.tracePath(parent, target);
+                for (int i = 0; i < route.length; i++) {
+                    route[i] = graph.latticeNode(route[i]);
+                }
+                return route;
+            }
+
+            for (int edge = graph.firstEdge(current); edge < graph.endEdge(current); edge++) {
+                int next = graph.edgeTarget(edge);
+                int nextCost = cost[current] + graph.edgeWeight(edge);
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    parent[next] = current;
+                    open.push(next, nextCost + lattice.manhattan(graph.latticeNode(next), goal));
+                }
+            }
+        }
+        peakFrontier = open.peakSize();
+        return new int[0];
+    }
+
+    /**
+     * Gets the number of graph nodes expanded by the last search.
+     *
+     * @return The number of expanded nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest open set size reached by the last search.
+     *
+     * @return The peak number of heap entries.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+}
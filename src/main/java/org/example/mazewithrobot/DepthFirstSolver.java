@@ -0,0 +1,250 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solves a maze with a depth-first walk over steps of {@link Maze#STEP_SIZE} pixels.
+ * The walk can be advanced one step at a time, for animation, or run to completion.
+ *
+ * <p>Positions are int node ids on the maze's {@link Lattice}; the visited set is a bitset
+ * and the current path an {@link IntStack}, so stepping allocates nothing.</p>
+ *
+ * <p>As a {@link MazeSolver}, the walk runs from any start node until it reaches the goal node;
+ * the route is the path left on the stack, which is not necessarily the shortest.</p>
+ */
+public class DepthFirstSolver implements MazeSolver {
+    /** The maze being solved. */
+    private final Maze maze;
+
+    /** The lattice of positions the robot can step between. */
+    private final Lattice lattice;
+
+    /** The stack of node ids representing the path taken by the robot. */
+    private final IntStack path;
+
+    /** One bit per node, set once the robot has visited it. */
+    private final long[] visited;
+
+    /** The number of distinct nodes visited so far. */
+    private int visitedCount;
+
+    /** The node id of the current position of the robot. */
+    private int current;
+
+    /** The number of steps taken so far, including backtracking. */
+    private long steps;
+
+    /** The deepest the path stack has been. */
+    private int peakDepth;
+
+    /**
+     * Constructs a new solver starting at the specified position.
+     *
+     * @param maze The maze to solve.
+     * @param startX The x-coordinate to start from.
+     * @param startY The y-coordinate to start from.
+     */
+    public DepthFirstSolver(Maze maze, double startX, double startY) {
+        this.maze = maze;
+        this.lattice = maze.getLattice();
+        this.current = lattice.nodeAt(startX, startY);
+        if (current < 0) {
+            throw new IllegalArgumentException("Start (" + startX + ", " + startY + ") is not on the maze lattice");
+        }
+        this.path = new IntStack(1024);
+        this.visited = new long[(lattice.size() + 63) >>> 6];
+        path.push(current);
+        markVisited(current);
+        peakDepth = 1;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "dfs";
+    }
+
+    /**
+     * Restarts the walk from a node and steps until the goal node is reached.
+     *
+     * @param start The lattice node id to start from.
+     * @param goal The lattice node id to reach.
+     * @return The node ids of the route from start to goal, without dead ends, or an empty array if the goal is unreachable.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        Arrays.fill(visited, 0L);
+        visitedCount = 0;
+        steps = 0;
+        path.clear();
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            peakDepth = 0;
+            return new int[0];
+        }
+        current = start;
+        path.push(start);
+        markVisited(start);
+        peakDepth = 1;
+        while (current != goal) {
+            if (!step()) {
+                return new int[0];
+            }
+        }
+        return path.toArray();
+    }
+
+    /**
+     * Performs a single step in the maze-solving process.
+     * The robot moves to the first unvisited neighbor, or backtracks when there is none.
+     *
+     * @return True if the robot moved, false if every reachable point has been explored.
+     */
+    public boolean step() {
+        if (path.isEmpty()) {
+            return false;
+        }
+        int next = firstUnvisitedNeighbor(path.peek());
+        if (next >= 0) {
+            path.push(next);
+            markVisited(next);
+            current = next;
+            peakDepth = Math.max(peakDepth, path.size());
+        } else {
+            path.pop();
+            if (path.isEmpty()) {
+                return false;
+            }
+            current = path.peek();
+        }
+        steps++;
+        return true;
+    }
+
+    /**
+     * Steps through the maze until the exit is reached or the search is exhausted.
+     *
+     * @return True if the exit was reached, false otherwise.
+     */
+    public boolean solve() {
+        while (!isAtExit()) {
+            if (!step()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the first unvisited neighbor of a node, trying up, right, down and left in turn.
+     *
+     * @param node The node id to check neighbors for.
+     * @return The id of the first unvisited neighbor, or -1 if there is none.
+     */
+    private int firstUnvisitedNeighbor(int node) {
+        for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+            int neighbor = lattice.neighbor(node, direction);
+            if (neighbor >= 0 && (visited[neighbor >>> 6] & (1L << neighbor)) == 0) {
+                return neighbor;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Marks a node as visited.
+     *
+     * @param node The node id to mark.
+     */
+    private void markVisited(int node) {
+        visited[node >>> 6] |= 1L << node;
+        visitedCount++;
+    }
+
+    /**
+     * Checks if the robot is at the exit of the maze.
+     *
+     * @return True if the robot is within the exit range, false otherwise.
+     */
+    public boolean isAtExit() {
+        return maze.isAtExit(lattice.x(current), lattice.y(current));
+    }
+
+    /**
+     * Gets the current position of the robot.
+     *
+     * @return The current point.
+     */
+    public Point getCurrent() {
+        return lattice.toPoint(current);
+    }
+
+    /**
+     * Gets the node id of the current position of the robot.
+     *
+     * @return The current node id.
+     */
+    public int getCurrentNode() {
+        return current;
+    }
+
+    /**
+     * Gets the route from the start to the current position, without dead ends.
+     *
+     * @return A list of points from the start to the current position.
+     */
+    public List<Point> getPath() {
+        return lattice.toPoints(path.toArray());
+    }
+
+    /**
+     * Gets the node ids of the route from the start to the current position, without dead ends.
+     *
+     * @return The node ids from the start to the current position.
+     */
+    public int[] getPathNodes() {
+        return path.toArray();
+    }
+
+    /**
+     * Gets the number of distinct points visited so far.
+     *
+     * @return The number of visited points.
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Gets the number of distinct nodes visited by the last search.
+     *
+     * @return The number of visited nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Gets the deepest the path stack has been, the frontier of a depth-first walk.
+     *
+     * @return The peak number of stacked nodes.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakDepth;
+    }
+
+    /**
+     * Gets the number of steps taken so far, including backtracking.
+     *
+     * @return The number of steps.
+     */
+    public long getStepCount() {
+        return steps;
+    }
+}
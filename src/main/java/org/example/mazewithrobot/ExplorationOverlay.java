@@ -0,0 +1,191 @@
+package org.example.mazewithrobot;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A transparent image drawn over the maze, showing the cells visited by a search and its current path.
+ *
+ * <p>Cells are painted into an ARGB buffer as the robot moves, which only marks the touched
+ * {@value #TILE_SIZE}-pixel tiles as dirty. Once per pulse, an {@link AnimationTimer} copies each
+ * horizontal run of dirty tiles into the image with a single {@link PixelWriter#setPixels} call,
+ * so the cost of a frame depends on the area that changed rather than on the number of cells,
+ * and the scene graph holds a single node however large the search grows.</p>
+ */
+public final class ExplorationOverlay {
+    /** The width and height of the tiles dirty regions are tracked in, in pixels. */
+    private static final int TILE_SIZE = 64;
+
+    /** The color of cells visited by the search. */
+    private static final int VISITED_ARGB = 0x663399FF;
+
+    /** The color of cells on the current path. */
+    private static final int PATH_ARGB = 0xCCFF3333;
+
+    /** The width of the overlay in pixels. */
+    private final int width;
+
+    /** The height of the overlay in pixels. */
+    private final int height;
+
+    /** The pixels of the overlay, row by row. */
+    private final int[] argb;
+
+    /** The image the pixels are copied to. */
+    private final WritableImage image;
+
+    /** The node showing the image. */
+    private final ImageView view;
+
+    /** The number of tiles in a row of tiles. */
+    private final int tilesPerRow;
+
+    /** One bit per tile, set when the tile has changed since the last pulse. */
+    private final long[] dirtyTiles;
+
+    /** True when any tile is dirty. */
+    private boolean dirty;
+
+    /** The points of the current path, from the start to the robot. */
+    private final List<Point> path = new ArrayList<>();
+
+    /** The timer copying the dirty tiles to the image once per pulse. */
+    private final AnimationTimer timer;
+
+    /**
+     * Constructs an empty overlay and starts copying it to the screen.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param width The width of the maze in pixels.
+     * @param height The height of the maze in pixels.
+     */
+    public ExplorationOverlay(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.argb = new int[width * height];
+        this.image = new WritableImage(width, height);
+        this.view = new ImageView(image);
+        this.view.setMouseTransparent(true);
+        this.tilesPerRow = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        this.dirtyTiles = new long[(tilesPerRow * tileRows + 63) >>> 6];
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                flush();
+            }
+        };
+        timer.start();
+    }
+
+    /**
+     * Records the robot moving to a point of a search.
+     * Moving back to the point before the last one is a backtrack: the last point leaves the path
+     * but stays visited. Any other move extends the path.
+     *
+     * @param point The position of the robot.
+     */
+    public void trace(Point point) {
+        int size = path.size();
+        if (size >= 2 && path.get(size - 2).equals(point)) {
+            fillCell(path.remove(size - 1), VISITED_ARGB);
+        } else if (size == 0 || !path.get(size - 1).equals(point)) {
+            path.add(point);
+            fillCell(point, PATH_ARGB);
+        }
+    }
+
+    /**
+     * Removes every visited cell and the current path.
+     */
+    public void clear() {
+        path.clear();
+        Arrays.fill(argb, 0);
+        Arrays.fill(dirtyTiles, -1L);
+        dirty = true;
+    }
+
+    /**
+     * Paints the cell the robot occupies at a point: the central step-sized square of its footprint.
+     *
+     * @param point The top-left corner of the robot.
+     * @param color The ARGB color to paint the cell with.
+     */
+    private void fillCell(Point point, int color) {
+        int inset = (Maze.ROBOT_SIZE - Maze.STEP_SIZE) / 2;
+        int left = Math.max(0, (int) point.x + inset);
+        int top = Math.max(0, (int) point.y + inset);
+        int right = Math.min(width, (int) point.x + inset + Maze.STEP_SIZE);
+        int bottom = Math.min(height, (int) point.y + inset + Maze.STEP_SIZE);
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        for (int y = top; y < bottom; y++) {
+            Arrays.fill(argb, y * width + left, y * width + right, color);
+        }
+        for (int tileY = top / TILE_SIZE; tileY <= (bottom - 1) / TILE_SIZE; tileY++) {
+            for (int tileX = left / TILE_SIZE; tileX <= (right - 1) / TILE_SIZE; tileX++) {
+                int tile = tileY * tilesPerRow + tileX;
+                dirtyTiles[tile >>> 6] |= 1L << tile;
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Copies the dirty tiles to the image, one pixel write per horizontal run of dirty tiles.
+     */
+    private void flush() {
+        if (!dirty) {
+            return;
+        }
+        PixelWriter writer = image.getPixelWriter();
+        int tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        for (int tileY = 0; tileY < tileRows; tileY++) {
+            int rowStart = tileY * tilesPerRow;
+            int tileX = 0;
+            while (tileX < tilesPerRow) {
+                int tile = rowStart + tileX;
+                if ((dirtyTiles[tile >>> 6] & (1L << tile)) == 0) {
+                    tileX++;
+                    continue;
+                }
+                // Extend the run over the following dirty tiles of the same row
+                int runStart = tileX;
+                while (tileX < tilesPerRow && (dirtyTiles[(rowStart + tileX) >>> 6] & (1L << (rowStart + tileX))) != 0) {
+                    dirtyTiles[(rowStart + tileX) >>> 6] &= ~(1L << (rowStart + tileX));
+                    tileX++;
+                }
+                int x = runStart * TILE_SIZE;
+                int y = tileY * TILE_SIZE;
+                int runWidth = Math.min(width, tileX * TILE_SIZE) - x;
+                int runHeight = Math.min(height, y + TILE_SIZE) - y;
+                writer.setPixels(x, y, runWidth, runHeight, PixelFormat.getIntArgbInstance(), argb, y * width + x, width);
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Stops copying the overlay to the screen.
+     */
+    public void dispose() {
+        timer.stop();
+    }
+
+    /**
+     * Gets the node showing the overlay, to be placed between the maze and the robot.
+     *
+     * @return The overlay's image view.
+     */
+    public ImageView getView() {
+        return view;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point that solves maze images without starting the JavaFX toolkit.
+ * Each maze is solved as fast as possible and reported as one line of tab-separated values.
+ *
+ * <p>Usage: {@code HeadlessSolver [--start x,y] [--solver dfs|bfs|pbfs|astar|dijkstra|jps|bibfs|corridor|hpa] [--save-path dir]
+ *     [--tolerance exact|argb:N|luma:N] maze.png...}</p>
+ *
+ * <p>The solver is created through {@link MazeSolvers}; besides the route length and the number of
+ * expanded nodes, each line reports the peak frontier size and the bytes allocated by the search.
+ * Allocations are counted on the solving thread only, so the column is -1 for {@code pbfs}.</p>
+ *
+ * <p>Preprocessed {@link MazeFile}s written by {@link MazeConverter} can be given in place of images.</p>
+ *
+ * <p>With {@code --save-path}, the route of every solved maze is written to {@code dir} as a
+ * {@link PathFile} named after the maze image, with the {@code .mwrp} extension.</p>
+ *
+ * <p>With {@code --tolerance}, pixels close to the path color also count as path, see
+ * {@link PathTolerance#parse(String)}; this helps with scanned or lossy-compressed mazes.</p>
+ */
+public final class HeadlessSolver {
+    /** The default x-coordinate the robot starts from, matching the JavaFX application. */
+    private static final double DEFAULT_START_X = 10;
+
+    /** The default y-coordinate the robot starts from, matching the JavaFX application. */
+    private static final double DEFAULT_START_Y = 260;
+
+    /**
+     * Prevents instantiation of this entry point class.
+     */
+    private HeadlessSolver() {
+    }
+
+    /**
+     * Solves every maze image given on the command line.
+     *
+     * @param args The optional start position followed by the maze image paths.
+     */
+    public static void main(String[] args) {
+        double startX = DEFAULT_START_X;
+        double startY = DEFAULT_START_Y;
+        String solverName = "dfs";
+        Path pathDirectory = null;
+        PathTolerance tolerance = PathTolerance.exact();
+        int first = 0;
+        while (first + 1 < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--start" -> {
+                    String[] coordinates = args[first + 1].split(",");
+                    startX = Double.parseDouble(coordinates[0].trim());
+                    startY = Double.parseDouble(coordinates[1].trim());
+                }
+                case "--solver" -> solverName = args[first + 1];
+                case "--save-path" -> pathDirectory = Path.of(args[first + 1]);
+                case "--tolerance" -> tolerance = PathTolerance.parse(args[first + 1]);
+                default -> usage();
+            }
+            first += 2;
+        }
+        if (first >= args.length || !MazeSolvers.NAMES.contains(solverName)) {
+            usage();
+        }
+
+        System.out.println("maze\tsolver\tsolved\tpath_length\tnodes\tload_ms\tsolve_ms\tpeak_frontier\tallocated_bytes");
+        boolean allSolved = true;
+        for (int i = first; i < args.length; i++) {
+            allSolved &= solve(Path.of(args[i]), startX, startY, solverName, pathDirectory, tolerance);
+        }
+        if (!allSolved) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the command-line usage and exits.
+     */
+    private static void usage() {
+        System.err.println("Usage: HeadlessSolver [--start x,y] [--solver " + String.join("|", MazeSolvers.NAMES) + "] [--save-path dir] "
+                + "[--tolerance exact|argb:N|luma:N] maze.png...");
+        System.exit(2);
+    }
+
+    /**
+     * Loads and solves a single maze, printing its result line.
+     *
+     * @param file The maze image to solve.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param solverName The name of the search algorithm to use.
+     * @param pathDirectory The directory to save the route to, or null to not save it.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return True if the maze was solved, false otherwise.
+     */
+    private static boolean solve(Path file, double startX, double startY, String solverName, Path pathDirectory,
+                                 PathTolerance tolerance) {
+        try {
+            long loadStart = System.nanoTime();
+            Maze maze = MazeLoader.load(file, startX, startY, tolerance);
+            long solveStart = System.nanoTime();
+            Lattice lattice = maze.getLattice();
+            MazeSolver solver = MazeSolvers.create(solverName, maze);
+            // Search from the detected entrance towards the exit with bidirectional search,
+            // falling back to the start when the robot does not fit at the entrance
+            int source = solverName.equals("bibfs") && lattice.entrance() >= 0 ? lattice.entrance() : lattice.start();
+            SolveResult result = solver.measure(source, lattice.goal());
+            long solveEnd = System.nanoTime();
+            boolean solved = result.isSolved();
+            if (solved && pathDirectory != null) {
+                PathFile.fromPoints(MazeLoader.contentHash(file, maze), Maze.STEP_SIZE, lattice.toPoints(result.getRoute()))
+                        .save(pathDirectory.resolve(file.getFileName() + ".mwrp"));
+            }
+            System.out.printf("%s\t%s\t%b\t%d\t%d\t%.3f\t%.3f\t%d\t%d%n", file, solverName, solved, result.getLength(),
+                    result.getExpandedCount(), (solveStart - loadStart) / 1e6, (solveEnd - solveStart) / 1e6,
+                    result.getPeakFrontier(), result.getAllocatedBytes());
+            return solved;
+        } catch (IOException | RuntimeException e) {
+            System.out.printf("%s\t%s\tfalse\t-\t-\t-\t-\t-\t-\t# %s%n", file, solverName, e.getMessage());
+            return false;
+        }
+    }
+}
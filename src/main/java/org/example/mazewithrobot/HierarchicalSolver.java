@@ -0,0 +1,234 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Finds routes over a maze {@link Lattice} with hierarchical pathfinding (HPA*).
+ *
+ * <p>A query links the start and the goal to the abstract nodes of their own clusters, runs A*
+ * over the cached {@link ClusterGraph}, then refines the abstract route into single steps with a
+ * breadth-first search inside each cluster it passes through; no other cluster is looked at.
+ * Routes are close to, but not always exactly, the shortest: they cross cluster boundaries only
+ * at the transitions of the abstract graph.</p>
+ */
+public class HierarchicalSolver implements MazeSolver {
+    /** The abstract graph to search. */
+    private final ClusterGraph graph;
+
+    /** The distances within a cluster, reused by every cluster search. */
+    private final int[] distance;
+
+    /** The parents within a cluster, reused by every refinement. */
+    private final int[] parent;
+
+    /** The queue reused by every cluster search. */
+    private final IntQueue queue;
+
+    /** The number of abstract nodes expanded by the last search. */
+    private int expandedCount;
+
+    /** The largest open set size reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for an abstract graph.
+     *
+     * @param graph The abstract graph to search.
+     */
+    public HierarchicalSolver(ClusterGraph graph) {
+        this.graph = graph;
+        int area = graph.getClusterSize() * graph.getClusterSize();
+        this.distance = new int[area];
+        this.parent = new int[area];
+        this.queue = new IntQueue(graph.getClusterSize() * 4);
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "hpa";
+    }
+
+    /**
+     * Finds a route between two lattice nodes.
+     *
+     * @param start The lattice node id of the start.
+     * @param goal The lattice node id of the goal.
+     * @return The lattice node ids along the route, from start to goal, or an empty array if the goal is unreachable.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        expandedCount = 0;
+        peakFrontier = 0;
+        Lattice lattice = graph.getLattice();
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            return new int[0];
+        }
+        if (start == goal) {
+            return new int[] {start};
+        }
+
+        // The start and goal get the two ids after the abstract nodes
+        int nodes = graph.nodeCount();
+        int source = nodes;
+        int target = nodes + 1;
+        int startCluster = graph.cluster(start);
+        int goalCluster = graph.cluster(goal);
+
+        // Link the goal to the abstract nodes of its cluster; lattice distances are symmetric
+        graph.searchCluster(goal, distance, null, queue);
+        int[] goalDistance = new int[graph.endMember(goalCluster) - graph.firstMember(goalCluster)];
+        for (int i = 0; i < goalDistance.length; i++) {
+            goalDistance[i] = distance[graph.localIndex(graph.latticeNode(graph.member(graph.firstMember(goalCluster) + i)))];
+        }
+        int directDistance = startCluster == goalCluster ? distance[graph.localIndex(start)] : -1;
+
+        int[] cost = new int[nodes + 2];
+        int[] previous = new int[nodes + 2];
+        long[] closed = new long[(nodes + 2 + 63) >>> 6];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        IntMinHeap open = new IntMinHeap(256);
+
+        // Link the start to the abstract nodes of its cluster
+        cost[source] = 0;
+        previous[source] = source;
+        graph.searchCluster(start, distance, null, queue);
+        for (int i = graph.firstMember(startCluster); i < graph.endMember(startCluster); i++) {
+            int node = graph.member(i);
+            int d = distance[graph.localIndex(graph.latticeNode(node))];
+            if (d >= 0) {
+                relax(open, cost, previous, source, node, d, goal);
+            }
+        }
+        if (directDistance >= 0) {
+            relax(open, cost, previous, source, target, directDistance, goal);
+        }
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if ((closed[current >>> 6] & (1L << current)) != 0) {
+                continue; // Stale entry for a node that was already expanded
+            }
+            closed[current >>> 6] |= 1L << current;
+            expandedCount++;
+            if (current == target) {
+                peakFrontier = open.peakSize();
+                return refine(AStarSolver.tracePath(previous, target), start, goal);
+            }
+            for (int edge = graph.firstEdge(current); edge < graph.endEdge(current); edge++) {
+                relax(open, cost, previous, current, graph.edgeTarget(edge), graph.edgeWeight(edge), goal);
+            }
+            if (graph.cluster(graph.latticeNode(current)) == goalCluster) {
+                int d = goalDistance[memberOffset(goalCluster, current)];
+                if (d >= 0) {
+                    relax(open, cost, previous, current, target, d, goal);
+                }
+            }
+        }
+        peakFrontier = open.peakSize();
+        return new int[0];
+    }
+
+    /**
+     * Offers a cheaper way to reach a node of the abstract search.
+     *
+     * @param open The open set.
+     * @param cost The best known cost of every node.
+     * @param previous The node each node was best reached from.
+     * @param from The node being expanded.
+     * @param to The node being reached.
+     * @param weight The length of the edge between them.
+     * @param goal The lattice node id of the goal, for the heuristic.
+     */
+    private void relax(IntMinHeap open, int[] cost, int[] previous, int from, int to, int weight, int goal) {
+        int nextCost = cost[from] + weight;
+        if (nextCost < cost[to]) {
+            cost[to] = nextCost;
+            previous[to] = from;
+            int estimate = to < graph.nodeCount() ? graph.getLattice().manhattan(graph.latticeNode(to), goal) : 0;
+            open.push(to, nextCost + estimate);
+        }
+    }
+
+    /**
+     * Finds the position of an abstract node among the members of its cluster.
+     *
+     * @param cluster The cluster index.
+     * @param node The abstract node id.
+     * @return The offset from the first member of the cluster.
+     */
+    private int memberOffset(int cluster, int node) {
+        for (int i = graph.firstMember(cluster); i < graph.endMember(cluster); i++) {
+            if (graph.member(i) == node) {
+                return i - graph.firstMember(cluster);
+            }
+        }
+        throw new IllegalStateException("Abstract node " + node + " is not in cluster " + cluster);
+    }
+
+    /**
+     * Turns a route over the abstract graph into single lattice steps.
+     * Consecutive nodes in different clusters are the two ends of a transition, one step apart;
+     * consecutive nodes in the same cluster are joined by a search inside that cluster.
+     *
+     * @param abstractRoute The abstract route, including the start and goal ids.
+     * @param start The lattice node id of the start.
+     * @param goal The lattice node id of the goal.
+     * @return The lattice node ids along the route, from start to goal.
+     */
+    private int[] refine(int[] abstractRoute, int start, int goal) {
+        int[] route = new int[64];
+        int length = 0;
+        route[length++] = start;
+        int from = start;
+        for (int i = 1; i < abstractRoute.length; i++) {
+            int to = i == abstractRoute.length - 1 ? goal : graph.latticeNode(abstractRoute[i]);
+            if (graph.cluster(from) != graph.cluster(to)) {
+                if (length == route.length) {
+                    route = Arrays.copyOf(route, length * 2);
+                }
+                route[length++] = to;
+            } else if (from != to) {
+                // Walk the parent links back from the destination, then append them in order
+                graph.searchCluster(from, distance, parent, queue);
+                int cluster = graph.cluster(from);
+                int steps = distance[graph.localIndex(to)];
+                if (length + steps > route.length) {
+                    route = Arrays.copyOf(route, Math.max(route.length * 2, length + steps));
+                }
+                int local = graph.localIndex(to);
+                for (int k = length + steps - 1; k >= length; k--) {
+                    route[k] = graph.latticeId(cluster, local);
+                    local = parent[local];
+                }
+                length += steps;
+            }
+            from = to;
+        }
+        return Arrays.copyOf(route, length);
+    }
+
+    /**
+     * Gets the number of abstract nodes expanded by the last search.
+     *
+     * @return The number of expanded nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest open set size reached by the last search.
+     *
+     * @return The peak number of heap entries.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+}
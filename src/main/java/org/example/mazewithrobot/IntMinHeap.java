@@ -0,0 +1,133 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of int values ordered by int keys, stored in parallel primitive arrays.
+ * The heap never boxes its entries; a value may be pushed several times, and callers skip
+ * stale entries when they pop them.
+ */
+public class IntMinHeap {
+    /** The values in heap order. */
+    private int[] values;
+
+    /** The keys of the values, in the same order. */
+    private int[] keys;
+
+    /** The number of entries in the heap. */
+    private int size;
+
+    /** The largest number of entries held at once. */
+    private int peakSize;
+
+    /**
+     * Constructs an empty heap.
+     *
+     * @param initialCapacity The number of entries to allocate room for.
+     */
+    public IntMinHeap(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.values = new int[capacity];
+        this.keys = new int[capacity];
+    }
+
+    /**
+     * Adds a value to the heap.
+     *
+     * @param value The value to add.
+     * @param key The key the value is ordered by.
+     */
+    public void push(int value, int key) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        peakSize = Math.max(peakSize, size);
+        // Sift the new entry up towards the root
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            values[i] = values[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        values[i] = value;
+        keys[i] = key;
+    }
+
+    /**
+     * Gets the key of the smallest entry without removing it.
+     *
+     * @return The smallest key.
+     */
+    public int peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Removes the entry with the smallest key.
+     *
+     * @return The value of the removed entry.
+     */
+    public int pop() {
+        int result = values[0];
+        int value = values[--size];
+        int key = keys[size];
+        int i = 0;
+        // Sift the last entry down from the root
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            values[i] = values[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        values[i] = value;
+        keys[i] = key;
+        return result;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return True if the heap holds no entries, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of entries in the heap.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the largest number of entries held at once since the heap was created or cleared.
+     *
+     * @return The peak number of entries.
+     */
+    public int peakSize() {
+        return peakSize;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated arrays.
+     */
+    public void clear() {
+        size = 0;
+        peakSize = 0;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A first-in first-out queue of int values backed by a growable ring buffer.
+ */
+public class IntQueue {
+    /** The ring buffer holding the queued values; its length is always a power of two. */
+    private int[] values;
+
+    /** The index of the first queued value. */
+    private int head;
+
+    /** The number of queued values. */
+    private int size;
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param initialCapacity The number of values to allocate room for.
+     */
+    public IntQueue(int initialCapacity) {
+        this.values = new int[Integer.highestOneBit(Math.max(16, initialCapacity - 1)) << 1];
+    }
+
+    /**
+     * Adds a value at the end of the queue.
+     *
+     * @param value The value to add.
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            // Unroll the ring into a buffer twice as large
+            int[] grown = Arrays.copyOfRange(values, head, head + values.length * 2);
+            System.arraycopy(values, 0, grown, values.length - head, head);
+            values = grown;
+            head = 0;
+        }
+        values[(head + size++) & (values.length - 1)] = value;
+    }
+
+    /**
+     * Removes the value at the front of the queue.
+     *
+     * @return The removed value.
+     */
+    public int poll() {
+        int value = values[head];
+        head = (head + 1) & (values.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return True if the queue holds no values, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of queued values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all values, keeping the allocated buffer.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A last-in first-out stack of int values backed by a growable array.
+ */
+public class IntStack {
+    /** The stacked values, bottom first. */
+    private int[] values;
+
+    /** The number of stacked values. */
+    private int size;
+
+    /**
+     * Constructs an empty stack.
+     *
+     * @param initialCapacity The number of values to allocate room for.
+     */
+    public IntStack(int initialCapacity) {
+        this.values = new int[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Pushes a value onto the stack.
+     *
+     * @param value The value to push.
+     */
+    public void push(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Removes the value on top of the stack.
+     *
+     * @return The removed value.
+     */
+    public int pop() {
+        return values[--size];
+    }
+
+    /**
+     * Gets the value on top of the stack without removing it.
+     *
+     * @return The top value.
+     */
+    public int peek() {
+        return values[size - 1];
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return True if the stack holds no values, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of stacked values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the stacked values into a new array.
+     *
+     * @return The values, bottom first.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Removes all values, keeping the allocated buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
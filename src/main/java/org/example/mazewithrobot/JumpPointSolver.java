@@ -0,0 +1,266 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Finds a shortest route over a maze {@link Lattice} with Jump Point Search.
+ *
+ * <p>On a 4-connected lattice with uniform step costs, every shortest route can be rearranged so
+ * that it only turns from a horizontal to a vertical move where the cell diagonally behind it is
+ * blocked (a forced neighbor). The search therefore jumps along straight lines and only pushes
+ * those turning points onto the heap: a horizontal jump stops at the goal or at a forced neighbor,
+ * and a vertical jump stops wherever a horizontal jump from it would stop. In open areas this
+ * skips most of the nodes that plain A* would push and pop.</p>
+ */
+public class JumpPointSolver implements MazeSolver {
+    /** The index of the upward direction in {@link Lattice#DIRECTIONS}. */
+    private static final int UP = 0;
+
+    /** The index of the rightward direction in {@link Lattice#DIRECTIONS}. */
+    private static final int RIGHT = 1;
+
+    /** The index of the downward direction in {@link Lattice#DIRECTIONS}. */
+    private static final int DOWN = 2;
+
+    /** The index of the leftward direction in {@link Lattice#DIRECTIONS}. */
+    private static final int LEFT = 3;
+
+    /** The lattice to search. */
+    private final Lattice lattice;
+
+    /** The number of jump points expanded by the last search. */
+    private int expandedCount;
+
+    /** The number of entries pushed onto the heap by the last search. */
+    private int heapPushes;
+
+    /** The largest open set size reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for a lattice.
+     *
+     * @param lattice The lattice to search.
+     */
+    public JumpPointSolver(Lattice lattice) {
+        this.lattice = lattice;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "jps";
+    }
+
+    /**
+     * Finds a shortest route between two nodes.
+     *
+     * @param start The id of the start node.
+     * @param goal The id of the goal node.
+     * @return The node ids along the route, from start to goal, or an empty array if the goal is unreachable.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        expandedCount = 0;
+        heapPushes = 0;
+        peakFrontier = 0;
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            return new int[0];
+        }
+
+        int[] cost = new int[lattice.size()];
+        int[] parent = new int[lattice.size()];
+        // Directions still to explore from each jump point, and those already explored
+        byte[] pendingDirections = new byte[lattice.size()];
+        byte[] expandedDirections = new byte[lattice.size()];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        IntMinHeap open = new IntMinHeap(256);
+
+        cost[start] = 0;
+        parent[start] = start;
+        pendingDirections[start] = (byte) 0b1111;
+        open.push(start, lattice.manhattan(start, goal));
+        heapPushes++;
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            int directions = pendingDirections[current] & ~expandedDirections[current];
+            if (directions == 0) {
+                continue; // Stale entry for a jump point that was already expanded
+            }
+            expandedDirections[current] |= (byte) directions;
+            expandedCount++;
+            if (current == goal) {
+                peakFrontier = open.peakSize();
+                return expandPath(parent, goal);
+            }
+
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                if ((directions & (1 << direction)) == 0) {
+                    continue;
+                }
+                int next = jump(current, direction, goal);
+                if (next < 0) {
+                    continue;
+                }
+                int nextCost = cost[current] + lattice.manhattan(current, next);
+                int nextDirections = successorDirections(next, direction);
+                if (nextCost < cost[next]) {
+                    cost[next] = nextCost;
+                    parent[next] = current;
+                    pendingDirections[next] = (byte) nextDirections;
+                    expandedDirections[next] = 0;
+                } else if (nextCost == cost[next] && (nextDirections & ~pendingDirections[next]) != 0) {
+                    // An equally short arrival from another direction may open up more successors
+                    pendingDirections[next] |= (byte) nextDirections;
+                } else {
+                    continue;
+                }
+                open.push(next, nextCost + lattice.manhattan(next, goal));
+                heapPushes++;
+            }
+        }
+        peakFrontier = open.peakSize();
+        return new int[0];
+    }
+
+    /**
+     * Moves from a node in a straight line until a jump point, a wall or the lattice edge is reached.
+     *
+     * @param node The id of the node to jump from.
+     * @param direction The index of the direction to jump in.
+     * @param goal The id of the goal node.
+     * @return The id of the jump point, or -1 if the line ends without one.
+     */
+    private int jump(int node, int direction, int goal) {
+        boolean horizontal = direction == RIGHT || direction == LEFT;
+        int current = node;
+        while (true) {
+            int next = lattice.neighbor(current, direction);
+            if (next < 0) {
+                return -1;
+            }
+            if (next == goal) {
+                return next;
+            }
+            if (horizontal) {
+                if (hasForcedNeighbor(next, current)) {
+                    return next;
+                }
+            } else if (jump(next, RIGHT, goal) >= 0 || jump(next, LEFT, goal) >= 0) {
+                return next;
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Checks if a node reached by a horizontal move has a vertical neighbor that can only be
+     * reached through it, because the cell diagonally behind is blocked.
+     *
+     * @param node The id of the node reached.
+     * @param behind The id of the node it was reached from.
+     * @return True if the node has a forced neighbor, false otherwise.
+     */
+    private boolean hasForcedNeighbor(int node, int behind) {
+        return forcedDirections(node, behind) != 0;
+    }
+
+    /**
+     * Gets the vertical directions that are forced at a node reached by a horizontal move.
+     *
+     * @param node The id of the node reached.
+     * @param behind The id of the node it was reached from.
+     * @return A bit mask of the forced directions.
+     */
+    private int forcedDirections(int node, int behind) {
+        int forced = 0;
+        if (lattice.neighbor(node, UP) >= 0 && lattice.neighbor(behind, UP) < 0) {
+            forced |= 1 << UP;
+        }
+        if (lattice.neighbor(node, DOWN) >= 0 && lattice.neighbor(behind, DOWN) < 0) {
+            forced |= 1 << DOWN;
+        }
+        return forced;
+    }
+
+    /**
+     * Gets the directions worth exploring from a jump point, given the direction it was reached in.
+     * Vertical moves may continue or turn either way; horizontal moves continue and turn only
+     * towards forced neighbors.
+     *
+     * @param node The id of the jump point.
+     * @param direction The index of the direction it was reached in.
+     * @return A bit mask of the directions to explore.
+     */
+    private int successorDirections(int node, int direction) {
+        if (direction == UP || direction == DOWN) {
+            return (1 << direction) | (1 << RIGHT) | (1 << LEFT);
+        }
+        int behind = lattice.id(lattice.column(node) - Lattice.DIRECTIONS[direction][0], lattice.row(node));
+        return (1 << direction) | forcedDirections(node, behind);
+    }
+
+    /**
+     * Rebuilds the full route by following parent links back from the goal and filling in
+     * the straight segments between consecutive jump points.
+     *
+     * @param parent The parent jump point of every reached jump point; the start is its own parent.
+     * @param goal The id of the goal node.
+     * @return The node ids along the route, from start to goal.
+     */
+    private int[] expandPath(int[] parent, int goal) {
+        int[] jumpPoints = AStarSolver.tracePath(parent, goal);
+        int length = 1;
+        for (int i = 1; i < jumpPoints.length; i++) {
+            length += lattice.manhattan(jumpPoints[i - 1], jumpPoints[i]);
+        }
+        int[] route = new int[length];
+        int index = 0;
+        route[index++] = jumpPoints[0];
+        for (int i = 1; i < jumpPoints.length; i++) {
+            int from = jumpPoints[i - 1];
+            int to = jumpPoints[i];
+            int stepColumn = Integer.signum(lattice.column(to) - lattice.column(from));
+            int stepRow = Integer.signum(lattice.row(to) - lattice.row(from));
+            for (int node = from; node != to; ) {
+                node = lattice.id(lattice.column(node) + stepColumn, lattice.row(node) + stepRow);
+                route[index++] = node;
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Gets the number of jump points expanded by the last search.
+     *
+     * @return The number of expanded jump points.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the number of entries pushed onto the heap by the last search.
+     *
+     * @return The number of heap pushes.
+     */
+    public int getHeapPushes() {
+        return heapPushes;
+    }
+
+    /**
+     * Gets the largest open set size reached by the last search.
+     *
+     * @return The peak number of heap entries.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+}
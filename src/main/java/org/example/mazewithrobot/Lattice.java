@@ -0,0 +1,276 @@
+package org.example.mazewithrobot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The grid of positions a robot can reach in steps of {@link Maze#STEP_SIZE} pixels from its start.
+ * Every position is identified by an int node id ({@code row * columns + column}), and whether the
+ * robot fits at that position is precomputed once into a bitset, so searches over the lattice
+ * work on primitive ids only.
+ */
+public class Lattice {
+    /** The movement directions in the order the solvers try them: up, right, down, left. */
+    static final int[][] DIRECTIONS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+
+    /** The maze this lattice covers. */
+    private final Maze maze;
+
+    /** The x-coordinate of the first lattice column. */
+    private final int originX;
+
+    /** The y-coordinate of the first lattice row. */
+    private final int originY;
+
+    /** The number of lattice columns. */
+    private final int columns;
+
+    /** The number of lattice rows. */
+    private final int rows;
+
+    /** One bit per node, set when the robot fits at that position. */
+    private final long[] open;
+
+    /**
+     * Constructs the lattice of a maze, aligned on the maze's start position.
+     *
+     * @param maze The maze to cover.
+     */
+    public Lattice(Maze maze) {
+        this.maze = maze;
+        this.originX = Math.floorMod((int) maze.getStart().x, Maze.STEP_SIZE);
+        this.originY = Math.floorMod((int) maze.getStart().y, Maze.STEP_SIZE);
+        this.columns = Math.max(0, (maze.getWidth() - originX + Maze.STEP_SIZE - 1) / Maze.STEP_SIZE);
+        this.rows = Math.max(0, (maze.getHeight() - originY + Maze.STEP_SIZE - 1) / Maze.STEP_SIZE);
+        this.open = new long[(int) (((long) columns * rows + 63) >>> 6)];
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (maze.isValidMove(originX + column * Maze.STEP_SIZE, originY + row * Maze.STEP_SIZE)) {
+                    int id = row * columns + column;
+                    open[id >>> 6] |= 1L << id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the total number of nodes in the lattice.
+     *
+     * @return The number of nodes, open or not.
+     */
+    public int size() {
+        return columns * rows;
+    }
+
+    /**
+     * Gets the number of lattice columns.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of lattice rows.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the maze this lattice covers.
+     *
+     * @return The maze.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Checks if the robot fits at a node.
+     *
+     * @param id The node id.
+     * @return True if the node is open, false otherwise.
+     */
+    public boolean isOpen(int id) {
+        return (open[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Gets the node id of a lattice position.
+     *
+     * @param column The lattice column.
+     * @param row The lattice row.
+     * @return The node id, or -1 if the position is outside the lattice.
+     */
+    public int id(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Gets the lattice column of a node.
+     *
+     * @param id The node id.
+     * @return The lattice column.
+     */
+    public int column(int id) {
+        return id % columns;
+    }
+
+    /**
+     * Gets the lattice row of a node.
+     *
+     * @param id The node id.
+     * @return The lattice row.
+     */
+    public int row(int id) {
+        return id / columns;
+    }
+
+    /**
+     * Gets the open neighbor of a node in the specified direction.
+     *
+     * @param id The node id.
+     * @param direction The index of the direction in {@link #DIRECTIONS}.
+     * @return The id of the neighbor, or -1 if it is outside the lattice or blocked.
+     */
+    public int neighbor(int id, int direction) {
+        int next = id(column(id) + DIRECTIONS[direction][0], row(id) + DIRECTIONS[direction][1]);
+        return next >= 0 && isOpen(next) ? next : -1;
+    }
+
+    /**
+     * Gets the node at the specified maze coordinates.
+     *
+     * @param x The x-coordinate in pixels.
+     * @param y The y-coordinate in pixels.
+     * @return The node id, or -1 if the coordinates are not on the lattice.
+     */
+    public int nodeAt(double x, double y) {
+        int offsetX = (int) x - originX;
+        int offsetY = (int) y - originY;
+        if (offsetX < 0 || offsetY < 0 || offsetX % Maze.STEP_SIZE != 0 || offsetY % Maze.STEP_SIZE != 0) {
+            return -1;
+        }
+        return id(offsetX / Maze.STEP_SIZE, offsetY / Maze.STEP_SIZE);
+    }
+
+    /**
+     * Gets the node the robot starts from.
+     *
+     * @return The id of the start node.
+     */
+    public int start() {
+        return nodeAt(maze.getStart().x, maze.getStart().y);
+    }
+
+    /**
+     * Finds the open node within the exit range that lies closest to the exit point.
+     *
+     * @return The id of the goal node, or -1 if no open node is within the exit range.
+     */
+    public int goal() {
+        return nearestOpenNode(maze.getExitPoint());
+    }
+
+    /**
+     * Finds the open node within the exit range that lies closest to the entrance of the maze.
+     *
+     * @return The id of the entrance node, or -1 if no open node is within the exit range.
+     */
+    public int entrance() {
+        return nearestOpenNode(maze.getEntrance());
+    }
+
+    /**
+     * Finds the open node closest to a target point, among the nodes within the exit range of it.
+     *
+     * @param target The point to snap to the lattice.
+     * @return The id of the closest open node, or -1 if no open node is within range.
+     */
+    public int nearestOpenNode(Point target) {
+        int firstColumn = (int) Math.floor((target.x - Maze.EXIT_RANGE - originX) / Maze.STEP_SIZE);
+        int firstRow = (int) Math.floor((target.y - Maze.EXIT_RANGE - originY) / Maze.STEP_SIZE);
+        int span = 2 * Maze.EXIT_RANGE / Maze.STEP_SIZE + 2;
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int row = firstRow; row <= firstRow + span; row++) {
+            for (int column = firstColumn; column <= firstColumn + span; column++) {
+                int id = id(column, row);
+                if (id < 0 || !isOpen(id)
+                        || Math.abs(x(id) - target.x) >= Maze.EXIT_RANGE
+                        || Math.abs(y(id) - target.y) >= Maze.EXIT_RANGE) {
+                    continue;
+                }
+                double distance = Maze.distance(toPoint(id), target);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = id;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the x-coordinate of a node.
+     *
+     * @param id The node id.
+     * @return The x-coordinate in pixels.
+     */
+    public double x(int id) {
+        return originX + column(id) * Maze.STEP_SIZE;
+    }
+
+    /**
+     * Gets the y-coordinate of a node.
+     *
+     * @param id The node id.
+     * @return The y-coordinate in pixels.
+     */
+    public double y(int id) {
+        return originY + row(id) * Maze.STEP_SIZE;
+    }
+
+    /**
+     * Converts a node to a point in maze coordinates.
+     *
+     * @param id The node id.
+     * @return The point at the node's position.
+     */
+    public Point toPoint(int id) {
+        return new Point(x(id), y(id));
+    }
+
+    /**
+     * Converts a path of node ids to points in maze coordinates.
+     *
+     * @param ids The node ids, in order.
+     * @return The points along the path.
+     */
+    public List<Point> toPoints(int[] ids) {
+        List<Point> points = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            points.add(toPoint(id));
+        }
+        return points;
+    }
+
+    /**
+     * Calculates the Manhattan distance between two nodes in lattice steps.
+     *
+     * @param a The first node id.
+     * @param b The second node id.
+     * @return The number of steps on an unobstructed route between the nodes.
+     */
+    public int manhattan(int a, int b) {
+        return Math.abs(column(a) - column(b)) + Math.abs(row(a) - row(b));
+    }
+}
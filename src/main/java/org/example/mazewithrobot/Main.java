@@ -8,13 +8,24 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Main class for the Maze with Robot application.
  * Extends JavaFX Application class to create the GUI.
@@ -27,6 +38,30 @@ public class Main extends Application {
     /** Button to trigger the maze-solving algorithm. */
     private Button solveButton;
 
+    /** Button to replay a route saved in a path file. */
+    private Button replayButton;
+
+    /** Check box to replay the whole search instead of only the final route. */
+    private CheckBox explorationBox;
+
+    /** Choice of playback speeds, as multiples of the normal solving speed. */
+    private ChoiceBox<Double> speedBox;
+
+    /** Choice of search algorithms, see {@link MazeSolvers#NAMES}. */
+    private ChoiceBox<String> solverBox;
+
+    /** Button to run many robots on the maze at once. */
+    private Button swarmButton;
+
+    /** Choice of the number of robots in a swarm. */
+    private ChoiceBox<Integer> swarmSizeBox;
+
+    /** Check box to plan collision-free moves for the robots of a swarm. */
+    private CheckBox cooperativeBox;
+
+    /** The view running and drawing swarms of robots. */
+    private SwarmView swarmView;
+
     /**
      * The start method is called after the init method has returned,
      * and after the system is ready for the application to begin running.
@@ -36,36 +71,104 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
-        // Load the maze image using a relative path
-        Image mazeImage = new Image(getClass().getResourceAsStream("/maze.png"));
+        // Open a preprocessed maze file when one is given, otherwise load the bundled maze image
+        MazeFile mazeFile = openMazeFile();
+        Image mazeImage = mazeFile != null ? renderMaze(mazeFile) : new Image(getClass().getResourceAsStream("/maze.png"));
         ImageView mazeView = new ImageView(mazeImage);
 
         // Load the robot image using a relative path
         Image robotImage = new Image(getClass().getResourceAsStream("/robot.png"));
         ImageView robotView = new ImageView(robotImage);
 
-        // Create a Pane to hold the maze and robot images
+        // Create the overlay showing the cells explored while solving
+        ExplorationOverlay overlay = new ExplorationOverlay((int) mazeImage.getWidth(), (int) mazeImage.getHeight());
+
+        // Create the canvas drawing every robot of a swarm
+        swarmView = new SwarmView((int) mazeImage.getWidth(), (int) mazeImage.getHeight(), robotImage);
+
+        // Create a Pane to hold the maze, the overlay, the swarm and the robot, in drawing order
         Pane mazePane = new Pane();
-        mazePane.getChildren().addAll(mazeView, robotView);
+        mazePane.getChildren().addAll(mazeView, overlay.getView(), swarmView.getView(), robotView);
 
         // Set the initial position of the robot
-        robotView.setX(10);
-        robotView.setY(260);
+        robotView.setX(mazeFile != null ? mazeFile.getStartX() : 10);
+        robotView.setY(mazeFile != null ? mazeFile.getStartY() : 260);
 
-        // Create a Robot instance and pass the robotView and mazeImage
-        robot = new Robot(robotView, mazeImage);
+        // Create a Robot instance and pass the robotView and the maze
+        robot = mazeFile != null ? new Robot(robotView, mazeFile) : new Robot(robotView, mazeImage, pathTolerance());
+        robot.setOverlay(overlay);
 
         // Create button for solving the maze
         solveButton = new Button("Solve Maze");
 
+        // Create button for replaying a saved route
+        replayButton = new Button("Replay Path...");
+
+        // Create the playback controls
+        explorationBox = new CheckBox("Show exploration");
+        speedBox = new ChoiceBox<>();
+        speedBox.getItems().addAll(0.1, 0.25, 0.5, 1.0, 2.0, 5.0, 10.0, 50.0, 100.0, 1000.0);
+        speedBox.setValue(1.0);
+
+        // Create the solver choice, defaulting to the depth-first search
+        solverBox = new ChoiceBox<>();
+        solverBox.getItems().addAll(MazeSolvers.NAMES.toArray(new String[0]));
+        solverBox.setValue("dfs");
+
+        // Create the swarm controls
+        swarmButton = new Button("Run Swarm");
+        swarmSizeBox = new ChoiceBox<>();
+        swarmSizeBox.getItems().addAll(10, 50, 100, 200, 500);
+        swarmSizeBox.setValue(100);
+        cooperativeBox = new CheckBox("Avoid collisions");
+
+        // Apply a new speed to the running playback and swarm straight away
+        speedBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            robot.setSpeed(newValue);
+            swarmView.setSpeed(newValue);
+        });
+
         // Set action for the solve button
         solveButton.setOnAction(e -> {
-            robot.solveMaze(); // Start solving the maze when button is clicked
-            solveButton.setDisable(true); // Disable button while solving
+            // Solve in the background, then replay the result at the chosen speed
+            if (robot.solveAndReplay(solverBox.getValue(), explorationBox.isSelected(), speedBox.getValue(),
+                    () -> solveButton.setDisable(false))) {
+                solveButton.setDisable(true); // Disable button while solving
+            }
+        });
+
+        // Set action for the replay button
+        replayButton.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Replay Path");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Path files", "*.mwrp"));
+            File file = chooser.showOpenDialog(primaryStage);
+            if (file == null) {
+                return;
+            }
+            try {
+                if (robot.replayPath(PathFile.load(file.toPath()), speedBox.getValue(), () -> solveButton.setDisable(false))) {
+                    solveButton.setDisable(true);
+                }
+            } catch (IOException ex) {
+                System.out.println("Could not read path file: " + ex.getMessage());
+            }
+        });
+
+        // Set action for the swarm button
+        swarmButton.setOnAction(e -> {
+            // Step the robots in the background and draw them all on the swarm canvas
+            swarmView.clear();
+            if (swarmView.run(robot.getMaze(), swarmSizeBox.getValue(), cooperativeBox.isSelected(), speedBox.getValue(),
+                    () -> swarmButton.setDisable(false))) {
+                swarmButton.setDisable(true); // Disable button while the swarm runs
+            }
         });
 
-        // Create an HBox to hold the button
-        HBox buttonBox = new HBox(10, solveButton);
+        // Create an HBox to hold the buttons and playback controls
+        HBox buttonBox = new HBox(10, solveButton, replayButton, explorationBox,
+                new Label("Solver:"), solverBox, new Label("Speed (x):"), speedBox,
+                swarmButton, new Label("Robots:"), swarmSizeBox, cooperativeBox);
 
         // Create a VBox to hold the maze pane and button box
         VBox root = new VBox(10, mazePane, buttonBox);
@@ -101,6 +204,65 @@ public class Main extends Application {
         Platform.runLater(() -> root.requestFocus());
     }
 
+    /**
+     * Opens the preprocessed maze file given on the command line, if any.
+     *
+     * @return The opened maze file, or null if none was given or it cannot be read.
+     */
+    private MazeFile openMazeFile() {
+        for (String argument : getParameters().getRaw()) {
+            if (argument.endsWith(".mwrg")) {
+                try {
+                    return MazeFile.open(Path.of(argument));
+                } catch (IOException e) {
+                    System.out.println("Could not open maze file: " + e.getMessage());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the path color tolerance given on the command line as {@code --tolerance=exact|argb:N|luma:N}.
+     *
+     * @return The tolerance, or the exact match if none was given or it cannot be parsed.
+     */
+    private PathTolerance pathTolerance() {
+        String text = getParameters().getNamed().get("tolerance");
+        if (text == null) {
+            return PathTolerance.exact();
+        }
+        try {
+            return PathTolerance.parse(text);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ignoring invalid tolerance: " + e.getMessage());
+            return PathTolerance.exact();
+        }
+    }
+
+    /**
+     * Draws a maze file for display, path pixels in the stored path color and walls in black.
+     *
+     * @param mazeFile The opened maze file.
+     * @return The rendered maze image.
+     */
+    private static Image renderMaze(MazeFile mazeFile) {
+        MazeSource grid = mazeFile.getMaze().getGrid();
+        int width = grid.getWidth();
+        WritableImage image = new WritableImage(width, grid.getHeight());
+        PixelWriter writer = image.getPixelWriter();
+        long[] row = new long[(width + 63) >>> 6];
+        int[] argb = new int[width];
+        for (int y = 0; y < grid.getHeight(); y++) {
+            grid.copyRow(y, row);
+            for (int x = 0; x < width; x++) {
+                argb[x] = (row[x >>> 6] & (1L << x)) != 0 ? mazeFile.getPathArgb() : 0xFF000000;
+            }
+            writer.setPixels(0, y, width, 1, PixelFormat.getIntArgbInstance(), argb, 0, width);
+        }
+        return image;
+    }
+
     public static void main(String[] args) {
         // Launch the JavaFX application
         launch(args);
@@ -0,0 +1,210 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A bit-packed map of the path pixels of a maze, kept in a memory-mapped file instead of the heap.
+ *
+ * <p>The bits are laid out exactly like those of {@link PassabilityGrid}: row by row, each row
+ * padded to whole little-endian 64-bit words. A single mapping is limited to 2 GiB, so the rows
+ * are split into bands of whole rows, each mapped on its own; the operating system pages the
+ * bands in and out as the solvers touch them, which keeps the heap small for any maze size.</p>
+ */
+public class MappedPassabilityGrid implements MazeSource {
+    /** The largest number of bytes mapped by a single band. */
+    private static final long MAX_BAND_BYTES = 1L << 30;
+
+    /** The width of the grid in pixels. */
+    private final int width;
+
+    /** The height of the grid in pixels. */
+    private final int height;
+
+    /** The number of 64-bit words used to store a single row. */
+    private final int wordsPerRow;
+
+    /** The number of rows in every band but possibly the last. */
+    private final int rowsPerBand;
+
+    /** The mapped bands of rows. */
+    private final MappedByteBuffer[] bands;
+
+    /**
+     * Maps a grid stored in a file.
+     *
+     * @param channel The open channel of the file; it can be closed once the grid is constructed.
+     * @param offset The position of the first row in the file.
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @param writable True to map the file for reading and writing, false to map it read-only.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public MappedPassabilityGrid(FileChannel channel, long offset, int width, int height, boolean writable) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive, got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        long rowBytes = (long) wordsPerRow * Long.BYTES;
+        this.rowsPerBand = (int) Math.max(1, Math.min(height, MAX_BAND_BYTES / rowBytes));
+        this.bands = new MappedByteBuffer[(height + rowsPerBand - 1) / rowsPerBand];
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        for (int band = 0; band < bands.length; band++) {
+            int rows = Math.min(rowsPerBand, height - band * rowsPerBand);
+            bands[band] = channel.map(mode, offset + band * rowsPerBand * rowBytes, rows * rowBytes);
+            bands[band].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Creates an empty grid, every pixel a wall, in a temporary file deleted when the JVM exits.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @return The grid.
+     * @throws IOException If the temporary file cannot be created or mapped.
+     */
+    public static MappedPassabilityGrid createTemporary(int width, int height) throws IOException {
+        Path file = Files.createTempFile("maze-", ".bits");
+        file.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new MappedPassabilityGrid(channel, 0, width, height, true);
+        }
+    }
+
+    /**
+     * Gets the band holding a row.
+     *
+     * @param y The y-coordinate of the row.
+     * @return The mapped band.
+     */
+    private MappedByteBuffer band(int y) {
+        return bands[y / rowsPerBand];
+    }
+
+    /**
+     * Gets the byte position of a word within its band.
+     *
+     * @param y The y-coordinate of the row.
+     * @param word The index of the word within the row.
+     * @return The byte position.
+     */
+    private int position(int y, int word) {
+        return ((y % rowsPerBand) * wordsPerRow + word) * Long.BYTES;
+    }
+
+    /**
+     * Checks if the pixel at the specified coordinates is part of the path.
+     *
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return True if the pixel is inside the grid and passable, false otherwise.
+     */
+    @Override
+    public boolean isPassable(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        return (band(y).getLong(position(y, x >>> 6)) & (1L << x)) != 0;
+    }
+
+    /**
+     * Copies the passability bits of a row.
+     *
+     * @param y The y-coordinate of the row.
+     * @param row The array to fill, at least {@code (width + 63) / 64} words long.
+     */
+    @Override
+    public void copyRow(int y, long[] row) {
+        MappedByteBuffer band = band(y);
+        int position = position(y, 0);
+        for (int word = 0; word < wordsPerRow; word++, position += Long.BYTES) {
+            row[word] = band.getLong(position);
+        }
+    }
+
+    /**
+     * Replaces a whole row of the grid.
+     *
+     * @param y The y-coordinate of the row.
+     * @param row The passability bits of the row; bits beyond the width of the grid must be clear.
+     */
+    @Override
+    public void setRow(int y, long[] row) {
+        MappedByteBuffer band = band(y);
+        int position = position(y, 0);
+        for (int word = 0; word < wordsPerRow; word++, position += Long.BYTES) {
+            band.putLong(position, row[word]);
+        }
+    }
+
+    /**
+     * Checks if a rectangle lies inside the grid and every pixel in it is passable.
+     * Each row of the rectangle is checked a 64-pixel word at a time.
+     *
+     * @param x The x-coordinate of the top-left corner of the rectangle.
+     * @param y The y-coordinate of the top-left corner of the rectangle.
+     * @param width The width of the rectangle in pixels.
+     * @param height The height of the rectangle in pixels.
+     * @return True if the whole rectangle is passable, false otherwise.
+     */
+    @Override
+    public boolean isAreaPassable(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || x + width > this.width || y + height > this.height) {
+            return false;
+        }
+        int end = x + width;
+        for (int row = y; row < y + height; row++) {
+            MappedByteBuffer band = band(row);
+            for (int word = x >>> 6; word <= (end - 1) >>> 6; word++) {
+                long mask = -1L;
+                if (word == x >>> 6) {
+                    mask &= -1L << x;
+                }
+                if (word == (end - 1) >>> 6) {
+                    mask &= -1L >>> (63 - ((end - 1) & 63));
+                }
+                if ((band.getLong(position(row, word)) & mask) != mask) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes any changed bits back to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer band : bands) {
+            band.force();
+        }
+    }
+
+    /**
+     * Gets the width of the grid.
+     *
+     * @return The width in pixels.
+     */
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the grid.
+     *
+     * @return The height in pixels.
+     */
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
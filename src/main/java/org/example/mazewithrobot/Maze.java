@@ -0,0 +1,308 @@
+package org.example.mazewithrobot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a decoded maze, independent of any user interface.
+ * This class holds the passability of the maze pixels, detects the openings on its borders,
+ * and answers the movement and exit checks used by the maze-solving algorithms.
+ */
+public class Maze {
+    /** The size of each step the robot takes. */
+    public static final int STEP_SIZE = 10;
+
+    /** The size of the robot in pixels. */
+    public static final int ROBOT_SIZE = 20;
+
+    /** The range within which the robot is considered to have reached the exit. */
+    static final int EXIT_RANGE = 35;
+
+    /** The largest maze, in pixels, for which a {@link ClearanceMap} is built; it takes 4 bytes per pixel. */
+    private static final long CLEARANCE_MAP_LIMIT = 1L << 24;
+
+    /** The width of the maze in pixels. */
+    private final int width;
+
+    /** The height of the maze in pixels. */
+    private final int height;
+
+    /** The passability of every maze pixel. */
+    private final MazeSource grid;
+
+    /**
+     * The wall counts used to check the robot's whole footprint in constant time,
+     * or null for large mazes, whose footprints are checked on the grid's bits directly.
+     */
+    private final ClearanceMap clearance;
+
+    /** The position the robot starts from. */
+    private final Point start;
+
+    /** All openings found on the borders of the maze. */
+    private final List<Point> openings;
+
+    /** The entrance of the maze, the opening closest to the start. */
+    private Point entrance;
+
+    /** The exit point of the maze, the opening furthest from the start. */
+    private Point exitPoint;
+
+    /** The lattice of positions reachable in whole steps from the start, built on first use. */
+    private Lattice lattice;
+
+    /** The corridor graph of the lattice, built on first use. */
+    private CorridorGraph corridorGraph;
+
+    /** The abstract cluster graph of the lattice for hierarchical pathfinding, built on first use. */
+    private ClusterGraph clusterGraph;
+
+    /**
+     * Constructs a new Maze and locates its entrance and exit.
+     *
+     * @param grid The passability of the maze pixels.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     */
+    public Maze(MazeSource grid, double startX, double startY) {
+        this(grid, startX, startY, OpeningDetector.findOpenings(grid));
+    }
+
+    /**
+     * Constructs a new Maze from openings that were detected earlier, such as ones read from a
+     * {@link SolutionCache}, so that the borders do not have to be scanned again.
+     *
+     * @param grid The passability of the maze pixels.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param openings The openings on the borders of the maze.
+     */
+    public Maze(MazeSource grid, double startX, double startY, List<Point> openings) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.clearance = (long) width * height <= CLEARANCE_MAP_LIMIT ? new ClearanceMap(grid) : null;
+        this.start = new Point(startX, startY);
+        this.openings = new ArrayList<>(openings);
+        findExit();
+    }
+
+    /**
+     * Builds a maze from packed ARGB pixels, using the color under the start position as the path color.
+     *
+     * @param argb The pixels of the maze, row by row, in ARGB format.
+     * @param width The width of the maze in pixels.
+     * @param height The height of the maze in pixels.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @return The decoded maze.
+     */
+    public static Maze fromArgb(int[] argb, int width, int height, double startX, double startY) {
+        return fromArgb(argb, width, height, startX, startY, PathTolerance.exact());
+    }
+
+    /**
+     * Builds a maze from packed ARGB pixels, accepting as path every pixel close enough to the color
+     * under the start position.
+     *
+     * @param argb The pixels of the maze, row by row, in ARGB format.
+     * @param width The width of the maze in pixels.
+     * @param height The height of the maze in pixels.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The decoded maze.
+     */
+    public static Maze fromArgb(int[] argb, int width, int height, double startX, double startY, PathTolerance tolerance) {
+        int pathArgb = argb[(int) startY * width + (int) startX];
+        return new Maze(PassabilityGrid.fromArgb(argb, width, height, pathArgb, tolerance), startX, startY);
+    }
+
+    /**
+     * Finds the exit point of the maze.
+     * This method determines the entrance (closest to the starting position)
+     * among the openings on the borders, and sets the exit point (furthest from the starting position).
+     */
+    private void findExit() {
+        if (openings.size() < 2) {
+            throw new IllegalStateException("Maze must have at least two openings, found: " + openings.size());
+        }
+
+        // Determine entrance and exit
+        List<Point> candidates = new ArrayList<>(openings);
+        entrance = findClosestPoint(start, candidates);
+        candidates.remove(entrance);
+        exitPoint = findFurthestPoint(start, candidates);
+    }
+
+    /**
+     * Finds the point closest to a reference point from a list of points.
+     *
+     * @param reference The reference point.
+     * @param points The list of points to search.
+     * @return The point closest to the reference point.
+     */
+    private static Point findClosestPoint(Point reference, List<Point> points) {
+        return points.stream()
+                .min(Comparator.comparingDouble(p -> distance(reference, p)))
+                .orElseThrow(() -> new IllegalStateException("No points to compare"));
+    }
+
+    /**
+     * Finds the point furthest from a reference point from a list of points.
+     *
+     * @param reference The reference point.
+     * @param points The list of points to search.
+     * @return The point furthest from the reference point.
+     */
+    private static Point findFurthestPoint(Point reference, List<Point> points) {
+        return points.stream()
+                .max(Comparator.comparingDouble(p -> distance(reference, p)))
+                .orElseThrow(() -> new IllegalStateException("No points to compare"));
+    }
+
+    /**
+     * Calculates the Euclidean distance between two points.
+     *
+     * @param p1 The first point.
+     * @param p2 The second point.
+     * @return The distance between the two points.
+     */
+    static double distance(Point p1, Point p2) {
+        return Math.sqrt(Math.pow(p1.x - p2.x, 2) + Math.pow(p1.y - p2.y, 2));
+    }
+
+    /**
+     * Checks if the robot can stand at the specified coordinates.
+     * The position is valid when every pixel covered by the robot is part of the path.
+     *
+     * @param newX The x-coordinate of the robot.
+     * @param newY The y-coordinate of the robot.
+     * @return True if the position is valid, false otherwise.
+     */
+    public boolean isValidMove(double newX, double newY) {
+        if (newX < 0 || newX > width - ROBOT_SIZE || newY < 0 || newY > height - ROBOT_SIZE) {
+            return false;
+        }
+        if (clearance == null) {
+            return grid.isAreaPassable((int) newX, (int) newY, ROBOT_SIZE + 1, ROBOT_SIZE + 1);
+        }
+        return clearance.isClear((int) newX, (int) newY, ROBOT_SIZE + 1, ROBOT_SIZE + 1);
+    }
+
+    /**
+     * Checks if a robot at the specified coordinates has reached the exit of the maze.
+     *
+     * @param x The x-coordinate of the robot.
+     * @param y The y-coordinate of the robot.
+     * @return True if the robot is within the exit range, false otherwise.
+     */
+    public boolean isAtExit(double x, double y) {
+        return Math.abs(x - exitPoint.x) < EXIT_RANGE && Math.abs(y - exitPoint.y) < EXIT_RANGE;
+    }
+
+    /**
+     * Gets the width of the maze.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the maze.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the passability of the maze pixels.
+     *
+     * @return The passability grid, on the heap or memory-mapped.
+     */
+    public MazeSource getGrid() {
+        return grid;
+    }
+
+    /**
+     * Gets the lattice of positions reachable in whole steps from the start.
+     * The lattice is built on first use and shared by every later caller.
+     *
+     * @return The lattice of the maze.
+     */
+    public synchronized Lattice getLattice() {
+        if (lattice == null) {
+            lattice = new Lattice(this);
+        }
+        return lattice;
+    }
+
+    /**
+     * Gets the corridor graph of the maze's lattice, with the start, entrance and goal kept as graph nodes.
+     * The graph is built on first use and shared by every later caller.
+     *
+     * @return The corridor graph of the maze.
+     */
+    public synchronized CorridorGraph getCorridorGraph() {
+        if (corridorGraph == null) {
+            Lattice steps = getLattice();
+            corridorGraph = new CorridorGraph(steps, steps.start(), steps.entrance(), steps.goal());
+        }
+        return corridorGraph;
+    }
+
+    /**
+     * Gets the abstract cluster graph of the maze's lattice, used for hierarchical pathfinding.
+     * The graph is built on first use and shared by every later query.
+     *
+     * @return The cluster graph of the maze.
+     */
+    public synchronized ClusterGraph getClusterGraph() {
+        if (clusterGraph == null) {
+            clusterGraph = new ClusterGraph(getLattice());
+        }
+        return clusterGraph;
+    }
+
+    /**
+     * Gets the position the robot starts from.
+     *
+     * @return The start point.
+     */
+    public Point getStart() {
+        return start;
+    }
+
+    /**
+     * Gets all openings found on the borders of the maze.
+     *
+     * @return An unmodifiable list of openings.
+     */
+    public List<Point> getOpenings() {
+        return Collections.unmodifiableList(openings);
+    }
+
+    /**
+     * Gets the entrance of the maze.
+     *
+     * @return The opening closest to the start.
+     */
+    public Point getEntrance() {
+        return entrance;
+    }
+
+    /**
+     * Gets the exit point of the maze.
+     *
+     * @return The opening furthest from the start.
+     */
+    public Point getExitPoint() {
+        return exitPoint;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point that converts maze images to preprocessed {@link MazeFile}s.
+ * Each converted maze is reported as one line of tab-separated values.
+ *
+ * <p>Usage: {@code MazeConverter [--start x,y] [--tolerance exact|argb:N|luma:N] [--out dir] maze.png...}</p>
+ *
+ * <p>Every image is written next to itself, or into {@code dir} with {@code --out}, with its
+ * extension replaced by {@code .mwrg}. The converted files can be passed to {@link HeadlessSolver}
+ * and to the JavaFX application in place of the images, and load with a mapping and a header parse.</p>
+ */
+public final class MazeConverter {
+    /** The default x-coordinate the robot starts from, matching the JavaFX application. */
+    private static final double DEFAULT_START_X = 10;
+
+    /** The default y-coordinate the robot starts from, matching the JavaFX application. */
+    private static final double DEFAULT_START_Y = 260;
+
+    /**
+     * Prevents instantiation of this entry point class.
+     */
+    private MazeConverter() {
+    }
+
+    /**
+     * Converts every maze image given on the command line.
+     *
+     * @param args The optional start position, tolerance and output directory, followed by the maze image paths.
+     */
+    public static void main(String[] args) {
+        double startX = DEFAULT_START_X;
+        double startY = DEFAULT_START_Y;
+        PathTolerance tolerance = PathTolerance.exact();
+        Path outputDirectory = null;
+        int first = 0;
+        while (first + 1 < args.length && args[first].startsWith("--")) {
+            switch (args[first]) {
+                case "--start" -> {
+                    String[] coordinates = args[first + 1].split(",");
+                    startX = Double.parseDouble(coordinates[0].trim());
+                    startY = Double.parseDouble(coordinates[1].trim());
+                }
+                case "--tolerance" -> tolerance = PathTolerance.parse(args[first + 1]);
+                case "--out" -> outputDirectory = Path.of(args[first + 1]);
+                default -> usage();
+            }
+            first += 2;
+        }
+        if (first >= args.length) {
+            usage();
+        }
+
+        System.out.println("maze\toutput\twidth\theight\topenings\tconvert_ms");
+        boolean allConverted = true;
+        for (int i = first; i < args.length; i++) {
+            allConverted &= convert(Path.of(args[i]), startX, startY, tolerance, outputDirectory);
+        }
+        if (!allConverted) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the command-line usage and exits.
+     */
+    private static void usage() {
+        System.err.println("Usage: MazeConverter [--start x,y] [--tolerance exact|argb:N|luma:N] [--out dir] maze.png...");
+        System.exit(2);
+    }
+
+    /**
+     * Converts a single maze image, printing its result line.
+     *
+     * @param file The maze image to convert.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @param outputDirectory The directory to write to, or null to write next to the image.
+     * @return True if the maze was converted, false otherwise.
+     */
+    private static boolean convert(Path file, double startX, double startY, PathTolerance tolerance, Path outputDirectory) {
+        try {
+            long start = System.nanoTime();
+            Maze maze = MazeLoader.load(file, startX, startY, tolerance);
+            int pathArgb = MazeLoader.pathColor(file, startX, startY);
+            String name = file.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            name = (dot > 0 ? name.substring(0, dot) : name) + ".mwrg";
+            Path output = outputDirectory != null ? outputDirectory.resolve(name) : file.resolveSibling(name);
+            MazeFile.write(output, maze, pathArgb);
+            System.out.printf("%s\t%s\t%d\t%d\t%d\t%.3f%n", file, output, maze.getWidth(), maze.getHeight(),
+                    maze.getOpenings().size(), (System.nanoTime() - start) / 1e6);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.out.printf("%s\t-\t-\t-\t-\t-\t# %s%n", file, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package org.example.mazewithrobot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A preprocessed maze, stored so that it can be reopened with a memory mapping instead of decoding an image.
+ *
+ * <p>All values are little-endian. The file layout is:</p>
+ * <ul>
+ *     <li>the magic bytes {@code MWRG}, a format version byte and three reserved zero bytes;</li>
+ *     <li>the width, height, start x, start y, path color (ARGB) and number of openings, as ints;</li>
+ *     <li>the 32-byte content hash of the grid, see {@link MazeSource#contentHash()};</li>
+ *     <li>the x and y of every opening, as ints;</li>
+ *     <li>the passability grid, laid out exactly like {@link MappedPassabilityGrid} and therefore
+ *         mapped in place, without copying.</li>
+ * </ul>
+ * <p>Opening a maze reads only the header and the openings; the grid pages in as the solvers touch it.
+ * {@link #readHeader(Path)} reads the header alone, for callers that only need the stored start,
+ * path color or content hash.</p>
+ */
+public class MazeFile {
+    /** The magic bytes every maze file starts with. */
+    private static final byte[] MAGIC = {'M', 'W', 'R', 'G'};
+
+    /** The version of the format written by this class. */
+    private static final int VERSION = 1;
+
+    /** The size of the fixed part of the header, in bytes. */
+    private static final int HEADER_BYTES = 64;
+
+    /** The length of the content hash, in bytes. */
+    private static final int HASH_BYTES = 32;
+
+    /** The x-coordinate the robot starts from. */
+    private final int startX;
+
+    /** The y-coordinate the robot starts from. */
+    private final int startY;
+
+    /** The ARGB color of the path pixels in the original image. */
+    private final int pathArgb;
+
+    /** The content hash of the grid, as stored in the header. */
+    private final byte[] contentHash;
+
+    /** The maze, backed by the mapped grid. */
+    private final Maze maze;
+
+    /**
+     * Constructs a maze file from its parsed header and mapped grid.
+     *
+     * @param grid The mapped passability grid.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param pathArgb The ARGB color of the path pixels.
+     * @param contentHash The content hash of the grid.
+     * @param openings The openings on the border of the maze.
+     */
+    private MazeFile(MazeSource grid, int startX, int startY, int pathArgb, byte[] contentHash, List<Point> openings) {
+        this.startX = startX;
+        this.startY = startY;
+        this.pathArgb = pathArgb;
+        this.contentHash = contentHash;
+        this.maze = new Maze(grid, startX, startY, openings);
+    }
+
+    /**
+     * Opens a maze file, mapping its grid read-only.
+     *
+     * @param file The maze file to open.
+     * @return The opened maze file.
+     * @throws IOException If the file cannot be read or is not a valid maze file.
+     */
+    public static MazeFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, file);
+            int width = header.width;
+            int height = header.height;
+            int openingCount = header.openingCount;
+
+            ByteBuffer openingBytes = ByteBuffer.allocate(openingCount * 8).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, openingBytes, HEADER_BYTES);
+            List<Point> openings = new ArrayList<>(openingCount);
+            for (int i = 0; i < openingCount; i++) {
+                openings.add(new Point(openingBytes.getInt(), openingBytes.getInt()));
+            }
+
+            // The grid follows the openings, already aligned to whole words
+            long gridOffset = HEADER_BYTES + openingCount * 8L;
+            long gridBytes = (long) ((width + 63) >>> 6) * Long.BYTES * height;
+            if (channel.size() != gridOffset + gridBytes) {
+                throw new IOException("Truncated maze file: " + file);
+            }
+            MappedPassabilityGrid grid = new MappedPassabilityGrid(channel, gridOffset, width, height, false);
+            return new MazeFile(grid, header.startX, header.startY, header.pathArgb, header.contentHash, openings);
+        }
+    }
+
+    /**
+     * Reads only the header of a maze file, without mapping the grid or reading the openings.
+     *
+     * @param file The maze file to read.
+     * @return The parsed header.
+     * @throws IOException If the file cannot be read or does not start with a valid header.
+     */
+    public static Header readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(channel, file);
+        }
+    }
+
+    /**
+     * Reads and checks the fixed-size header at the start of a maze file.
+     *
+     * @param channel The channel of the file.
+     * @param file The path of the file, for error messages.
+     * @return The parsed header.
+     * @throws IOException If the file ends early or the header is not valid.
+     */
+    private static Header readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header, 0);
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a maze file: " + file);
+        }
+        int version = header.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported maze file version: " + version);
+        }
+        header.position(8);
+        int width = header.getInt();
+        int height = header.getInt();
+        int startX = header.getInt();
+        int startY = header.getInt();
+        int pathArgb = header.getInt();
+        int openingCount = header.getInt();
+        byte[] contentHash = new byte[HASH_BYTES];
+        header.get(contentHash);
+        if (width <= 0 || height <= 0 || openingCount < 0 || openingCount > 2 * (width + height)) {
+            throw new IOException("Corrupt maze file header: " + file);
+        }
+        return new Header(width, height, startX, startY, pathArgb, openingCount, contentHash);
+    }
+
+    /**
+     * Fills a buffer from a position in a file.
+     *
+     * @param channel The channel to read from.
+     * @param buffer The buffer to fill; it is flipped for reading afterwards.
+     * @param position The file position to start reading at.
+     * @throws IOException If the file ends before the buffer is full.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated maze file");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Writes a maze to a file, replacing it atomically if it already exists.
+     *
+     * @param file The file to write.
+     * @param maze The maze to store.
+     * @param pathArgb The ARGB color of the path pixels in the original image.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Maze maze, int pathArgb) throws IOException {
+        MazeSource grid = maze.getGrid();
+        List<Point> openings = maze.getOpenings();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC).put((byte) VERSION).put(new byte[3]);
+        buffer.putInt(grid.getWidth()).putInt(grid.getHeight());
+        buffer.putInt((int) maze.getStart().getX()).putInt((int) maze.getStart().getY());
+        buffer.putInt(pathArgb).putInt(openings.size());
+        buffer.put(grid.contentHash());
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Point opening : openings) {
+                flushIfFull(channel, buffer, 8);
+                buffer.putInt((int) opening.getX()).putInt((int) opening.getY());
+            }
+            long[] row = new long[(grid.getWidth() + 63) >>> 6];
+            for (int y = 0; y < grid.getHeight(); y++) {
+                grid.copyRow(y, row);
+                for (long word : row) {
+                    flushIfFull(channel, buffer, Long.BYTES);
+                    buffer.putLong(word);
+                }
+            }
+            flushIfFull(channel, buffer, buffer.capacity());
+            channel.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes out the buffered bytes when fewer than the needed number of bytes are left in the buffer.
+     *
+     * @param channel The channel to write to.
+     * @param buffer The buffer being filled.
+     * @param needed The number of bytes about to be put into the buffer.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() < needed) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Gets the maze, backed by the mapped grid.
+     *
+     * @return The maze.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Gets the x-coordinate the robot starts from.
+     *
+     * @return The start x-coordinate.
+     */
+    public int getStartX() {
+        return startX;
+    }
+
+    /**
+     * Gets the y-coordinate the robot starts from.
+     *
+     * @return The start y-coordinate.
+     */
+    public int getStartY() {
+        return startY;
+    }
+
+    /**
+     * Gets the color of the path pixels in the original image.
+     *
+     * @return The ARGB path color.
+     */
+    public int getPathArgb() {
+        return pathArgb;
+    }
+
+    /**
+     * Gets the content hash of the grid stored in the header, so it need not be recomputed.
+     *
+     * @return A copy of the 32-byte content hash.
+     */
+    public byte[] getContentHash() {
+        return contentHash.clone();
+    }
+
+    /**
+     * The fixed-size header of a maze file.
+     */
+    public static class Header {
+        /** The width of the maze in pixels. */
+        private final int width;
+
+        /** The height of the maze in pixels. */
+        private final int height;
+
+        /** The x-coordinate the robot starts from. */
+        private final int startX;
+
+        /** The y-coordinate the robot starts from. */
+        private final int startY;
+
+        /** The ARGB color of the path pixels in the original image. */
+        private final int pathArgb;
+
+        /** The number of openings stored after the header. */
+        private final int openingCount;
+
+        /** The content hash of the grid. */
+        private final byte[] contentHash;
+
+        /**
+         * Constructs a parsed header.
+         *
+         * @param width The width of the maze in pixels.
+         * @param height The height of the maze in pixels.
+         * @param startX The x-coordinate the robot starts from.
+         * @param startY The y-coordinate the robot starts from.
+         * @param pathArgb The ARGB color of the path pixels.
+         * @param openingCount The number of openings stored after the header.
+         * @param contentHash The content hash of the grid.
+         */
+        private Header(int width, int height, int startX, int startY, int pathArgb, int openingCount, byte[] contentHash) {
+            this.width = width;
+            this.height = height;
+            this.startX = startX;
+            this.startY = startY;
+            this.pathArgb = pathArgb;
+            this.openingCount = openingCount;
+            this.contentHash = contentHash;
+        }
+
+        /**
+         * Gets the width of the maze.
+         *
+         * @return The width in pixels.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the height of the maze.
+         *
+         * @return The height in pixels.
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Gets the x-coordinate the robot starts from.
+         *
+         * @return The start x-coordinate.
+         */
+        public int getStartX() {
+            return startX;
+        }
+
+        /**
+         * Gets the y-coordinate the robot starts from.
+         *
+         * @return The start y-coordinate.
+         */
+        public int getStartY() {
+            return startY;
+        }
+
+        /**
+         * Gets the color of the path pixels in the original image.
+         *
+         * @return The ARGB path color.
+         */
+        public int getPathArgb() {
+            return pathArgb;
+        }
+
+        /**
+         * Gets the content hash of the grid.
+         *
+         * @return A copy of the 32-byte content hash.
+         */
+        public byte[] getContentHash() {
+            return contentHash.clone();
+        }
+    }
+}
@@ -0,0 +1,675 @@
+package org.example.mazewithrobot;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates perfect and braided mazes deterministically from a seed.
+ *
+ * <p>A maze is a grid of cells laid out on a {@link #PITCH}-pixel pitch: corridors are
+ * {@link #CORRIDOR} pixels wide, wide enough for the robot, and walls are {@link #WALL} pixels
+ * thick. The path is white and the walls black, matching the path color the robot samples at its
+ * start. The entrance is on the left border of the top-left cell and the exit on the right border
+ * of the bottom-right cell; the robot starts at ({@link #START_X}, {@link #START_Y}).</p>
+ *
+ * <p>Mazes are written either into an in-memory {@link PassabilityGrid} or to a PNG file. With
+ * {@link Algorithm#ELLER}, rows are generated and written one at a time, so PNG files far larger
+ * than the heap can be produced.</p>
+ *
+ * <p>Usage: {@code MazeGenerator algorithm columns rows seed out.png}</p>
+ */
+public class MazeGenerator {
+    /** The thickness of a wall in pixels. */
+    public static final int WALL = 10;
+
+    /** The width of a corridor in pixels. */
+    public static final int CORRIDOR = 30;
+
+    /** The distance between the corridors of two neighboring cells in pixels. */
+    public static final int PITCH = CORRIDOR + WALL;
+
+    /** The x-coordinate the robot starts from, inside the entrance. */
+    public static final double START_X = 0;
+
+    /** The y-coordinate the robot starts from, inside the entrance. */
+    public static final double START_Y = WALL;
+
+    /** The share of dead ends removed by default when braiding a maze. */
+    private static final double DEFAULT_BRAID_PROBABILITY = 0.5;
+
+    /**
+     * The maze generation algorithms.
+     */
+    public enum Algorithm {
+        /** Depth-first carving; long winding corridors with few branches. */
+        RECURSIVE_BACKTRACKER,
+        /** Randomized Kruskal's algorithm; many short dead ends. */
+        KRUSKAL,
+        /** Randomized Prim's algorithm; branches radiating from the first cell. */
+        PRIM,
+        /** Eller's algorithm, generating one row at a time in memory proportional to the width. */
+        ELLER,
+        /** A recursive backtracker maze with dead ends removed, which adds loops. */
+        BRAIDED
+    }
+
+    /**
+     * Receives the walls of a maze one row of cells at a time.
+     */
+    private interface CellRowSink {
+        /**
+         * Accepts the next row of cells.
+         *
+         * @param east One bit per cell, set when the cell is open towards its east neighbor.
+         * @param south One bit per cell, set when the cell is open towards its south neighbor.
+         */
+        void acceptRow(long[] east, long[] south);
+    }
+
+    /**
+     * Receives the pixels of a maze one row at a time.
+     */
+    private interface PixelRowSink {
+        /**
+         * Accepts the next row of pixels.
+         *
+         * @param y The y-coordinate of the row.
+         * @param row The passability bits of the row, one per pixel, least significant bit first.
+         */
+        void acceptRow(int y, long[] row);
+    }
+
+    /** The number of cell columns. */
+    private final int columns;
+
+    /** The number of cell rows. */
+    private final int rows;
+
+    /** The seed all random choices derive from. */
+    private final long seed;
+
+    /** The probability that a dead end is removed when braiding. */
+    private final double braidProbability;
+
+    /**
+     * Constructs a generator with the default braiding probability.
+     *
+     * @param columns The number of cell columns.
+     * @param rows The number of cell rows.
+     * @param seed The seed all random choices derive from.
+     */
+    public MazeGenerator(int columns, int rows, long seed) {
+        this(columns, rows, seed, DEFAULT_BRAID_PROBABILITY);
+    }
+
+    /**
+     * Constructs a generator.
+     *
+     * @param columns The number of cell columns.
+     * @param rows The number of cell rows.
+     * @param seed The seed all random choices derive from.
+     * @param braidProbability The probability, from 0 to 1, that a dead end is removed when braiding.
+     */
+    public MazeGenerator(int columns, int rows, long seed, double braidProbability) {
+        if (columns < 1 || rows < 1) {
+            throw new IllegalArgumentException("A maze needs at least one cell, got " + columns + "x" + rows);
+        }
+        if ((long) columns * PITCH + WALL > Integer.MAX_VALUE || (long) rows * PITCH + WALL > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze of " + columns + "x" + rows + " cells is too large");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.seed = seed;
+        this.braidProbability = braidProbability;
+    }
+
+    /**
+     * Gets the width of the generated image.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return columns * PITCH + WALL;
+    }
+
+    /**
+     * Gets the height of the generated image.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return rows * PITCH + WALL;
+    }
+
+    /**
+     * Generates a maze into an in-memory passability grid.
+     *
+     * @param algorithm The generation algorithm.
+     * @return The passability grid of the maze.
+     */
+    public PassabilityGrid generateGrid(Algorithm algorithm) {
+        PassabilityGrid grid = new PassabilityGrid(getWidth(), getHeight());
+        generate(algorithm, grid::setRow);
+        return grid;
+    }
+
+    /**
+     * Generates a maze and decodes it, ready to be solved.
+     *
+     * @param algorithm The generation algorithm.
+     * @return The maze, with its entrance and exit located.
+     */
+    public Maze generateMaze(Algorithm algorithm) {
+        return new Maze(generateGrid(algorithm), START_X, START_Y);
+    }
+
+    /**
+     * Generates a maze and writes it to a PNG file.
+     *
+     * @param algorithm The generation algorithm.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writePng(Algorithm algorithm, Path file) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+             PngWriter writer = new PngWriter(output, getWidth(), getHeight())) {
+            generate(algorithm, (y, row) -> {
+                try {
+                    writer.writeRow(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Generates a maze and sends its pixels, row by row, to a sink.
+     *
+     * @param algorithm The generation algorithm.
+     * @param pixels The sink receiving the pixel rows.
+     */
+    private void generate(Algorithm algorithm, PixelRowSink pixels) {
+        CellRowSink cells = rasterizer(pixels);
+        if (algorithm == Algorithm.ELLER) {
+            eller(cells);
+            return;
+        }
+        long[] east = new long[bitWords((long) columns * rows)];
+        long[] south = new long[bitWords((long) columns * rows)];
+        switch (algorithm) {
+            case RECURSIVE_BACKTRACKER -> recursiveBacktracker(east, south);
+            case KRUSKAL -> kruskal(east, south);
+            case PRIM -> prim(east, south);
+            case BRAIDED -> {
+                recursiveBacktracker(east, south);
+                braid(east, south);
+            }
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+        // Emit the stored walls one row of cells at a time
+        long[] eastRow = new long[bitWords(columns)];
+        long[] southRow = new long[bitWords(columns)];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                setBit(eastRow, column, getBit(east, cell));
+                setBit(southRow, column, getBit(south, cell));
+            }
+            cells.acceptRow(eastRow, southRow);
+        }
+    }
+
+    /**
+     * Carves a maze with a randomized depth-first search from the top-left cell.
+     *
+     * @param east The east openings of every cell, updated in place.
+     * @param south The south openings of every cell, updated in place.
+     */
+    private void recursiveBacktracker(long[] east, long[] south) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] visited = new long[bitWords((long) columns * rows)];
+        IntStack stack = new IntStack(1024);
+        int[] candidates = new int[4];
+        stack.push(0);
+        setBit(visited, 0, true);
+        while (!stack.isEmpty()) {
+            int cell = stack.peek();
+            int count = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbor = neighbor(cell, direction);
+                if (neighbor >= 0 && !getBit(visited, neighbor)) {
+                    candidates[count++] = direction;
+                }
+            }
+            if (count == 0) {
+                stack.pop();
+                continue;
+            }
+            int direction = candidates[random.nextInt(count)];
+            int next = neighbor(cell, direction);
+            open(east, south, cell, direction);
+            setBit(visited, next, true);
+            stack.push(next);
+        }
+    }
+
+    /**
+     * Builds a maze with randomized Kruskal's algorithm: walls are removed in random order
+     * whenever they separate two cells that are not yet connected.
+     *
+     * @param east The east openings of every cell, updated in place.
+     * @param south The south openings of every cell, updated in place.
+     */
+    private void kruskal(long[] east, long[] south) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int cells = columns * rows;
+        // Wall ids: 2 * cell for the east wall, 2 * cell + 1 for the south wall
+        int[] walls = new int[Math.multiplyExact(2, cells) - rows - columns];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell % columns < columns - 1) {
+                walls[count++] = 2 * cell;
+            }
+            if (cell / columns < rows - 1) {
+                walls[count++] = 2 * cell + 1;
+            }
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = walls[i];
+            walls[i] = walls[j];
+            walls[j] = swap;
+        }
+        int[] parent = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            parent[cell] = cell;
+        }
+        for (int i = 0; i < count; i++) {
+            int cell = walls[i] >>> 1;
+            int direction = (walls[i] & 1) == 0 ? 1 : 2;
+            int rootA = find(parent, cell);
+            int rootB = find(parent, neighbor(cell, direction));
+            if (rootA != rootB) {
+                parent[rootA] = rootB;
+                open(east, south, cell, direction);
+            }
+        }
+    }
+
+    /**
+     * Builds a maze with randomized Prim's algorithm: the maze grows from the top-left cell by
+     * repeatedly joining a random frontier cell to a random neighbor already in the maze.
+     *
+     * @param east The east openings of every cell, updated in place.
+     * @param south The south openings of every cell, updated in place.
+     */
+    private void prim(long[] east, long[] south) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] inMaze = new long[bitWords((long) columns * rows)];
+        long[] inFrontier = new long[bitWords((long) columns * rows)];
+        int[] frontier = new int[columns * rows];
+        int[] candidates = new int[4];
+        int frontierSize = addToMaze(0, inMaze, inFrontier, frontier, 0);
+        while (frontierSize > 0) {
+            // Take a random frontier cell, moving the last one into its place
+            int pick = random.nextInt(frontierSize);
+            int cell = frontier[pick];
+            frontier[pick] = frontier[--frontierSize];
+
+            int count = 0;
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbor = neighbor(cell, direction);
+                if (neighbor >= 0 && getBit(inMaze, neighbor)) {
+                    candidates[count++] = direction;
+                }
+            }
+            open(east, south, cell, candidates[random.nextInt(count)]);
+            frontierSize = addToMaze(cell, inMaze, inFrontier, frontier, frontierSize);
+        }
+    }
+
+    /**
+     * Adds a cell to the growing maze and its unreached neighbors to the frontier.
+     *
+     * @param cell The cell to add.
+     * @param inMaze The cells already in the maze.
+     * @param inFrontier The cells already on the frontier.
+     * @param frontier The frontier cells.
+     * @param frontierSize The number of frontier cells.
+     * @return The number of frontier cells after the neighbors were added.
+     */
+    private int addToMaze(int cell, long[] inMaze, long[] inFrontier, int[] frontier, int frontierSize) {
+        setBit(inMaze, cell, true);
+        for (int direction = 0; direction < 4; direction++) {
+            int neighbor = neighbor(cell, direction);
+            if (neighbor >= 0 && !getBit(inMaze, neighbor) && !getBit(inFrontier, neighbor)) {
+                setBit(inFrontier, neighbor, true);
+                frontier[frontierSize++] = neighbor;
+            }
+        }
+        return frontierSize;
+    }
+
+    /**
+     * Removes dead ends from a perfect maze, turning it into a maze with loops.
+     * Each dead end is removed with the braiding probability by opening one of its closed walls,
+     * preferring a wall towards another dead end.
+     *
+     * @param east The east openings of every cell, updated in place.
+     * @param south The south openings of every cell, updated in place.
+     */
+    private void braid(long[] east, long[] south) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        int[] candidates = new int[4];
+        for (int cell = 0; cell < columns * rows; cell++) {
+            if (degree(east, south, cell) != 1 || random.nextDouble() >= braidProbability) {
+                continue;
+            }
+            int count = 0;
+            int preferred = -1;
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbor = neighbor(cell, direction);
+                if (neighbor >= 0 && !isOpen(east, south, cell, direction)) {
+                    candidates[count++] = direction;
+                    if (degree(east, south, neighbor) == 1) {
+                        preferred = direction;
+                    }
+                }
+            }
+            if (count > 0) {
+                open(east, south, cell, preferred >= 0 ? preferred : candidates[random.nextInt(count)]);
+            }
+        }
+    }
+
+    /**
+     * Generates a maze with Eller's algorithm, keeping only the sets of the current row in memory.
+     * Adjacent cells in different sets are randomly joined, then every set continues downwards
+     * through at least one cell; the last row joins all remaining sets.
+     *
+     * @param cells The sink receiving each row of cells as soon as it is complete.
+     */
+    private void eller(CellRowSink cells) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] set = new int[columns];
+        int[] parent = new int[columns];
+        int[] chosen = new int[columns];
+        int[] members = new int[columns];
+        int[] relabel = new int[columns];
+        long[] eastRow = new long[bitWords(columns)];
+        long[] southRow = new long[bitWords(columns)];
+        for (int column = 0; column < columns; column++) {
+            set[column] = column;
+        }
+
+        for (int row = 0; row < rows; row++) {
+            boolean lastRow = row == rows - 1;
+            Arrays.fill(eastRow, 0);
+            Arrays.fill(southRow, 0);
+            // Set labels are always 0..columns-1, so they index the union-find arrays directly
+            for (int label = 0; label < columns; label++) {
+                parent[label] = label;
+            }
+
+            // Join neighbors in different sets, always on the last row
+            for (int column = 0; column < columns - 1; column++) {
+                int rootA = find(parent, set[column]);
+                int rootB = find(parent, set[column + 1]);
+                if (rootA != rootB && (lastRow || random.nextBoolean())) {
+                    parent[rootB] = rootA;
+                    setBit(eastRow, column, true);
+                }
+            }
+
+            if (!lastRow) {
+                // Pick one random cell per set (reservoir sampling) that must continue downwards
+                Arrays.fill(members, 0);
+                for (int column = 0; column < columns; column++) {
+                    int root = find(parent, set[column]);
+                    members[root]++;
+                    if (random.nextInt(members[root]) == 0) {
+                        chosen[root] = column;
+                    }
+                }
+                for (int column = 0; column < columns; column++) {
+                    int root = find(parent, set[column]);
+                    if (chosen[root] == column || random.nextBoolean()) {
+                        setBit(southRow, column, true);
+                    }
+                }
+
+                // Cells that continue downwards keep their set; the others start new sets
+                Arrays.fill(relabel, -1);
+                int nextLabel = 0;
+                int[] nextSet = members;
+                for (int column = 0; column < columns; column++) {
+                    if (getBit(southRow, column)) {
+                        int root = find(parent, set[column]);
+                        if (relabel[root] < 0) {
+                            relabel[root] = nextLabel++;
+                        }
+                        nextSet[column] = relabel[root];
+                    } else {
+                        nextSet[column] = -1;
+                    }
+                }
+                for (int column = 0; column < columns; column++) {
+                    set[column] = nextSet[column] >= 0 ? nextSet[column] : nextLabel++;
+                }
+            }
+            cells.acceptRow(eastRow, southRow);
+        }
+    }
+
+    /**
+     * Creates a sink that draws rows of cells as rows of pixels.
+     * Each row of cells becomes a band of wall pixels above it, opened under the south openings
+     * of the previous row, followed by a band of corridor pixels; a final wall band closes the maze.
+     *
+     * @param pixels The sink receiving the pixel rows.
+     * @return The sink accepting rows of cells.
+     */
+    private CellRowSink rasterizer(PixelRowSink pixels) {
+        int width = getWidth();
+        long[] wallRow = new long[bitWords(width)];
+        long[] corridorRow = new long[bitWords(width)];
+        long[] previousSouth = new long[bitWords(columns)];
+        int[] cellRow = {0};
+        return (east, south) -> {
+            int row = cellRow[0]++;
+            Arrays.fill(wallRow, 0);
+            Arrays.fill(corridorRow, 0);
+            for (int column = 0; column < columns; column++) {
+                int left = WALL + column * PITCH;
+                if (getBit(previousSouth, column)) {
+                    setRange(wallRow, left, left + CORRIDOR);
+                }
+                setRange(corridorRow, left, left + (getBit(east, column) ? PITCH : CORRIDOR));
+            }
+            if (row == 0) {
+                setRange(corridorRow, 0, WALL); // Entrance
+            }
+            if (row == rows - 1) {
+                setRange(corridorRow, width - WALL, width); // Exit
+            }
+
+            int top = row * PITCH;
+            for (int y = 0; y < WALL; y++) {
+                pixels.acceptRow(top + y, wallRow);
+            }
+            for (int y = WALL; y < PITCH; y++) {
+                pixels.acceptRow(top + y, corridorRow);
+            }
+            System.arraycopy(south, 0, previousSouth, 0, previousSouth.length);
+
+            if (row == rows - 1) {
+                Arrays.fill(wallRow, 0);
+                for (int y = 0; y < WALL; y++) {
+                    pixels.acceptRow(rows * PITCH + y, wallRow);
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the neighbor of a cell in a direction.
+     *
+     * @param cell The cell id.
+     * @param direction The index of the direction in {@link Lattice#DIRECTIONS}.
+     * @return The id of the neighbor, or -1 if it is outside the maze.
+     */
+    private int neighbor(int cell, int direction) {
+        int column = cell % columns + Lattice.DIRECTIONS[direction][0];
+        int row = cell / columns + Lattice.DIRECTIONS[direction][1];
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Opens the wall between a cell and its neighbor in a direction.
+     *
+     * @param east The east openings of every cell.
+     * @param south The south openings of every cell.
+     * @param cell The cell id.
+     * @param direction The index of the direction in {@link Lattice#DIRECTIONS}.
+     */
+    private void open(long[] east, long[] south, int cell, int direction) {
+        switch (direction) {
+            case 0 -> setBit(south, cell - columns, true);
+            case 1 -> setBit(east, cell, true);
+            case 2 -> setBit(south, cell, true);
+            default -> setBit(east, cell - 1, true);
+        }
+    }
+
+    /**
+     * Checks if the wall between a cell and its neighbor in a direction is open.
+     *
+     * @param east The east openings of every cell.
+     * @param south The south openings of every cell.
+     * @param cell The cell id.
+     * @param direction The index of the direction in {@link Lattice#DIRECTIONS}.
+     * @return True if the wall is open, false otherwise.
+     */
+    private boolean isOpen(long[] east, long[] south, int cell, int direction) {
+        return switch (direction) {
+            case 0 -> getBit(south, cell - columns);
+            case 1 -> getBit(east, cell);
+            case 2 -> getBit(south, cell);
+            default -> getBit(east, cell - 1);
+        };
+    }
+
+    /**
+     * Counts the open walls of a cell.
+     *
+     * @param east The east openings of every cell.
+     * @param south The south openings of every cell.
+     * @param cell The cell id.
+     * @return The number of neighbors the cell is connected to.
+     */
+    private int degree(long[] east, long[] south, int cell) {
+        int degree = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            if (neighbor(cell, direction) >= 0 && isOpen(east, south, cell, direction)) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Finds the root of an element in a union-find forest, halving the path as it goes.
+     *
+     * @param parent The parent of every element.
+     * @param element The element to look up.
+     * @return The root of the element's set.
+     */
+    private static int find(int[] parent, int element) {
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Gets the number of words needed to store a number of bits.
+     *
+     * @param bits The number of bits.
+     * @return The number of 64-bit words.
+     */
+    private static int bitWords(long bits) {
+        return Math.toIntExact((bits + 63) >>> 6);
+    }
+
+    /**
+     * Reads a bit of a bitset.
+     *
+     * @param bits The bitset.
+     * @param index The index of the bit.
+     * @return True if the bit is set, false otherwise.
+     */
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets or clears a bit of a bitset.
+     *
+     * @param bits The bitset.
+     * @param index The index of the bit.
+     * @param value True to set the bit, false to clear it.
+     */
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Sets a range of bits of a bitset.
+     *
+     * @param bits The bitset.
+     * @param from The index of the first bit to set.
+     * @param to The index after the last bit to set.
+     */
+    private static void setRange(long[] bits, int from, int to) {
+        for (int i = from; i < to; i++) {
+            bits[i >>> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Generates a maze from the command line and writes it to a PNG file.
+     *
+     * @param args The algorithm, the number of columns and rows, the seed and the output file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: MazeGenerator recursive_backtracker|kruskal|prim|eller|braided columns rows seed out.png");
+            System.exit(2);
+        }
+        Algorithm algorithm = Algorithm.valueOf(args[0].toUpperCase(Locale.ROOT));
+        MazeGenerator generator = new MazeGenerator(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                Long.parseLong(args[3]));
+        generator.writePng(algorithm, Path.of(args[4]));
+        System.out.println("Wrote " + generator.getWidth() + "x" + generator.getHeight() + " " + algorithm
+                + " maze to " + args[4]);
+    }
+}
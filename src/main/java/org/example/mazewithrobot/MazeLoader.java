@@ -0,0 +1,259 @@
+package org.example.mazewithrobot;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Loads maze images from disk without the JavaFX toolkit.
+ * PNG files are streamed row by row with {@link PngReader}, straight into a heap grid or, when
+ * the maze would not comfortably fit in the heap, a {@link MappedPassabilityGrid}; other formats
+ * are decoded with {@link ImageIO} and converted one bulk pixel read per row. Preprocessed
+ * {@link MazeFile}s are recognized by their magic bytes and simply mapped.
+ */
+public final class MazeLoader {
+
+    /** The fraction of the maximum heap size a heap grid may take before a mapped grid is used. */
+    private static final int HEAP_FRACTION = 4;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MazeLoader() {
+    }
+
+    /**
+     * Loads a maze image and locates its entrance and exit.
+     *
+     * @param file The image file to load.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @return The decoded maze.
+     * @throws IOException If the file cannot be read or is not a supported image.
+     */
+    public static Maze load(Path file, double startX, double startY) throws IOException {
+        return load(file, startX, startY, PathTolerance.exact());
+    }
+
+    /**
+     * Loads a maze image, classifying its pixels with a color tolerance, and locates its entrance and exit.
+     *
+     * @param file The image file to load.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The decoded maze.
+     * @throws IOException If the file cannot be read or is not a supported image.
+     */
+    public static Maze load(Path file, double startX, double startY, PathTolerance tolerance) throws IOException {
+        byte[] header = readHeader(file);
+        if (isMazeFile(header)) {
+            // Already classified: map the grid and reuse the stored openings
+            MazeFile mazeFile = MazeFile.open(file);
+            if (mazeFile.getStartX() == (int) startX && mazeFile.getStartY() == (int) startY) {
+                return mazeFile.getMaze();
+            }
+            return new Maze(mazeFile.getMaze().getGrid(), startX, startY, mazeFile.getMaze().getOpenings());
+        }
+        if (isStreamablePng(header)) {
+            return streamPng(file, startX, startY, tolerance);
+        }
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + file);
+        }
+        return toMaze(image, startX, startY, tolerance);
+    }
+
+    /**
+     * Loads a maze image from a stream and locates its entrance and exit.
+     *
+     * @param input The stream to read the image from; it is not closed.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @return The decoded maze.
+     * @throws IOException If the stream cannot be read or does not hold a supported image.
+     */
+    public static Maze load(InputStream input, double startX, double startY) throws IOException {
+        BufferedImage image = ImageIO.read(input);
+        if (image == null) {
+            throw new IOException("Unsupported image format");
+        }
+        return toMaze(image, startX, startY, PathTolerance.exact());
+    }
+
+    /**
+     * Converts a decoded image to a maze, one bulk pixel read per row.
+     * Each row is classified into passability bits straight away, so the image is never
+     * copied as a whole into an ARGB buffer.
+     *
+     * @param image The decoded maze image.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The decoded maze.
+     */
+    private static Maze toMaze(BufferedImage image, double startX, double startY, PathTolerance tolerance) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int pathArgb = image.getRGB((int) startX, (int) startY);
+        PassabilityGrid grid = new PassabilityGrid(width, height);
+        int[] argb = new int[width];
+        long[] row = new long[(width + 63) >>> 6];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, argb, 0, width);
+            tolerance.classifyRow(argb, 0, width, pathArgb, row);
+            grid.setRow(y, row);
+        }
+        return new Maze(grid, startX, startY);
+    }
+
+    /**
+     * Samples the path color of a maze image at the start position, decoding as little as possible.
+     * PNG images are decoded only down to the start row, and maze files store the color in their header.
+     *
+     * @param file The maze image or maze file.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @return The ARGB color of the pixel at the start position.
+     * @throws IOException If the file cannot be read or is not a supported image.
+     */
+    public static int pathColor(Path file, double startX, double startY) throws IOException {
+        byte[] header = readHeader(file);
+        if (isMazeFile(header)) {
+            return MazeFile.readHeader(file).getPathArgb();
+        }
+        if (isStreamablePng(header)) {
+            try (PngReader reader = new PngReader(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+                checkStart(reader.getWidth(), reader.getHeight(), startX, startY);
+                int[] argb = new int[reader.getWidth()];
+                for (int y = 0; y <= (int) startY; y++) {
+                    reader.readRow(argb);
+                }
+                return argb[(int) startX];
+            }
+        }
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + file);
+        }
+        checkStart(image.getWidth(), image.getHeight(), startX, startY);
+        return image.getRGB((int) startX, (int) startY);
+    }
+
+    /**
+     * Gets the content hash of a maze loaded from a file, see {@link MazeSource#contentHash()}.
+     * Maze files store the hash in their header, so only images have their grid hashed.
+     *
+     * @param file The maze image or maze file the maze was loaded from.
+     * @param maze The loaded maze.
+     * @return The 32-byte hash of the maze.
+     * @throws IOException If the file cannot be read.
+     */
+    public static byte[] contentHash(Path file, Maze maze) throws IOException {
+        if (isMazeFile(readHeader(file))) {
+            return MazeFile.readHeader(file).getContentHash();
+        }
+        return maze.getGrid().contentHash();
+    }
+
+    /**
+     * Checks that the start position lies inside an image.
+     *
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @throws IOException If the start position is outside the image.
+     */
+    private static void checkStart(int width, int height, double startX, double startY) throws IOException {
+        if ((int) startX < 0 || (int) startX >= width || (int) startY < 0 || (int) startY >= height) {
+            throw new IOException("Start position is outside the " + width + "x" + height + " image");
+        }
+    }
+
+    /**
+     * Reads the first bytes of a file, enough to recognize its format.
+     *
+     * @param file The file to read.
+     * @return Up to 29 bytes from the start of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private static byte[] readHeader(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return input.readNBytes(29);
+        }
+    }
+
+    /**
+     * Checks if a file header belongs to a preprocessed {@link MazeFile}.
+     *
+     * @param header The first bytes of the file.
+     * @return True if the header starts with the maze file magic bytes.
+     */
+    private static boolean isMazeFile(byte[] header) {
+        return header.length >= 4 && header[0] == 'M' && header[1] == 'W' && header[2] == 'R' && header[3] == 'G';
+    }
+
+    /**
+     * Checks if a file header belongs to a PNG image that can be read row by row.
+     *
+     * @param header The first bytes of the file.
+     * @return True if the file is a non-interlaced PNG image.
+     */
+    private static boolean isStreamablePng(byte[] header) {
+        // Signature, IHDR length and type, then the interlace method as the last header byte
+        return header.length == 29 && (header[0] & 0xFF) == 0x89 && header[1] == 'P'
+                && header[2] == 'N' && header[3] == 'G' && header[28] == 0;
+    }
+
+    /**
+     * Streams a PNG maze into a grid without ever holding the whole image.
+     * The file is read twice: once down to the start row to sample the path color, then once more
+     * to classify every row; only two rows of pixels are kept at a time.
+     *
+     * @param file The PNG file to load.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The decoded maze.
+     * @throws IOException If the file cannot be read or is not a valid PNG image.
+     */
+    private static Maze streamPng(Path file, double startX, double startY, PathTolerance tolerance) throws IOException {
+        int pathArgb = pathColor(file, startX, startY);
+        try (PngReader reader = new PngReader(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            int width = reader.getWidth();
+            int height = reader.getHeight();
+            MazeSource grid = createGrid(width, height);
+            int[] argb = new int[width];
+            long[] row = new long[(width + 63) >>> 6];
+            for (int y = 0; y < height; y++) {
+                reader.readRow(argb);
+                tolerance.classifyRow(argb, 0, width, pathArgb, row);
+                grid.setRow(y, row);
+            }
+            return new Maze(grid, startX, startY);
+        }
+    }
+
+    /**
+     * Creates an empty grid on the heap, or in a memory-mapped file when it would take too much of the heap.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @return The empty grid.
+     * @throws IOException If the mapped file cannot be created.
+     */
+    private static MazeSource createGrid(int width, int height) throws IOException {
+        long gridBytes = (long) ((width + 63) >>> 6) * Long.BYTES * height;
+        if (gridBytes > Runtime.getRuntime().maxMemory() / HEAP_FRACTION || gridBytes > (long) Integer.MAX_VALUE * Long.BYTES) {
+            System.out.println("Mapping " + (gridBytes >> 20) + " MiB maze grid to a temporary file");
+            return MappedPassabilityGrid.createTemporary(width, height);
+        }
+        return new PassabilityGrid(width, height);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.mazewithrobot;
+
+/**
+ * A search algorithm that finds routes between two nodes of a maze {@link Lattice}.
+ *
+ * <p>Solvers are created for one maze by {@link MazeSolvers#create(String, Maze)} and can be
+ * queried any number of times. After each query they report how much work it took, and
+ * {@link #measure(int, int)} bundles the route with those figures and the time and memory spent,
+ * so that different algorithms can be compared on the same maze.</p>
+ */
+public interface MazeSolver {
+    /**
+     * Gets the name the solver is selected by, see {@link MazeSolvers#NAMES}.
+     *
+     * @return The solver name.
+     */
+    String getName();
+
+    /**
+     * Finds a route between two lattice nodes.
+     *
+     * @param start The lattice node id of the start.
+     * @param goal The lattice node id of the goal.
+     * @return The lattice node ids along the route, each one step from the previous one, from start
+     *         to goal, or an empty array if the goal is unreachable.
+     */
+    int[] solve(int start, int goal);
+
+    /**
+     * Gets the number of nodes expanded by the last search.
+     *
+     * @return The number of expanded nodes.
+     */
+    int getExpandedCount();
+
+    /**
+     * Gets the largest number of nodes waiting to be expanded during the last search.
+     *
+     * @return The peak frontier size.
+     */
+    int getPeakFrontier();
+
+    /**
+     * Checks if the solver searches on the calling thread only.
+     * The JVM counts allocated bytes per thread, so only then does {@link #measure(int, int)}
+     * see every byte the search allocates.
+     *
+     * @return True if the whole search runs on the calling thread, which is the default.
+     */
+    default boolean isSingleThreaded() {
+        return true;
+    }
+
+    /**
+     * Finds a route between two lattice nodes and measures the search.
+     * The allocated bytes are those of the calling thread, and unknown for solvers that are not
+     * {@linkplain #isSingleThreaded() single-threaded}.
+     *
+     * @param start The lattice node id of the start.
+     * @param goal The lattice node id of the goal.
+     * @return The route together with the work, time and memory the search took.
+     */
+    default SolveResult measure(int start, int goal) {
+        long allocatedBefore = isSingleThreaded() ? SolveResult.allocatedBytes() : -1;
+        long startNanos = System.nanoTime();
+        int[] route = solve(start, goal);
+        long nanos = System.nanoTime() - startNanos;
+        long allocatedAfter = SolveResult.allocatedBytes();
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return new SolveResult(getName(), route, getExpandedCount(), getPeakFrontier(), allocated, nanos);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.mazewithrobot;
+
+import java.util.List;
+
+/**
+ * Creates {@link MazeSolver}s by name, so the search algorithm can be picked at runtime.
+ */
+public final class MazeSolvers {
+    /** The names of every available solver, in the order they are offered. */
+    public static final List<String> NAMES = List.of("dfs", "bfs", "pbfs", "astar", "dijkstra", "jps", "bibfs", "corridor", "hpa");
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MazeSolvers() {
+    }
+
+    /**
+     * Creates a solver for a maze.
+     * Solvers that search a derived graph build it through the maze, which caches it for later solvers.
+     *
+     * @param name The name of the solver, one of {@link #NAMES}.
+     * @param maze The maze to solve.
+     * @return The solver.
+     * @throws IllegalArgumentException If no solver has that name.
+     */
+    public static MazeSolver create(String name, Maze maze) {
+        return switch (name) {
+            case "dfs" -> new DepthFirstSolver(maze, maze.getStart().getX(), maze.getStart().getY());
+            case "bfs" -> new BreadthFirstSolver(maze.getLattice());
+            case "pbfs" -> new ParallelBfsSolver(maze.getLattice());
+            case "astar" -> new AStarSolver(maze.getLattice());
+            case "dijkstra" -> new AStarSolver(maze.getLattice(), false);
+            case "jps" -> new JumpPointSolver(maze.getLattice());
+            case "bibfs" -> new BidirectionalBfsSolver(maze.getLattice());
+            case "corridor" -> new CorridorSolver(maze.getCorridorGraph());
+            case "hpa" -> new HierarchicalSolver(maze.getClusterGraph());
+            default -> throw new IllegalArgumentException("Unknown solver: " + name + ", expected one of " + NAMES);
+        };
+    }
+}
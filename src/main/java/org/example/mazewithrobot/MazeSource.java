@@ -0,0 +1,125 @@
+package org.example.mazewithrobot;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * The passability of the pixels of a maze, one bit per pixel, wherever those bits are stored.
+ *
+ * <p>Rows are exchanged as packed bits, least significant bit first, in {@code (width + 63) / 64}
+ * words; bits beyond the width of the maze are always clear. {@link PassabilityGrid} keeps the
+ * bits on the heap, while {@link MappedPassabilityGrid} keeps them in a memory-mapped file so that
+ * mazes larger than the heap can be solved.</p>
+ */
+public interface MazeSource {
+    /**
+     * Gets the width of the maze.
+     *
+     * @return The width in pixels.
+     */
+    int getWidth();
+
+    /**
+     * Gets the height of the maze.
+     *
+     * @return The height in pixels.
+     */
+    int getHeight();
+
+    /**
+     * Checks if the pixel at the specified coordinates is part of the path.
+     *
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return True if the pixel is inside the maze and passable, false otherwise.
+     */
+    boolean isPassable(int x, int y);
+
+    /**
+     * Copies the passability bits of a row.
+     *
+     * @param y The y-coordinate of the row.
+     * @param row The array to fill, at least {@code (width + 63) / 64} words long.
+     */
+    void copyRow(int y, long[] row);
+
+    /**
+     * Replaces a whole row, while the source is being built.
+     *
+     * @param y The y-coordinate of the row.
+     * @param row The passability bits of the row; bits beyond the width must be clear.
+     */
+    void setRow(int y, long[] row);
+
+    /**
+     * Copies the passability bits of a column.
+     *
+     * @param x The x-coordinate of the column.
+     * @param column The array to fill, at least {@code (height + 63) / 64} words long;
+     *               bit {@code y} is set when the pixel at {@code y} is passable.
+     */
+    default void copyColumn(int x, long[] column) {
+        Arrays.fill(column, 0, (getHeight() + 63) >>> 6, 0L);
+        for (int y = 0; y < getHeight(); y++) {
+            if (isPassable(x, y)) {
+                column[y >>> 6] |= 1L << y;
+            }
+        }
+    }
+
+    /**
+     * Checks if a rectangle lies inside the maze and every pixel in it is passable.
+     *
+     * @param x The x-coordinate of the top-left corner of the rectangle.
+     * @param y The y-coordinate of the top-left corner of the rectangle.
+     * @param width The width of the rectangle in pixels.
+     * @param height The height of the rectangle in pixels.
+     * @return True if the whole rectangle is passable, false otherwise.
+     */
+    default boolean isAreaPassable(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || x + width > getWidth() || y + height > getHeight()) {
+            return false;
+        }
+        for (int row = y; row < y + height; row++) {
+            for (int column = x; column < x + width; column++) {
+                if (!isPassable(column, row)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes a SHA-256 hash of the maze's dimensions and passability bits.
+     * Two mazes with the same hash have the same walls, whatever image format they were decoded
+     * from and wherever their bits are stored.
+     *
+     * @return The 32-byte hash of the maze.
+     */
+    default byte[] contentHash() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        long[] row = new long[(getWidth() + 63) >>> 6];
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(1 << 16, row.length * Long.BYTES));
+        buffer.putInt(getWidth()).putInt(getHeight());
+        for (int y = 0; y < getHeight(); y++) {
+            copyRow(y, row);
+            if (buffer.remaining() < row.length * Long.BYTES) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+            for (long word : row) {
+                buffer.putLong(word);
+            }
+        }
+        digest.update(buffer.flip());
+        return digest.digest();
+    }
+}
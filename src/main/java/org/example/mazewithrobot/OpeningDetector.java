@@ -0,0 +1,165 @@
+package org.example.mazewithrobot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Detects the openings on the borders of a maze.
+ * An opening is a run of path pixels on a border that is wide enough and leads into the maze.
+ */
+public final class OpeningDetector {
+    /** The minimum width of an opening in the maze. */
+    static final int MIN_OPENING_WIDTH = 5;
+
+    /** The combined width and height from which the four borders are scanned in parallel. */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private OpeningDetector() {
+    }
+
+    /**
+     * Finds the openings on all four borders of a maze.
+     * Large mazes have their borders scanned in parallel.
+     *
+     * @param grid The passability of the maze pixels.
+     * @return The middle points of the openings, top border first, then bottom, left and right.
+     */
+    public static List<Point> findOpenings(MazeSource grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        IntStream borders = IntStream.range(0, 4);
+        if (width + height >= PARALLEL_THRESHOLD) {
+            borders = borders.parallel();
+        }
+        // The stream keeps the encounter order, so the openings come out in border order
+        return borders.mapToObj(border -> switch (border) {
+                    case 0 -> findOpeningsOnBorder(grid, 0, true);
+                    case 1 -> findOpeningsOnBorder(grid, height - 1, true);
+                    case 2 -> findOpeningsOnBorder(grid, 0, false);
+                    default -> findOpeningsOnBorder(grid, width - 1, false);
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds openings on a specified border of the maze.
+     * The border is copied out of the grid as packed bits, and runs of path pixels are found a
+     * 64-pixel word at a time.
+     *
+     * @param grid The passability of the maze pixels.
+     * @param fixed The fixed coordinate (for the non-searching dimension).
+     * @param isHorizontal True if searching a horizontal border, false for vertical.
+     * @return A list of Points representing openings on the border.
+     */
+    private static List<Point> findOpeningsOnBorder(MazeSource grid, int fixed, boolean isHorizontal) {
+        int length = isHorizontal ? grid.getWidth() : grid.getHeight();
+        long[] border = new long[(length + 63) >>> 6];
+        if (isHorizontal) {
+            grid.copyRow(fixed, border);
+        } else {
+            grid.copyColumn(fixed, border);
+        }
+
+        List<Point> found = new ArrayList<>();
+        for (int openingStart = nextSetBit(border, 0, length); openingStart < length; ) {
+            int openingEnd = nextClearBit(border, openingStart, length);
+            addOpening(grid, found, openingStart, openingEnd - openingStart, fixed, isHorizontal);
+            openingStart = nextSetBit(border, openingEnd, length);
+        }
+        return found;
+    }
+
+    /**
+     * Finds the next path pixel of a border.
+     *
+     * @param bits The packed bits of the border.
+     * @param from The index to start searching from.
+     * @param length The number of pixels on the border.
+     * @return The index of the next set bit, or {@code length} if there is none.
+     */
+    private static int nextSetBit(long[] bits, int from, int length) {
+        if (from >= length) {
+            return length;
+        }
+        int index = from >>> 6;
+        long word = bits[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == bits.length) {
+                return length;
+            }
+            word = bits[index];
+        }
+        return Math.min(length, (index << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Finds the next wall pixel of a border.
+     *
+     * @param bits The packed bits of the border.
+     * @param from The index to start searching from.
+     * @param length The number of pixels on the border.
+     * @return The index of the next clear bit, or {@code length} if the border is open to its end.
+     */
+    private static int nextClearBit(long[] bits, int from, int length) {
+        if (from >= length) {
+            return length;
+        }
+        int index = from >>> 6;
+        long word = ~bits[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == bits.length) {
+                return length;
+            }
+            word = ~bits[index];
+        }
+        return Math.min(length, (index << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Records a run of path pixels on a border as an opening if it is wide enough
+     * and leads into the maze.
+     *
+     * @param grid The passability of the maze pixels.
+     * @param found The list of openings to add to.
+     * @param openingStart The starting coordinate of the run.
+     * @param openingWidth The length of the run in pixels.
+     * @param fixed The fixed coordinate (for the non-searching dimension).
+     * @param isHorizontal True if the run lies on a horizontal border, false for vertical.
+     */
+    private static void addOpening(MazeSource grid, List<Point> found, int openingStart, int openingWidth, int fixed, boolean isHorizontal) {
+        if (openingWidth >= MIN_OPENING_WIDTH && isConnectedToPath(grid, openingStart, fixed, isHorizontal)) {
+            int openingMiddle = openingStart + openingWidth / 2;
+            found.add(isHorizontal ? new Point(openingMiddle, fixed) : new Point(fixed, openingMiddle));
+        }
+    }
+
+    /**
+     * Checks if a potential opening is connected to the maze path.
+     *
+     * @param grid The passability of the maze pixels.
+     * @param start The starting coordinate of the potential opening.
+     * @param fixed The fixed coordinate (for the non-searching dimension).
+     * @param isHorizontal True if checking a horizontal opening, false for vertical.
+     * @return True if the opening is connected to the maze path, false otherwise.
+     */
+    private static boolean isConnectedToPath(MazeSource grid, int start, int fixed, boolean isHorizontal) {
+        int checkDepth = 5; // Check 5 pixels deep into the maze
+        for (int i = 1; i <= checkDepth; i++) {
+            int x = isHorizontal ? start : fixed + (fixed == 0 ? i : -i);
+            int y = isHorizontal ? fixed + (fixed == 0 ? i : -i) : start;
+            if (x < 0 || x >= grid.getWidth() || y < 0 || y >= grid.getHeight()) {
+                return false;
+            }
+            if (grid.isPassable(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,333 @@
+package org.example.mazewithrobot;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds a shortest route over a maze {@link Lattice} with a level-synchronous parallel breadth-first search.
+ *
+ * <p>Each level of the search is split into chunks of {@value #CHUNK_SIZE} frontier nodes,
+ * expanded on a {@link ForkJoinPool}. Unvisited neighbors are claimed with a compare-and-set on
+ * an {@link AtomicLongArray} bitset, so each node is discovered exactly once whichever thread gets
+ * there first. Each claimed node then takes as its parent its neighbor that comes first in
+ * breadth-first order, and the new level is sorted by that parent and the direction from it.
+ * This is exactly the order a serial queue would produce, so the route found is the same as the
+ * one found by {@link BreadthFirstSolver}, however the threads are scheduled.</p>
+ *
+ * <p>Small levels, such as those near the start or in narrow corridors, are expanded on the
+ * calling thread, since splitting them would cost more than it saves.</p>
+ */
+public class ParallelBfsSolver implements MazeSolver {
+    /** The number of frontier nodes expanded by a single task. */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** The smallest level expanded in parallel. */
+    static final int PARALLEL_THRESHOLD = 2 * CHUNK_SIZE;
+
+    /** The lattice to search. */
+    private final Lattice lattice;
+
+    /** The pool the levels are expanded on. */
+    private final ForkJoinPool pool;
+
+    /** The number of nodes expanded by the last search. */
+    private int expandedCount;
+
+    /** The largest level reached by the last search. */
+    private int peakFrontier;
+
+    /**
+     * Constructs a new solver for a lattice, expanding levels on the common pool.
+     *
+     * @param lattice The lattice to search.
+     */
+    public ParallelBfsSolver(Lattice lattice) {
+        this(lattice, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new solver for a lattice, expanding levels on a given pool.
+     *
+     * @param lattice The lattice to search.
+     * @param pool The pool to expand levels on.
+     */
+    public ParallelBfsSolver(Lattice lattice, ForkJoinPool pool) {
+        this.lattice = lattice;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the name the solver is selected by.
+     *
+     * @return The solver name.
+     */
+    @Override
+    public String getName() {
+        return "pbfs";
+    }
+
+    /**
+     * Finds a shortest route between two nodes, the same one a serial breadth-first search finds.
+     *
+     * @param start The id of the start node.
+     * @param goal The id of the goal node.
+     * @return The node ids along the route, from start to goal, or an empty array if the goal is unreachable.
+     */
+    @Override
+    public int[] solve(int start, int goal) {
+        expandedCount = 0;
+        peakFrontier = 0;
+        if (start < 0 || goal < 0 || !lattice.isOpen(start) || !lattice.isOpen(goal)) {
+            return new int[0];
+        }
+
+        // Nodes in breadth-first order, and the position of each node in that order
+        int size = lattice.size();
+        int[] order = new int[size];
+        int[] rank = new int[size];
+        int[] parent = new int[size];
+        AtomicLongArray visited = new AtomicLongArray((size + 63) >>> 6);
+        Arrays.fill(rank, Integer.MAX_VALUE);
+
+        order[0] = start;
+        rank[start] = 0;
+        parent[start] = start;
+        visited.set(start >>> 6, 1L << start);
+        int levelStart = 0;
+        int levelEnd = 1;
+        boolean found = start == goal;
+
+        while (!found && levelStart < levelEnd) {
+            int levelSize = levelEnd - levelStart;
+            peakFrontier = Math.max(peakFrontier, levelSize);
+            expandedCount += levelSize;
+            int next = levelSize < PARALLEL_THRESHOLD
+                    ? expandSerially(order, rank, parent, visited, levelStart, levelEnd)
+                    : expandInParallel(order, rank, parent, visited, levelStart, levelEnd);
+            found = (visited.get(goal >>> 6) & (1L << goal)) != 0;
+            levelStart = levelEnd;
+            levelEnd = next;
+        }
+        return found ? AStarSolver.tracePath(parent, goal) : new int[0];
+    }
+
+    /**
+     * Expands a level on the calling thread, exactly like a serial queue.
+     *
+     * @param order The nodes in breadth-first order.
+     * @param rank The position of every reached node in {@code order}.
+     * @param parent The parent of every reached node.
+     * @param visited The visited bitset.
+     * @param levelStart The position of the first node of the level.
+     * @param levelEnd The position after the last node of the level.
+     * @return The position after the last node of the next level.
+     */
+    private int expandSerially(int[] order, int[] rank, int[] parent, AtomicLongArray visited, int levelStart, int levelEnd) {
+        int end = levelEnd;
+        for (int i = levelStart; i < levelEnd; i++) {
+            int node = order[i];
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int neighbor = lattice.neighbor(node, direction);
+                if (neighbor >= 0 && (visited.get(neighbor >>> 6) & (1L << neighbor)) == 0) {
+                    visited.set(neighbor >>> 6, visited.get(neighbor >>> 6) | (1L << neighbor));
+                    parent[neighbor] = node;
+                    rank[neighbor] = end;
+                    order[end++] = neighbor;
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Expands a level in chunks on the pool, then orders the new level as a serial queue would.
+     *
+     * @param order The nodes in breadth-first order.
+     * @param rank The position of every reached node in {@code order}.
+     * @param parent The parent of every reached node.
+     * @param visited The visited bitset.
+     * @param levelStart The position of the first node of the level.
+     * @param levelEnd The position after the last node of the level.
+     * @return The position after the last node of the next level.
+     */
+    private int expandInParallel(int[] order, int[] rank, int[] parent, AtomicLongArray visited, int levelStart, int levelEnd) {
+        int chunks = (levelEnd - levelStart + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        long[][] discovered = new long[chunks][];
+        int[] counts = new int[chunks];
+        forEachChunk(chunks, chunk -> {
+            // Claim the unvisited neighbors, recording each as its parent's rank and the direction from it
+            int from = levelStart + chunk * CHUNK_SIZE;
+            int to = Math.min(levelEnd, from + CHUNK_SIZE);
+            long[] keys = new long[(to - from) * 2];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int node = order[i];
+                for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                    int neighbor = lattice.neighbor(node, direction);
+                    if (neighbor >= 0 && claim(visited, neighbor)) {
+                        if (count == keys.length) {
+                            keys = Arrays.copyOf(keys, count * 2);
+                        }
+                        keys[count++] = firstParentKey(rank, neighbor, levelEnd);
+                    }
+                }
+            }
+            discovered[chunk] = keys;
+            counts[chunk] = count;
+        });
+
+        int total = Arrays.stream(counts).sum();
+        long[] keys = new long[total];
+        int offset = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            System.arraycopy(discovered[chunk], 0, keys, offset, counts[chunk]);
+            offset += counts[chunk];
+        }
+        Arrays.parallelSort(keys);
+
+        // Place the new level in key order, which is the order a serial queue adds it in
+        int newChunks = (total + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        forEachChunk(newChunks, chunk -> {
+            int to = Math.min(total, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < to; i++) {
+                int from = order[(int) (keys[i] >>> 2)];
+                int neighbor = lattice.neighbor(from, (int) (keys[i] & 3));
+                parent[neighbor] = from;
+                rank[neighbor] = levelEnd + i;
+                order[levelEnd + i] = neighbor;
+            }
+        });
+        return levelEnd + total;
+    }
+
+    /**
+     * Sets the visited bit of a node unless another thread already has.
+     *
+     * @param visited The visited bitset.
+     * @param node The node to claim.
+     * @return True if this call set the bit, false if the node was already visited.
+     */
+    private static boolean claim(AtomicLongArray visited, int node) {
+        int word = node >>> 6;
+        long bit = 1L << node;
+        long bits = visited.get(word);
+        while ((bits & bit) == 0) {
+            if (visited.compareAndSet(word, bits, bits | bit)) {
+                return true;
+            }
+            bits = visited.get(word);
+        }
+        return false;
+    }
+
+    /**
+     * Finds the parent a serial search would give a newly discovered node: its neighbor that comes
+     * first in breadth-first order among those already placed.
+     *
+     * @param rank The position of every placed node in breadth-first order.
+     * @param node The newly discovered node.
+     * @param levelEnd The position after the last placed node; later ranks are not yet assigned.
+     * @return The sort key {@code rank(parent) * 4 + direction from the parent}.
+     */
+    private long firstParentKey(int[] rank, int node, int levelEnd) {
+        long best = Long.MAX_VALUE;
+        for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+            int neighbor = lattice.neighbor(node, direction);
+            if (neighbor >= 0 && rank[neighbor] < levelEnd) {
+                // The parent reaches this node in the opposite direction
+                best = Math.min(best, (long) rank[neighbor] << 2 | ((direction + 2) & 3));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs a body for every chunk index on the pool and waits for all of them.
+     *
+     * @param chunks The number of chunks.
+     * @param body The work for one chunk index.
+     */
+    private void forEachChunk(int chunks, IntConsumer body) {
+        if (chunks > 0) {
+            pool.invoke(new ChunkAction(0, chunks, body));
+        }
+    }
+
+    /**
+     * Reports that large levels are expanded on the pool, out of sight of the calling thread's allocation counter.
+     *
+     * @return False.
+     */
+    @Override
+    public boolean isSingleThreaded() {
+        return false;
+    }
+
+    /**
+     * Gets the number of nodes expanded by the last search, every node of every level reached.
+     *
+     * @return The number of expanded nodes.
+     */
+    @Override
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest level reached by the last search.
+     *
+     * @return The peak number of nodes in a level.
+     */
+    @Override
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Runs a body over a range of chunk indices, splitting the range in halves across the pool.
+     */
+    private static final class ChunkAction extends RecursiveAction {
+        /** The serialization version; actions are never serialized, but ForkJoinTask is Serializable. */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /** The first chunk index of the range. */
+        private final int from;
+
+        /** The chunk index after the range. */
+        private final int to;
+
+        /** The work for one chunk index; a lambda, so it is not serialized with the action. */
+        private final transient IntConsumer body;
+
+        /**
+         * Constructs an action over a range of chunk indices.
+         *
+         * @param from The first chunk index of the range.
+         * @param to The chunk index after the range.
+         * @param body The work for one chunk index.
+         */
+        ChunkAction(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        /**
+         * Runs the body for a single chunk, or splits the range and runs both halves.
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkAction(from, middle, body), new ChunkAction(middle, to, body));
+        }
+    }
+}
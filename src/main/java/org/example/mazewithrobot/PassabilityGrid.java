@@ -0,0 +1,200 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A bit-packed map of the pixels of a maze that belong to the path.
+ * The grid is built once from the decoded pixels of the maze image, so that
+ * every later passability query is a single array lookup with no allocation.
+ */
+public class PassabilityGrid implements MazeSource {
+    /** The width of the grid in pixels. */
+    private final int width;
+
+    /** The height of the grid in pixels. */
+    private final int height;
+
+    /** The number of 64-bit words used to store a single row. */
+    private final int wordsPerRow;
+
+    /** The passability bits, one per pixel, stored row by row. */
+    private final long[] bits;
+
+    /**
+     * Constructs an empty grid in which every pixel is a wall.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     */
+    public PassabilityGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive, got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.bits = new long[Math.multiplyExact(wordsPerRow, height)];
+    }
+
+    /**
+     * Builds a grid from packed ARGB pixels, marking every pixel that matches the path color exactly.
+     *
+     * @param argb The pixels of the maze, row by row, in ARGB format.
+     * @param width The width of the maze in pixels.
+     * @param height The height of the maze in pixels.
+     * @param pathArgb The ARGB value of the path color.
+     * @return The passability grid of the maze.
+     */
+    public static PassabilityGrid fromArgb(int[] argb, int width, int height, int pathArgb) {
+        return fromArgb(argb, width, height, pathArgb, PathTolerance.exact());
+    }
+
+    /**
+     * Builds a grid from packed ARGB pixels, marking every pixel accepted by a tolerance as path.
+     *
+     * @param argb The pixels of the maze, row by row, in ARGB format.
+     * @param width The width of the maze in pixels.
+     * @param height The height of the maze in pixels.
+     * @param pathArgb The ARGB value of the path color.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The passability grid of the maze.
+     */
+    public static PassabilityGrid fromArgb(int[] argb, int width, int height, int pathArgb, PathTolerance tolerance) {
+        if (argb.length < (long) width * height) {
+            throw new IllegalArgumentException("Pixel buffer too small for a " + width + "x" + height + " maze");
+        }
+        PassabilityGrid grid = new PassabilityGrid(width, height);
+        long[] row = new long[grid.wordsPerRow];
+        for (int y = 0; y < height; y++) {
+            tolerance.classifyRow(argb, y * width, width, pathArgb, row);
+            grid.setRow(y, row);
+        }
+        return grid;
+    }
+
+    /**
+     * Checks if the pixel at the specified coordinates is part of the path.
+     *
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return True if the pixel is inside the grid and passable, false otherwise.
+     */
+    @Override
+    public boolean isPassable(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Marks the pixel at the specified coordinates as passable or as a wall.
+     *
+     * @param x The x-coordinate of the pixel.
+     * @param y The y-coordinate of the pixel.
+     * @param passable True to mark the pixel as path, false to mark it as wall.
+     */
+    public void setPassable(int x, int y, boolean passable) {
+        int index = y * wordsPerRow + (x >>> 6);
+        if (passable) {
+            bits[index] |= 1L << x;
+        } else {
+            bits[index] &= ~(1L << x);
+        }
+    }
+
+    /**
+     * Replaces a whole row of the grid.
+     *
+     * @param y The y-coordinate of the row.
+     * @param row The passability bits of the row, one per pixel, least significant bit first;
+     *            bits beyond the width of the grid must be clear.
+     */
+    @Override
+    public void setRow(int y, long[] row) {
+        System.arraycopy(row, 0, bits, y * wordsPerRow, wordsPerRow);
+    }
+
+    /**
+     * Copies the passability bits of a row.
+     *
+     * @param y The y-coordinate of the row.
+     * @param row The array to fill, at least {@code (width + 63) / 64} words long;
+     *            bit {@code x} is set when the pixel at {@code x} is passable.
+     */
+    @Override
+    public void copyRow(int y, long[] row) {
+        System.arraycopy(bits, y * wordsPerRow, row, 0, wordsPerRow);
+    }
+
+    /**
+     * Copies the passability bits of a column.
+     *
+     * @param x The x-coordinate of the column.
+     * @param column The array to fill, at least {@code (height + 63) / 64} words long;
+     *               bit {@code y} is set when the pixel at {@code y} is passable.
+     */
+    @Override
+    public void copyColumn(int x, long[] column) {
+        int word = x >>> 6;
+        int shift = x & 63;
+        Arrays.fill(column, 0, (height + 63) >>> 6, 0L);
+        for (int y = 0, index = word; y < height; y++, index += wordsPerRow) {
+            column[y >>> 6] |= ((bits[index] >>> shift) & 1L) << y;
+        }
+    }
+
+    /**
+     * Checks if a rectangle lies inside the grid and every pixel in it is passable.
+     * Each row of the rectangle is checked a 64-pixel word at a time.
+     *
+     * @param x The x-coordinate of the top-left corner of the rectangle.
+     * @param y The y-coordinate of the top-left corner of the rectangle.
+     * @param width The width of the rectangle in pixels.
+     * @param height The height of the rectangle in pixels.
+     * @return True if the whole rectangle is passable, false otherwise.
+     */
+    @Override
+    public boolean isAreaPassable(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || x + width > this.width || y + height > this.height) {
+            return false;
+        }
+        int end = x + width;
+        for (int row = y; row < y + height; row++) {
+            int offset = row * wordsPerRow;
+            for (int word = x >>> 6; word <= (end - 1) >>> 6; word++) {
+                long mask = -1L;
+                if (word == x >>> 6) {
+                    mask &= -1L << x;
+                }
+                if (word == (end - 1) >>> 6) {
+                    mask &= -1L >>> (63 - ((end - 1) & 63));
+                }
+                if ((bits[offset + word] & mask) != mask) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the width of the grid.
+     *
+     * @return The width in pixels.
+     */
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the grid.
+     *
+     * @return The height in pixels.
+     */
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
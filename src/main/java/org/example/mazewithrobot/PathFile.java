@@ -0,0 +1,360 @@
+package org.example.mazewithrobot;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A route through a maze in a compact, versioned binary format.
+ *
+ * <p>A route is stored as its start position followed by runs of unit steps in the same
+ * direction. The file layout is:</p>
+ * <ul>
+ *     <li>the magic bytes {@code MWRP} and a format version byte;</li>
+ *     <li>the length of the maze content hash and the hash itself, see {@link MazeSource#contentHash()};</li>
+ *     <li>the step size, then the start x and y as zigzag varints;</li>
+ *     <li>one varint per run, {@code length << 2 | direction}, with directions indexed as in
+ *         {@link Lattice#DIRECTIONS}, terminated by a zero varint;</li>
+ *     <li>the total number of steps as a varint, to detect truncated files.</li>
+ * </ul>
+ * <p>A straight corridor of any length costs a few bytes, so even routes of millions of steps
+ * are small and decode in milliseconds. Only plain bytes are read, never Java objects.</p>
+ */
+public class PathFile {
+    /** The magic bytes every path file starts with. */
+    private static final byte[] MAGIC = {'M', 'W', 'R', 'P'};
+
+    /** The version of the format written by this class. */
+    private static final int VERSION = 1;
+
+    /** The largest number of points allocated up front when expanding a route. */
+    private static final int INITIAL_POINTS = 1 << 16;
+
+    /** The hash of the maze the route belongs to. */
+    private final byte[] mazeHash;
+
+    /** The distance covered by a single step, in pixels. */
+    private final int stepSize;
+
+    /** The x-coordinate the route starts from. */
+    private final int startX;
+
+    /** The y-coordinate the route starts from. */
+    private final int startY;
+
+    /** The runs of the route, each encoded as {@code length << 2 | direction}. */
+    private int[] runs;
+
+    /** The number of runs. */
+    private int runCount;
+
+    /** The total number of steps. */
+    private long stepCount;
+
+    /**
+     * Constructs an empty route.
+     *
+     * @param mazeHash The content hash of the maze the route belongs to.
+     * @param stepSize The distance covered by a single step, in pixels.
+     * @param startX The x-coordinate the route starts from.
+     * @param startY The y-coordinate the route starts from.
+     */
+    public PathFile(byte[] mazeHash, int stepSize, int startX, int startY) {
+        if (mazeHash.length > 255) {
+            throw new IllegalArgumentException("Maze hash too long: " + mazeHash.length + " bytes");
+        }
+        this.mazeHash = mazeHash.clone();
+        this.stepSize = stepSize;
+        this.startX = startX;
+        this.startY = startY;
+        this.runs = new int[64];
+    }
+
+    /**
+     * Builds a route from a list of points, each one step away from the previous one.
+     *
+     * @param mazeHash The content hash of the maze the route belongs to.
+     * @param stepSize The distance covered by a single step, in pixels.
+     * @param points The points of the route, in order; consecutive equal points are ignored.
+     * @return The route.
+     * @throws IllegalArgumentException If two consecutive points are not one step apart.
+     */
+    public static PathFile fromPoints(byte[] mazeHash, int stepSize, List<Point> points) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("A route needs at least a start point");
+        }
+        Point first = points.get(0);
+        PathFile path = new PathFile(mazeHash, stepSize, (int) first.x, (int) first.y);
+        for (int i = 1; i < points.size(); i++) {
+            Point from = points.get(i - 1);
+            Point to = points.get(i);
+            int dx = (int) (to.x - from.x);
+            int dy = (int) (to.y - from.y);
+            if (dx == 0 && dy == 0) {
+                continue;
+            }
+            path.addStep(directionOf(dx, dy, stepSize, from, to));
+        }
+        return path;
+    }
+
+    /**
+     * Finds the direction of a single step.
+     *
+     * @param dx The change in x-coordinate.
+     * @param dy The change in y-coordinate.
+     * @param stepSize The distance covered by a single step, in pixels.
+     * @param from The point the step starts at, for error messages.
+     * @param to The point the step ends at, for error messages.
+     * @return The index of the direction in {@link Lattice#DIRECTIONS}.
+     */
+    private static int directionOf(int dx, int dy, int stepSize, Point from, Point to) {
+        for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+            if (Lattice.DIRECTIONS[direction][0] * stepSize == dx && Lattice.DIRECTIONS[direction][1] * stepSize == dy) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Points " + from + " and " + to + " are not one step apart");
+    }
+
+    /**
+     * Appends a step to the route, extending the last run when the direction is unchanged.
+     *
+     * @param direction The index of the direction in {@link Lattice#DIRECTIONS}.
+     */
+    public void addStep(int direction) {
+        if (runCount > 0 && (runs[runCount - 1] & 3) == direction && runs[runCount - 1] >>> 2 < (Integer.MAX_VALUE >>> 2)) {
+            runs[runCount - 1] += 4;
+        } else {
+            if (runCount == runs.length) {
+                runs = Arrays.copyOf(runs, runCount * 2);
+            }
+            runs[runCount++] = (1 << 2) | direction;
+        }
+        stepCount++;
+    }
+
+    /**
+     * Expands the route into the points it passes through, start included.
+     *
+     * @return The points of the route, in order.
+     */
+    public List<Point> toPoints() {
+        // The step count may come from a file, so the list grows as it fills rather than trusting it
+        List<Point> points = new ArrayList<>((int) Math.min(INITIAL_POINTS, stepCount + 1));
+        int x = startX;
+        int y = startY;
+        points.add(new Point(x, y));
+        for (int i = 0; i < runCount; i++) {
+            int direction = runs[i] & 3;
+            int dx = Lattice.DIRECTIONS[direction][0] * stepSize;
+            int dy = Lattice.DIRECTIONS[direction][1] * stepSize;
+            for (int step = runs[i] >>> 2; step > 0; step--) {
+                x += dx;
+                y += dy;
+                points.add(new Point(x, y));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Checks if the route belongs to a maze.
+     *
+     * @param hash The content hash of the maze.
+     * @return True if the route was recorded on a maze with the same content, false otherwise.
+     */
+    public boolean matches(byte[] hash) {
+        return Arrays.equals(mazeHash, hash);
+    }
+
+    /**
+     * Writes the route to a stream.
+     *
+     * @param output The stream to write to; it is not closed.
+     * @throws IOException If the route cannot be written.
+     */
+    public void write(OutputStream output) throws IOException {
+        OutputStream out = new BufferedOutputStream(output, 1 << 16);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(mazeHash.length);
+        out.write(mazeHash);
+        writeVarint(out, stepSize);
+        writeVarint(out, zigzag(startX));
+        writeVarint(out, zigzag(startY));
+        for (int i = 0; i < runCount; i++) {
+            writeVarint(out, runs[i]);
+        }
+        writeVarint(out, 0);
+        writeVarint(out, stepCount);
+        out.flush();
+    }
+
+    /**
+     * Reads a route from a stream.
+     *
+     * @param input The stream to read from; it is not closed.
+     * @return The route.
+     * @throws IOException If the stream cannot be read or does not hold a valid route.
+     */
+    public static PathFile read(InputStream input) throws IOException {
+        InputStream in = new BufferedInputStream(input, 1 << 16);
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a path file");
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IOException("Unsupported path file version: " + version);
+        }
+        int hashLength = readByte(in);
+        byte[] hash = in.readNBytes(hashLength);
+        if (hash.length != hashLength) {
+            throw new EOFException("Truncated path file header");
+        }
+        int stepSize = (int) readVarint(in);
+        int startX = unzigzag(readVarint(in));
+        int startY = unzigzag(readVarint(in));
+        PathFile path = new PathFile(hash, stepSize, startX, startY);
+        for (long run = readVarint(in); run != 0; run = readVarint(in)) {
+            if (run >>> 2 == 0 || run > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt run in path file: " + run);
+            }
+            if (path.runCount == path.runs.length) {
+                path.runs = Arrays.copyOf(path.runs, path.runCount * 2);
+            }
+            path.runs[path.runCount++] = (int) run;
+            path.stepCount += run >>> 2;
+        }
+        long expectedSteps = readVarint(in);
+        if (expectedSteps != path.stepCount) {
+            throw new IOException("Path file holds " + path.stepCount + " steps, expected " + expectedSteps);
+        }
+        return path;
+    }
+
+    /**
+     * Saves the route to a file.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Loads a route from a file.
+     *
+     * @param file The file to read.
+     * @return The route.
+     * @throws IOException If the file cannot be read or does not hold a valid route.
+     */
+    public static PathFile load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint.
+     *
+     * @param out The stream to write to.
+     * @param value The non-negative value to write.
+     * @throws IOException If the value cannot be written.
+     */
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     *
+     * @param in The stream to read from.
+     * @return The value read.
+     * @throws IOException If the stream ends early or the varint is too long.
+     */
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long in path file");
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @param in The stream to read from.
+     * @return The byte read, from 0 to 255.
+     * @throws IOException If the stream ends.
+     */
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Truncated path file");
+        }
+        return b;
+    }
+
+    /**
+     * Maps a signed value to an unsigned one so that small magnitudes stay small.
+     *
+     * @param value The signed value.
+     * @return The zigzag-encoded value.
+     */
+    private static long zigzag(int value) {
+        return ((long) value << 1) ^ ((long) value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigzag(int)}.
+     *
+     * @param value The zigzag-encoded value.
+     * @return The signed value.
+     */
+    private static int unzigzag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    /**
+     * Gets the distance covered by a single step.
+     *
+     * @return The step size in pixels.
+     */
+    public int getStepSize() {
+        return stepSize;
+    }
+
+    /**
+     * Gets the total number of steps in the route.
+     *
+     * @return The number of steps.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Gets the number of runs of steps in the same direction.
+     *
+     * @return The number of runs.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.mazewithrobot;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.image.ImageView;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plays a precomputed list of points back on an {@link ImageView}, driven by the pulse timestamps.
+ *
+ * <p>Playback advances by the nanoseconds elapsed since the previous pulse rather than by a fixed
+ * amount per frame, so a slow frame never slows the robot down. Between two points the view is
+ * placed by linear interpolation, which gives smooth motion at low speeds; at high speeds many
+ * points are passed in one frame and only the last position is drawn. No search runs here: the
+ * points are computed beforehand, off the JavaFX application thread.</p>
+ */
+public final class PathPlayer {
+    /** The points to play, in order. */
+    private final List<Point> points;
+
+    /** The view moved along the points. */
+    private final ImageView view;
+
+    /** Called for every point passed, in order, including the first and last. */
+    private final Consumer<Point> onPoint;
+
+    /** Called once the last point has been reached. */
+    private final Runnable onFinished;
+
+    /** The timer advancing the playback on every pulse. */
+    private final AnimationTimer timer;
+
+    /** The playback speed, as a multiple of the normal speed. */
+    private double speed;
+
+    /** The position along the points, in points; the integer part is the last point passed. */
+    private double progress;
+
+    /** The index of the last point passed to {@link #onPoint}. */
+    private int passed;
+
+    /** The timestamp of the previous pulse, or -1 before the first one. */
+    private long lastNanos = -1;
+
+    /**
+     * Constructs a player for a list of points.
+     *
+     * @param points The points to play, at least one.
+     * @param view The view to move along the points.
+     * @param speed The playback speed, as a multiple of the normal speed; clamped to the range of {@link PlaybackSpeed}.
+     * @param onPoint Called for every point passed, in order.
+     * @param onFinished Called once the last point has been reached.
+     */
+    public PathPlayer(List<Point> points, ImageView view, double speed, Consumer<Point> onPoint, Runnable onFinished) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to play: the list of points is empty");
+        }
+        this.points = points;
+        this.view = view;
+        this.onPoint = onPoint;
+        this.onFinished = onFinished;
+        setSpeed(speed);
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                advance(now);
+            }
+        };
+    }
+
+    /**
+     * Starts the playback from the first point.
+     */
+    public void play() {
+        Point first = points.get(0);
+        view.setX(first.x);
+        view.setY(first.y);
+        onPoint.accept(first);
+        if (points.size() == 1) {
+            onFinished.run();
+            return;
+        }
+        timer.start();
+    }
+
+    /**
+     * Stops the playback where it is, without calling the finish callback.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Changes the playback speed, taking effect from the next pulse.
+     *
+     * @param speed The playback speed, as a multiple of the normal speed; clamped to the range of {@link PlaybackSpeed}.
+     */
+    public void setSpeed(double speed) {
+        this.speed = PlaybackSpeed.clamp(speed);
+    }
+
+    /**
+     * Advances the playback to a pulse.
+     *
+     * @param now The timestamp of the pulse, in nanoseconds.
+     */
+    private void advance(long now) {
+        if (lastNanos < 0) {
+            lastNanos = now;
+            return;
+        }
+        progress += (now - lastNanos) * speed / PlaybackSpeed.NANOS_PER_STEP;
+        lastNanos = now;
+        int last = points.size() - 1;
+        int index = (int) Math.min(progress, last);
+        while (passed < index) {
+            onPoint.accept(points.get(++passed));
+        }
+        if (index == last) {
+            timer.stop();
+            onFinished.run();
+            return;
+        }
+
+        // Place the view between the last point passed and the next one
+        Point from = points.get(index);
+        Point to = points.get(index + 1);
+        double fraction = progress - index;
+        view.setX(from.x + (to.x - from.x) * fraction);
+        view.setY(from.y + (to.y - from.y) * fraction);
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.mazewithrobot;
+
+/**
+ * Decides which pixels of a maze image belong to the path, given the color of a known path pixel.
+ *
+ * <p>Exact matching suits clean, lossless images. Scanned, antialiased or JPEG-compressed mazes
+ * need a tolerance: either a maximum per-channel ARGB distance from the path color, or a luminance
+ * threshold that splits the pixels into light and dark ones. Pixels are classified a whole row at
+ * a time, straight from packed ARGB ints into passability bits, with no per-pixel objects.</p>
+ */
+public final class PathTolerance {
+    /** The ways a pixel can be compared with the path color. */
+    private enum Mode {
+        /** The pixel must equal the path color. */
+        EXACT,
+        /** Every ARGB channel must be within a distance of the path color. */
+        ARGB_DISTANCE,
+        /** The pixel must be on the same side of a luminance threshold as the path color. */
+        LUMINANCE
+    }
+
+    /** Exact matching, the default. */
+    private static final PathTolerance EXACT = new PathTolerance(Mode.EXACT, 0);
+
+    /** The way pixels are compared with the path color. */
+    private final Mode mode;
+
+    /** The maximum channel distance or the luminance threshold, depending on the mode. */
+    private final int value;
+
+    /**
+     * Constructs a new tolerance.
+     *
+     * @param mode The way pixels are compared with the path color.
+     * @param value The maximum channel distance or the luminance threshold, depending on the mode.
+     */
+    private PathTolerance(Mode mode, int value) {
+        if (value < 0 || value > 255) {
+            throw new IllegalArgumentException("Tolerance must be between 0 and 255, got " + value);
+        }
+        this.mode = mode;
+        this.value = value;
+    }
+
+    /**
+     * Gets the tolerance that only accepts the exact path color.
+     *
+     * @return The exact tolerance.
+     */
+    public static PathTolerance exact() {
+        return EXACT;
+    }
+
+    /**
+     * Creates a tolerance that accepts pixels whose every ARGB channel is close to the path color.
+     *
+     * @param maxDistance The largest accepted difference on any channel, from 0 to 255.
+     * @return The tolerance.
+     */
+    public static PathTolerance argbDistance(int maxDistance) {
+        return new PathTolerance(Mode.ARGB_DISTANCE, maxDistance);
+    }
+
+    /**
+     * Creates a tolerance that accepts pixels on the same side of a luminance threshold as the path color.
+     *
+     * @param threshold The luminance separating light from dark pixels, from 0 to 255.
+     * @return The tolerance.
+     */
+    public static PathTolerance luminance(int threshold) {
+        return new PathTolerance(Mode.LUMINANCE, threshold);
+    }
+
+    /**
+     * Parses a tolerance from its command-line form:
+     * {@code exact}, {@code argb:<distance>} or {@code luma:<threshold>}.
+     *
+     * @param text The text to parse.
+     * @return The tolerance.
+     * @throws IllegalArgumentException If the text is not a valid tolerance.
+     */
+    public static PathTolerance parse(String text) {
+        if (text.equals("exact")) {
+            return EXACT;
+        }
+        int separator = text.indexOf(':');
+        if (separator > 0) {
+            String kind = text.substring(0, separator);
+            int amount = Integer.parseInt(text.substring(separator + 1).trim());
+            if (kind.equals("argb")) {
+                return argbDistance(amount);
+            } else if (kind.equals("luma")) {
+                return luminance(amount);
+            }
+        }
+        throw new IllegalArgumentException("Unknown tolerance: " + text);
+    }
+
+    /**
+     * Checks if a single pixel belongs to the path.
+     *
+     * @param argb The ARGB value of the pixel.
+     * @param pathArgb The ARGB value of the path color.
+     * @return True if the pixel is accepted as path, false otherwise.
+     */
+    public boolean matches(int argb, int pathArgb) {
+        return switch (mode) {
+            case EXACT -> argb == pathArgb;
+            case ARGB_DISTANCE -> channelDistance(argb, pathArgb) <= value;
+            case LUMINANCE -> (luma(argb) >= value) == (luma(pathArgb) >= value);
+        };
+    }
+
+    /**
+     * Classifies a row of pixels into passability bits.
+     *
+     * @param argb The pixels, in ARGB format.
+     * @param offset The index of the first pixel of the row.
+     * @param width The number of pixels in the row.
+     * @param pathArgb The ARGB value of the path color.
+     * @param row The array to fill, one bit per pixel, least significant bit first;
+     *            it must hold at least {@code (width + 63) / 64} words.
+     */
+    public void classifyRow(int[] argb, int offset, int width, int pathArgb, long[] row) {
+        for (int word = 0, x = 0; x < width; word++) {
+            int end = Math.min(width, x + 64);
+            long bits = 0;
+            // Each branch keeps its comparison branch-free, so the JIT can unroll the inner loops
+            switch (mode) {
+                case EXACT -> {
+                    for (int bit = 0; x < end; x++, bit++) {
+                        int difference = argb[offset + x] ^ pathArgb;
+                        bits |= (long) ((difference | -difference) >>> 31 ^ 1) << bit;
+                    }
+                }
+                case ARGB_DISTANCE -> {
+                    for (int bit = 0; x < end; x++, bit++) {
+                        bits |= (long) ((value - channelDistance(argb[offset + x], pathArgb)) >>> 31 ^ 1) << bit;
+                    }
+                }
+                case LUMINANCE -> {
+                    int pathSide = (value - 1 - luma(pathArgb)) >>> 31;
+                    for (int bit = 0; x < end; x++, bit++) {
+                        int side = (value - 1 - luma(argb[offset + x])) >>> 31;
+                        bits |= (long) (side ^ pathSide ^ 1) << bit;
+                    }
+                }
+            }
+            row[word] = bits;
+        }
+    }
+
+    /**
+     * Computes the largest difference between two colors on any ARGB channel.
+     *
+     * @param a The first ARGB value.
+     * @param b The second ARGB value.
+     * @return The largest channel difference, from 0 to 255.
+     */
+    private static int channelDistance(int a, int b) {
+        int distance = Math.abs((a >>> 24) - (b >>> 24));
+        distance = Math.max(distance, Math.abs((a >> 16 & 0xFF) - (b >> 16 & 0xFF)));
+        distance = Math.max(distance, Math.abs((a >> 8 & 0xFF) - (b >> 8 & 0xFF)));
+        return Math.max(distance, Math.abs((a & 0xFF) - (b & 0xFF)));
+    }
+
+    /**
+     * Computes the luminance of a color with the Rec. 601 weights, in integer arithmetic.
+     *
+     * @param argb The ARGB value of the color.
+     * @return The luminance, from 0 to 255.
+     */
+    private static int luma(int argb) {
+        return (77 * (argb >> 16 & 0xFF) + 150 * (argb >> 8 & 0xFF) + 29 * (argb & 0xFF)) >>> 8;
+    }
+
+    @Override
+    public String toString() {
+        return switch (mode) {
+            case EXACT -> "exact";
+            case ARGB_DISTANCE -> "argb:" + value;
+            case LUMINANCE -> "luma:" + value;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.mazewithrobot;
+
+/**
+ * The speed range shared by the path playback and the swarm simulation.
+ *
+ * <p>Kept apart from {@link PathPlayer} so that {@link Swarm} can be loaded without JavaFX.</p>
+ */
+public final class PlaybackSpeed {
+    /** The slowest supported speed. */
+    public static final double MIN = 0.1;
+
+    /** The fastest supported speed. */
+    public static final double MAX = 1000;
+
+    /** The time for one step at normal speed, in nanoseconds. */
+    public static final long NANOS_PER_STEP = 100_000_000;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private PlaybackSpeed() {
+    }
+
+    /**
+     * Clamps a speed to the supported range.
+     *
+     * @param speed The speed, as a multiple of the normal speed.
+     * @return The speed, between {@link #MIN} and {@link #MAX}.
+     */
+    public static double clamp(double speed) {
+        return Math.max(MIN, Math.min(MAX, speed));
+    }
+}
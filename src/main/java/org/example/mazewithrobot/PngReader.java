@@ -0,0 +1,402 @@
+package org.example.mazewithrobot;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a PNG image one row at a time, as packed ARGB ints.
+ * Only the current and previous rows are kept in memory, so images far larger than the heap can
+ * be read, for example straight into a {@link MappedPassabilityGrid}.
+ *
+ * <p>Every non-interlaced PNG is supported: grayscale, RGB, palette, grayscale with alpha and RGBA,
+ * at every bit depth the format allows. Sixteen-bit samples are reduced to their high byte.
+ * Interlaced images are rejected, since their rows cannot be produced in order.</p>
+ */
+public class PngReader implements AutoCloseable {
+    /** The signature every PNG file starts with. */
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /** The color type of grayscale images. */
+    private static final int GRAY = 0;
+
+    /** The color type of RGB images. */
+    private static final int RGB = 2;
+
+    /** The color type of palette images. */
+    private static final int PALETTE = 3;
+
+    /** The color type of grayscale images with alpha. */
+    private static final int GRAY_ALPHA = 4;
+
+    /** The color type of RGBA images. */
+    private static final int RGBA = 6;
+
+    /** The stream of raw chunks. */
+    private final DataInputStream in;
+
+    /** The decompressed image data, read from consecutive IDAT chunks. */
+    private final InflaterInputStream data;
+
+    /** The width of the image in pixels. */
+    private final int width;
+
+    /** The height of the image in pixels. */
+    private final int height;
+
+    /** The number of bits per sample. */
+    private final int bitDepth;
+
+    /** The color type of the image. */
+    private final int colorType;
+
+    /** The number of bytes per complete pixel, at least 1, used by the filters. */
+    private final int filterStride;
+
+    /** The ARGB values of the palette entries, with the alpha from the tRNS chunk. */
+    private int[] palette = new int[0];
+
+    /** The transparent gray or RGB sample value from the tRNS chunk, or -1 if there is none. */
+    private int transparent = -1;
+
+    /** The unfiltered bytes of the current row. */
+    private byte[] current;
+
+    /** The unfiltered bytes of the previous row, all zero before the first row. */
+    private byte[] previous;
+
+    /** The number of rows read so far. */
+    private int rowsRead;
+
+    /**
+     * Reads the header of a PNG image.
+     *
+     * @param input The stream to read the image from; it is closed with this reader.
+     * @throws IOException If the stream cannot be read or does not hold a supported PNG image.
+     */
+    public PngReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(input);
+        byte[] signature = in.readNBytes(SIGNATURE.length);
+        if (!Arrays.equals(signature, SIGNATURE)) {
+            throw new IOException("Not a PNG image");
+        }
+
+        // The header must come first; the palette and transparency come before the image data
+        if (in.readInt() != 13 || !readType().equals("IHDR")) {
+            throw new IOException("Missing PNG header");
+        }
+        this.width = in.readInt();
+        this.height = in.readInt();
+        this.bitDepth = in.readUnsignedByte();
+        this.colorType = in.readUnsignedByte();
+        int compression = in.readUnsignedByte();
+        int filter = in.readUnsignedByte();
+        int interlace = in.readUnsignedByte();
+        in.readInt(); // CRC
+        if (width <= 0 || height <= 0 || compression != 0 || filter != 0) {
+            throw new IOException("Unsupported PNG header");
+        }
+        if (interlace != 0) {
+            throw new IOException("Interlaced PNG images cannot be read row by row");
+        }
+        int channels = switch (colorType) {
+            case GRAY, PALETTE -> 1;
+            case GRAY_ALPHA -> 2;
+            case RGB -> 3;
+            case RGBA -> 4;
+            default -> throw new IOException("Unsupported PNG color type: " + colorType);
+        };
+        long rowBits = (long) width * channels * bitDepth;
+        if (rowBits > (long) (Integer.MAX_VALUE - 8) * 8) {
+            throw new IOException("PNG rows too wide: " + width + " pixels");
+        }
+        this.filterStride = Math.max(1, channels * bitDepth / 8);
+        this.current = new byte[(int) ((rowBits + 7) / 8)];
+        this.previous = new byte[current.length];
+
+        int length = readAncillaryChunks();
+        this.data = new InflaterInputStream(new ImageDataStream(length), new Inflater(), 1 << 16);
+    }
+
+    /**
+     * Reads the chunks up to the first IDAT chunk, keeping the palette and transparency.
+     *
+     * @return The length of the first IDAT chunk.
+     * @throws IOException If the stream ends before the image data.
+     */
+    private int readAncillaryChunks() throws IOException {
+        while (true) {
+            int length = in.readInt();
+            String type = readType();
+            if (type.equals("IDAT")) {
+                return length;
+            }
+            byte[] chunk = in.readNBytes(length);
+            if (chunk.length != length) {
+                throw new EOFException("Truncated PNG chunk " + type);
+            }
+            in.readInt(); // CRC
+            if (type.equals("PLTE")) {
+                palette = new int[length / 3];
+                for (int i = 0; i < palette.length; i++) {
+                    palette[i] = 0xFF000000 | (chunk[3 * i] & 0xFF) << 16 | (chunk[3 * i + 1] & 0xFF) << 8 | (chunk[3 * i + 2] & 0xFF);
+                }
+            } else if (type.equals("tRNS")) {
+                if (colorType == PALETTE) {
+                    for (int i = 0; i < Math.min(length, palette.length); i++) {
+                        palette[i] = (palette[i] & 0x00FFFFFF) | (chunk[i] & 0xFF) << 24;
+                    }
+                } else if (colorType == GRAY && length >= 2) {
+                    transparent = (chunk[0] & 0xFF) << 8 | (chunk[1] & 0xFF);
+                } else if (colorType == RGB && length >= 6) {
+                    // Keep the high bytes of each sample, the precision the pixels are compared at
+                    transparent = (chunk[0] & 0xFF) << 16 | (chunk[2] & 0xFF) << 8 | (chunk[4] & 0xFF);
+                }
+            } else if (type.equals("IEND")) {
+                throw new IOException("PNG image has no image data");
+            }
+        }
+    }
+
+    /**
+     * Reads a chunk type.
+     *
+     * @return The four-letter chunk type.
+     * @throws IOException If the stream ends.
+     */
+    private String readType() throws IOException {
+        byte[] type = in.readNBytes(4);
+        if (type.length != 4) {
+            throw new EOFException("Truncated PNG chunk");
+        }
+        return new String(type, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads and unfilters the next row, converting its pixels to ARGB.
+     *
+     * @param argb The array to fill with the {@code width} pixels of the row.
+     * @throws IOException If the image data is truncated or corrupt.
+     */
+    public void readRow(int[] argb) throws IOException {
+        if (rowsRead >= height) {
+            throw new IOException("All " + height + " rows have been read");
+        }
+        int filter = data.read();
+        if (filter < 0) {
+            throw new EOFException("PNG image data ends at row " + rowsRead);
+        }
+        byte[] swap = previous;
+        previous = current;
+        current = swap;
+        if (data.readNBytes(current, 0, current.length) != current.length) {
+            throw new EOFException("PNG image data ends at row " + rowsRead);
+        }
+        unfilter(filter);
+        convert(argb);
+        rowsRead++;
+    }
+
+    /**
+     * Reverses the filter applied to the current row.
+     *
+     * @param filter The filter type of the row.
+     * @throws IOException If the filter type is unknown.
+     */
+    private void unfilter(int filter) throws IOException {
+        byte[] row = current;
+        byte[] above = previous;
+        int stride = filterStride;
+        switch (filter) {
+            case 0 -> {
+            }
+            case 1 -> {
+                for (int i = stride; i < row.length; i++) {
+                    row[i] += row[i - stride];
+                }
+            }
+            case 2 -> {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] += above[i];
+                }
+            }
+            case 3 -> {
+                for (int i = 0; i < row.length; i++) {
+                    int left = i >= stride ? row[i - stride] & 0xFF : 0;
+                    row[i] += (byte) ((left + (above[i] & 0xFF)) >>> 1);
+                }
+            }
+            case 4 -> {
+                for (int i = 0; i < row.length; i++) {
+                    int a = i >= stride ? row[i - stride] & 0xFF : 0;
+                    int b = above[i] & 0xFF;
+                    int c = i >= stride ? above[i - stride] & 0xFF : 0;
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+                    row[i] += (byte) (pa <= pb && pa <= pc ? a : pb <= pc ? b : c);
+                }
+            }
+            default -> throw new IOException("Unknown PNG filter type " + filter + " at row " + rowsRead);
+        }
+    }
+
+    /**
+     * Converts the unfiltered bytes of the current row to ARGB pixels.
+     *
+     * @param argb The array to fill with the pixels of the row.
+     */
+    private void convert(int[] argb) {
+        byte[] row = current;
+        int step = bitDepth == 16 ? 2 : 1;
+        switch (colorType) {
+            case GRAY -> {
+                if (bitDepth < 8) {
+                    int mask = (1 << bitDepth) - 1;
+                    int scale = 255 / mask;
+                    for (int x = 0; x < width; x++) {
+                        int bit = x * bitDepth;
+                        int sample = (row[bit >>> 3] >>> (8 - bitDepth - (bit & 7))) & mask;
+                        int gray = sample * scale;
+                        argb[x] = (sample == transparent ? 0 : 0xFF000000) | gray << 16 | gray << 8 | gray;
+                    }
+                } else {
+                    for (int x = 0, i = 0; x < width; x++, i += step) {
+                        int gray = row[i] & 0xFF;
+                        int sample = step == 2 ? gray << 8 | (row[i + 1] & 0xFF) : gray;
+                        argb[x] = (sample == transparent ? 0 : 0xFF000000) | gray << 16 | gray << 8 | gray;
+                    }
+                }
+            }
+            case RGB -> {
+                for (int x = 0, i = 0; x < width; x++, i += 3 * step) {
+                    int rgb = (row[i] & 0xFF) << 16 | (row[i + step] & 0xFF) << 8 | (row[i + 2 * step] & 0xFF);
+                    argb[x] = (rgb == transparent ? 0 : 0xFF000000) | rgb;
+                }
+            }
+            case PALETTE -> {
+                int mask = (1 << bitDepth) - 1;
+                for (int x = 0; x < width; x++) {
+                    int bit = x * bitDepth;
+                    int index = (row[bit >>> 3] >>> (8 - bitDepth - (bit & 7))) & mask;
+                    argb[x] = index < palette.length ? palette[index] : 0xFF000000;
+                }
+            }
+            case GRAY_ALPHA -> {
+                for (int x = 0, i = 0; x < width; x++, i += 2 * step) {
+                    int gray = row[i] & 0xFF;
+                    argb[x] = (row[i + step] & 0xFF) << 24 | gray << 16 | gray << 8 | gray;
+                }
+            }
+            default -> {
+                for (int x = 0, i = 0; x < width; x++, i += 4 * step) {
+                    argb[x] = (row[i + 3 * step] & 0xFF) << 24 | (row[i] & 0xFF) << 16
+                            | (row[i + step] & 0xFF) << 8 | (row[i + 2 * step] & 0xFF);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the width of the image.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the image.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException If the stream cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    /**
+     * The concatenated contents of consecutive IDAT chunks, as one stream.
+     */
+    private final class ImageDataStream extends InputStream {
+        /** The number of bytes left in the current IDAT chunk. */
+        private int remaining;
+
+        /** True once a chunk other than IDAT has been reached. */
+        private boolean finished;
+
+        /**
+         * Constructs a stream starting inside the first IDAT chunk.
+         *
+         * @param firstLength The length of the first IDAT chunk.
+         */
+        ImageDataStream(int firstLength) {
+            this.remaining = firstLength;
+        }
+
+        /**
+         * Moves to the next IDAT chunk when the current one is used up.
+         *
+         * @return True if image data is available, false at the end of the image data.
+         * @throws IOException If the stream cannot be read.
+         */
+        private boolean fill() throws IOException {
+            while (remaining == 0 && !finished) {
+                in.readInt(); // CRC of the previous chunk
+                int length = in.readInt();
+                if (readType().equals("IDAT")) {
+                    remaining = length;
+                } else {
+                    finished = true;
+                }
+            }
+            return remaining > 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            remaining--;
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = in.read(buffer, offset, Math.min(length, remaining));
+            if (count < 0) {
+                throw new EOFException("Truncated PNG image data");
+            }
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
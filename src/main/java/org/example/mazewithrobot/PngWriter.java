@@ -0,0 +1,163 @@
+package org.example.mazewithrobot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a black and white maze image as a 1-bit grayscale PNG, one row at a time.
+ * Path pixels are white and wall pixels black. Rows are compressed as they arrive,
+ * so images of any height can be written with memory proportional to one row.
+ */
+public class PngWriter implements AutoCloseable {
+    /** The signature every PNG file starts with. */
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /** The largest amount of compressed data stored in a single IDAT chunk. */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /** The stream the PNG file is written to. */
+    private final DataOutputStream out;
+
+    /** The compressor feeding the IDAT chunks. */
+    private final DeflaterOutputStream compressed;
+
+    /** The width of the image in pixels. */
+    private final int width;
+
+    /** The height of the image in pixels. */
+    private final int height;
+
+    /** The filter byte and packed pixels of the row being written. */
+    private final byte[] rowBytes;
+
+    /** The number of rows written so far. */
+    private int rowsWritten;
+
+    /**
+     * Starts a new PNG image.
+     *
+     * @param output The stream to write the file to; it is closed with this writer.
+     * @param width The width of the image in pixels.
+     * @param height The height of the image in pixels.
+     * @throws IOException If the header cannot be written.
+     */
+    public PngWriter(OutputStream output, int width, int height) throws IOException {
+        this.out = new DataOutputStream(output);
+        this.width = width;
+        this.height = height;
+        this.rowBytes = new byte[1 + (width + 7) / 8];
+
+        out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(1); // Bit depth
+        headerData.writeByte(0); // Grayscale
+        headerData.writeByte(0); // Deflate compression
+        headerData.writeByte(0); // Adaptive filtering
+        headerData.writeByte(0); // No interlacing
+        writeChunk("IHDR", header.toByteArray(), header.size());
+
+        OutputStream chunks = new OutputStream() {
+            private final byte[] buffer = new byte[CHUNK_SIZE];
+            private int length;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] data, int offset, int count) throws IOException {
+                while (count > 0) {
+                    int copied = Math.min(count, buffer.length - length);
+                    System.arraycopy(data, offset, buffer, length, copied);
+                    length += copied;
+                    offset += copied;
+                    count -= copied;
+                    if (length == buffer.length) {
+                        flush();
+                    }
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (length > 0) {
+                    writeChunk("IDAT", buffer, length);
+                    length = 0;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        this.compressed = new DeflaterOutputStream(chunks, new Deflater(Deflater.BEST_SPEED), CHUNK_SIZE);
+    }
+
+    /**
+     * Writes the next row of the image.
+     *
+     * @param row The passability bits of the row, one per pixel, least significant bit first;
+     *            set bits are written as white path pixels.
+     * @throws IOException If the row cannot be written.
+     */
+    public void writeRow(long[] row) throws IOException {
+        if (rowsWritten == height) {
+            throw new IllegalStateException("All " + height + " rows have already been written");
+        }
+        rowBytes[0] = 0; // No filter
+        for (int i = 1; i < rowBytes.length; i++) {
+            int firstPixel = (i - 1) * 8;
+            int packed = (int) (row[firstPixel >>> 6] >>> (firstPixel & 63)) & 0xFF;
+            // PNG stores the leftmost pixel in the most significant bit
+            rowBytes[i] = (byte) (Integer.reverse(packed) >>> 24);
+        }
+        compressed.write(rowBytes);
+        rowsWritten++;
+    }
+
+    /**
+     * Finishes the image and closes the underlying stream.
+     *
+     * @throws IOException If the image is incomplete or cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        compressed.finish();
+        compressed.close();
+        writeChunk("IEND", new byte[0], 0);
+        out.close();
+        if (rowsWritten != height) {
+            throw new IOException("Image closed after " + rowsWritten + " of " + height + " rows");
+        }
+    }
+
+    /**
+     * Writes a PNG chunk with its length and checksum.
+     *
+     * @param type The four-letter chunk type.
+     * @param data The chunk data.
+     * @param length The number of data bytes to write.
+     * @throws IOException If the chunk cannot be written.
+     */
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.mazewithrobot;
+
+import java.util.Objects;
+
+/**
+ * Represents a point in 2D space.
+ */
+public class Point {
+    /** The x-coordinate of the point. */
+    double x;
+    /** The y-coordinate of the point. */
+    double y;
+
+    /**
+     * Constructs a new Point.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    public Point(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Gets the x-coordinate of the point.
+     *
+     * @return The x-coordinate.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y-coordinate of the point.
+     *
+     * @return The y-coordinate.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Checks if this Point is equal to another object.
+     *
+     * @param o The object to compare with.
+     * @return true if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Point point = (Point) o;
+        return Double.compare(point.x, x) == 0 && Double.compare(point.y, y) == 0;
+    }
+
+    /**
+     * Generates a hash code for this Point.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(x, y);
+    }
+
+    /**
+     * Returns a string representation of this Point.
+     *
+     * @return A string representation of the Point.
+     */
+    @Override
+    public String toString() {
+        return "Point{" +
+                "x=" + x +
+                ", y=" + y +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A space-time reservation table over the cells of a maze {@link Lattice}, for a window of time steps.
+ *
+ * <p>A robot at a node covers the square of {@value #FOOTPRINT} by {@value #FOOTPRINT} lattice cells
+ * starting at that node, its {@link Maze#ROBOT_SIZE} footprint. Moving from one node to a neighbor
+ * during a time step reserves the union of the footprints at both ends, so two robots whose moves
+ * are both reserved never overlap, swap places or clip corners at any moment of the step.</p>
+ *
+ * <p>The footprint is the {@link Maze#ROBOT_SIZE} pixels a robot is drawn with, not the one pixel
+ * larger box {@link Maze#isValidMove(double, double)} checks: that extra row and column is a margin
+ * kept from the walls. Two robots two cells apart therefore touch without sharing a pixel. Counting
+ * the margin as well would make the footprint three cells, which fits about a third fewer robots
+ * into the bundled maze and lets queues lock up in its corridors.</p>
+ *
+ * <p>The table is a flat bitset keyed by (time slot, cell), without hashing: every slot owns a run
+ * of words holding one bit per cell, in node id order. Every word that gets a bit set is logged, and
+ * {@link #compact()} clears only the logged words, so starting a new window costs as much as the
+ * reservations made in the last one rather than the size of the maze.</p>
+ */
+public final class ReservationTable {
+    /** The number of lattice cells a robot's drawn footprint covers on each side, without the wall margin. */
+    public static final int FOOTPRINT = (Maze.ROBOT_SIZE + Maze.STEP_SIZE - 1) / Maze.STEP_SIZE;
+
+    /** The number of lattice columns. */
+    private final int columns;
+
+    /** The number of time slots in the window. */
+    private final int window;
+
+    /** The number of words holding the cells of one time slot. */
+    private final int wordsPerSlot;
+
+    /** One bit per cell and time slot, set when the cell is reserved during that slot. */
+    private final long[] reserved;
+
+    /** The indices of the words that had a bit set since the last compaction. */
+    private int[] touched = new int[256];
+
+    /** The number of logged words. */
+    private int touchedCount;
+
+    /**
+     * Constructs an empty table.
+     *
+     * @param lattice The lattice whose cells are reserved.
+     * @param window The number of time slots.
+     */
+    public ReservationTable(Lattice lattice, int window) {
+        this.columns = lattice.getColumns();
+        this.window = window;
+        this.wordsPerSlot = (lattice.size() + 63) >>> 6;
+        this.reserved = new long[Math.multiplyExact(wordsPerSlot, window)];
+    }
+
+    /**
+     * Checks if a robot can move between two nodes during a time slot.
+     *
+     * @param from The node the robot leaves, or stays at.
+     * @param to The node the robot reaches; equal to {@code from} when waiting.
+     * @param slot The time slot of the move, counted from the start of the window.
+     * @return True if none of the cells swept by the move is reserved during the slot.
+     */
+    public boolean isFree(int from, int to, int slot) {
+        int base = slot * wordsPerSlot;
+        int lastColumn = Math.max(from % columns, to % columns) + FOOTPRINT - 1;
+        int lastRow = Math.max(from / columns, to / columns) + FOOTPRINT - 1;
+        for (int row = Math.min(from / columns, to / columns); row <= lastRow; row++) {
+            for (int column = Math.min(from % columns, to % columns); column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                if ((reserved[base + (cell >>> 6)] & (1L << cell)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reserves the cells swept by a move between two nodes during a time slot.
+     *
+     * @param from The node the robot leaves, or stays at.
+     * @param to The node the robot reaches; equal to {@code from} when waiting.
+     * @param slot The time slot of the move, counted from the start of the window.
+     */
+    public void reserve(int from, int to, int slot) {
+        int base = slot * wordsPerSlot;
+        int lastColumn = Math.max(from % columns, to % columns) + FOOTPRINT - 1;
+        int lastRow = Math.max(from / columns, to / columns) + FOOTPRINT - 1;
+        for (int row = Math.min(from / columns, to / columns); row <= lastRow; row++) {
+            for (int column = Math.min(from % columns, to % columns); column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                int word = base + (cell >>> 6);
+                if (reserved[word] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = word;
+                }
+                reserved[word] |= 1L << cell;
+            }
+        }
+    }
+
+    /**
+     * Releases the cells of a robot waiting at a node during a time slot.
+     *
+     * @param node The node the robot waits at.
+     * @param slot The time slot to release.
+     */
+    public void release(int node, int slot) {
+        int base = slot * wordsPerSlot;
+        int firstColumn = node % columns;
+        int firstRow = node / columns;
+        for (int row = firstRow; row < firstRow + FOOTPRINT; row++) {
+            for (int column = firstColumn; column < firstColumn + FOOTPRINT; column++) {
+                int cell = row * columns + column;
+                reserved[base + (cell >>> 6)] &= ~(1L << cell);
+            }
+        }
+    }
+
+    /**
+     * Drops every reservation before a new window, clearing only the words logged since the last call.
+     */
+    public void compact() {
+        for (int i = 0; i < touchedCount; i++) {
+            reserved[touched[i]] = 0;
+        }
+        touchedCount = 0;
+    }
+
+    /**
+     * Gets the number of time slots in the window.
+     *
+     * @return The window size.
+     */
+    public int getWindow() {
+        return window;
+    }
+}
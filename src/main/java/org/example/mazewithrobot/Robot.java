@@ -1,17 +1,18 @@
 package org.example.mazewithrobot;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.concurrent.Task;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.image.PixelReader;
-import javafx.scene.paint.Color;
-import javafx.util.Duration;
-import java.util.*;
+import javafx.scene.image.PixelFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a robot that can navigate and solve a maze.
- * This class handles the robot's movement, maze solving algorithm, and interaction with the maze image.
+ * This class handles the robot's movement and its interaction with the maze image,
+ * delegating the maze model to {@link Maze} and the search to a {@link MazeSolver}.
  */
 public class Robot {
     /** The ImageView representing the robot in the UI. */
@@ -23,38 +24,26 @@ public class Robot {
     /** The current y-coordinate of the robot. */
     private double y;
 
-    /** The Image object of the maze. */
-    private Image mazeImage;
+    /** The maze the robot navigates. */
+    private Maze maze;
 
     /** Flag indicating whether the robot is currently solving the maze. */
     private boolean isSolving;
 
-    /** The size of each step the robot takes. */
-    private static final int STEP_SIZE = 10;
-
-    /** The speed at which the robot solves the maze (in milliseconds). */
-    private static final int SOLVE_SPEED = 100;
-
-    /** The size of the robot in pixels. */
-    private static final int ROBOT_SIZE = 20;
-
-    /** The minimum width of an opening in the maze. */
-    private static final int MIN_OPENING_WIDTH = 5;
+    /** The player moving the robot through a solved or loaded route, or null when idle. */
+    private PathPlayer player;
 
-    /** The range within which the robot is considered to have reached the exit. */
-    private static final int EXIT_RANGE = 35;
+    /** The solver used when none is chosen; openings are looked up in the cache under its name. */
+    private static final String DEFAULT_SOLVER = "dfs";
 
-    /** The stack representing the path taken by the robot. */
-    private Stack<Point> path;
+    /** The on-disk cache of openings and solved routes. */
+    private final SolutionCache cache;
 
-    /** The set of points visited by the robot. */
-    private Set<Point> visited;
+    /** The content hash of the maze grid, used to build cache keys. */
+    private byte[] gridHash;
 
-    /** The color of the path in the maze. */
-    private Color pathColor;
-
-    /** The exit point of the maze. */
-    private Point exitPoint;
+    /** The overlay showing the visited cells and current path, or null if none is shown. */
+    private ExplorationOverlay overlay;
 
     /**
      * Constructs a new Robot instance.
@@ -63,161 +52,78 @@ public class Robot {
      * @param mazeImage The Image object of the maze.
      */
     public Robot(ImageView robotView, Image mazeImage) {
-        this.robotView = robotView;
-        this.x = robotView.getX();
-        this.y = robotView.getY();
-        this.mazeImage = mazeImage;
-        this.isSolving = false;
-        this.path = new Stack<>();
-        this.visited = new HashSet<>();
-        this.pathColor = getPathColor();
-        findExit();
-    }
-
-    /**
-     * Finds the exit point of the maze.
-     * This method scans the borders of the maze image to locate openings,
-     * determines the entrance (closest to the robot's starting position),
-     * and sets the exit point (furthest from the robot's starting position).
-     */
-    private void findExit() {
-        PixelReader pixelReader = mazeImage.getPixelReader();
-        int width = (int) mazeImage.getWidth();
-        int height = (int) mazeImage.getHeight();
-        List<Point> openings = new ArrayList<>();
-
-        // Check all borders for openings
-        openings.addAll(findOpeningsOnBorder(pixelReader, 0, width, 0, true, "Top"));
-        openings.addAll(findOpeningsOnBorder(pixelReader, 0, width, height - 1, true, "Bottom"));
-        openings.addAll(findOpeningsOnBorder(pixelReader, 0, height, 0, false, "Left"));
-        openings.addAll(findOpeningsOnBorder(pixelReader, 0, height, width - 1, false, "Right"));
-
-        System.out.println("Total openings found: " + openings.size());
-        for (Point opening : openings) {
-            System.out.println("Opening: " + opening);
-        }
-
-        if (openings.size() < 2) {
-            throw new IllegalStateException("Maze must have at least two openings, found: " + openings.size());
-        }
-
-        // Determine entrance and exit
-        Point robotPosition = new Point(x, y);
-        Point entrance = findClosestPoint(robotPosition, openings);
-        openings.remove(entrance);
-        System.out.println("Entrance (closest to robot): " + entrance);
-        exitPoint = findFurthestPoint(robotPosition, openings);
-        System.out.println("Exit point (furthest from robot): " + exitPoint);
-    }
-
-    /**
-     * Finds openings on a specified border of the maze.
-     *
-     * @param pixelReader The PixelReader for the maze image.
-     * @param start The starting coordinate for the search.
-     * @param end The ending coordinate for the search.
-     * @param fixed The fixed coordinate (for the non-searching dimension).
-     * @param isHorizontal True if searching a horizontal border, false for vertical.
-     * @param borderName The name of the border being searched (for logging).
-     * @return A list of Points representing openings on the border.
-     */
-    private List<Point> findOpeningsOnBorder(PixelReader pixelReader, int start, int end, int fixed, boolean isHorizontal, String borderName) {
-        List<Point> openings = new ArrayList<>();
-        int openingStart = -1;
-        int openingWidth = 0;
-
-        for (int i = start; i < end; i++) {
-            int x = isHorizontal ? i : fixed;
-            int y = isHorizontal ? fixed : i;
-            Color color = pixelReader.getColor(x, y);
-
-            if (color.equals(pathColor)) {
-                if (openingStart == -1) {
-                    openingStart = i;
-                }
-                openingWidth++;
-            } else {
-                if (openingWidth >= MIN_OPENING_WIDTH && isConnectedToPath(pixelReader, openingStart, fixed, isHorizontal)) {
-                    int openingMiddle = openingStart + openingWidth / 2;
-                    Point opening = isHorizontal ? new Point(openingMiddle, y) : new Point(x, openingMiddle);
-                    openings.add(opening);
-                    System.out.println("Opening found on " + borderName + " border: " + opening);
-                }
-                openingStart = -1;
-                openingWidth = 0;
-            }
-        }
-
-        // Check if an opening ends at the border
-        if (openingWidth >= MIN_OPENING_WIDTH && isConnectedToPath(pixelReader, openingStart, fixed, isHorizontal)) {
-            int openingMiddle = openingStart + openingWidth / 2;
-            Point opening = isHorizontal ? new Point(openingMiddle, fixed) : new Point(fixed, openingMiddle);
-            openings.add(opening);
-            System.out.println("Opening found at end of " + borderName + " border: " + opening);
-        }
-
-        return openings;
+        this(robotView, mazeImage, PathTolerance.exact());
     }
 
     /**
-     * Checks if a potential opening is connected to the maze path.
+     * Constructs a new Robot instance, counting pixels close to the path color as path.
      *
-     * @param pixelReader The PixelReader for the maze image.
-     * @param start The starting coordinate of the potential opening.
-     * @param fixed The fixed coordinate (for the non-searching dimension).
-     * @param isHorizontal True if checking a horizontal opening, false for vertical.
-     * @return True if the opening is connected to the maze path, false otherwise.
+     * @param robotView The ImageView representing the robot in the UI.
+     * @param mazeImage The Image object of the maze.
+     * @param tolerance The rule deciding which pixels match the path color.
      */
-    private boolean isConnectedToPath(PixelReader pixelReader, int start, int fixed, boolean isHorizontal) {
-        int checkDepth = 5; // Check 5 pixels deep into the maze
-        for (int i = 1; i <= checkDepth; i++) {
-            int x = isHorizontal ? start : fixed + (fixed == 0 ? i : -i);
-            int y = isHorizontal ? fixed + (fixed == 0 ? i : -i) : start;
-            if (x < 0 || x >= mazeImage.getWidth() || y < 0 || y >= mazeImage.getHeight()) {
-                return false;
-            }
-            if (pixelReader.getColor(x, y).equals(pathColor)) {
-                return true;
-            }
-        }
-        return false;
+    public Robot(ImageView robotView, Image mazeImage, PathTolerance tolerance) {
+        this.robotView = robotView;
+        this.x = robotView.getX();
+        this.y = robotView.getY();
+        this.isSolving = false;
+        this.cache = SolutionCache.defaultCache();
+        this.maze = loadMaze(mazeImage, tolerance);
+        printOpenings();
     }
 
     /**
-     * Finds the point closest to a reference point from a list of points.
+     * Constructs a new Robot instance for a preprocessed maze file.
+     * The grid is used straight from the file mapping, and its stored content hash spares hashing it again.
      *
-     * @param reference The reference point.
-     * @param points The list of points to search.
-     * @return The point closest to the reference point.
+     * @param robotView The ImageView representing the robot in the UI.
+     * @param mazeFile The opened maze file.
      */
-    private Point findClosestPoint(Point reference, List<Point> points) {
-        return points.stream()
-                .min(Comparator.comparingDouble(p -> distance(reference, p)))
-                .orElseThrow(() -> new IllegalStateException("No points to compare"));
+    public Robot(ImageView robotView, MazeFile mazeFile) {
+        this.robotView = robotView;
+        this.x = robotView.getX();
+        this.y = robotView.getY();
+        this.isSolving = false;
+        this.cache = SolutionCache.defaultCache();
+        this.gridHash = mazeFile.getContentHash();
+        this.maze = mazeFile.getMaze();
+        printOpenings();
     }
 
     /**
-     * Finds the point furthest from a reference point from a list of points.
-     *
-     * @param reference The reference point.
-     * @param points The list of points to search.
-     * @return The point furthest from the reference point.
+     * Prints the openings of the maze and the chosen entrance and exit.
      */
-    private Point findFurthestPoint(Point reference, List<Point> points) {
-        return points.stream()
-                .max(Comparator.comparingDouble(p -> distance(reference, p)))
-                .orElseThrow(() -> new IllegalStateException("No points to compare"));
+    private void printOpenings() {
+        System.out.println("Total openings found: " + maze.getOpenings().size());
+        for (Point opening : maze.getOpenings()) {
+            System.out.println("Opening: " + opening);
+        }
+        System.out.println("Entrance (closest to robot): " + maze.getEntrance());
+        System.out.println("Exit point (furthest from robot): " + maze.getExitPoint());
     }
 
     /**
-     * Calculates the Euclidean distance between two points.
+     * Decodes the maze image with a single bulk read of its pixels.
+     * The openings are taken from the solution cache when this maze was solved before.
      *
-     * @param p1 The first point.
-     * @param p2 The second point.
-     * @return The distance between the two points.
+     * @param mazeImage The Image object of the maze.
+     * @param tolerance The rule deciding which pixels match the path color.
+     * @return The decoded maze.
      */
-    private double distance(Point p1, Point p2) {
-        return Math.sqrt(Math.pow(p1.x - p2.x, 2) + Math.pow(p1.y - p2.y, 2));
+    private Maze loadMaze(Image mazeImage, PathTolerance tolerance) {
+        int width = (int) mazeImage.getWidth();
+        int height = (int) mazeImage.getHeight();
+        int[] argb = new int[width * height];
+        mazeImage.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+        int pathArgb = argb[(int) y * width + (int) x];
+        PassabilityGrid grid = PassabilityGrid.fromArgb(argb, width, height, pathArgb, tolerance);
+        gridHash = grid.contentHash();
+        SolutionCache.Entry cached = cache.get(SolutionCache.key(gridHash, x, y, DEFAULT_SOLVER));
+        if (cached != null) {
+            System.out.println("Openings loaded from the solution cache.");
+            return new Maze(grid, x, y, cached.getOpenings());
+        }
+        return new Maze(grid, x, y);
     }
 
     /**
@@ -229,7 +135,7 @@ public class Robot {
     public void move(int deltaX, int deltaY) {
         double newX = x + deltaX;
         double newY = y + deltaY;
-        if (isValidMove(newX, newY)) {
+        if (maze.isValidMove(newX, newY)) {
             x = newX;
             y = newY;
             updateRobotPosition();
@@ -237,135 +143,218 @@ public class Robot {
     }
 
     /**
-     * Initiates the maze-solving process.
-     * This method sets up a timeline to step through the maze at regular intervals.
+     * Initiates the maze-solving process, showing every step of the search at normal speed.
+     * The search runs in the background; only the playback happens on the JavaFX application thread.
      */
     public void solveMaze() {
-        if (isSolving) return;
+        solveAndReplay(DEFAULT_SOLVER, true, 1, () -> { });
+    }
+
+    /**
+     * Solves the maze off the JavaFX application thread at full speed, then replays the result.
+     * The player only moves the robot through the precomputed points, so the solve time
+     * no longer depends on the animation speed.
+     *
+     * @param solverName The name of the search algorithm to use, one of {@link MazeSolvers#NAMES}.
+     * @param showExploration True to replay every step of a depth-first search, including dead ends,
+     *                        false to replay only the route from the start to the exit; other
+     *                        solvers always replay only their route.
+     * @param speed The playback speed, as a multiple of the normal solving speed.
+     * @param onDone Called on the JavaFX application thread once the replay has finished,
+     *               no path was found or solving failed.
+     * @return True if solving started, false if the robot is busy.
+     */
+    public boolean solveAndReplay(String solverName, boolean showExploration, double speed, Runnable onDone) {
+        if (isSolving) return false;
         isSolving = true;
-        path.push(new Point(x, y));
-        visited.add(new Point(x, y));
-        Timeline timeline = new Timeline();
-        KeyFrame keyFrame = new KeyFrame(Duration.millis(SOLVE_SPEED), event -> {
-            if (!isAtExit()) {
-                step();
-            } else {
+        clearOverlay();
+        String key = SolutionCache.key(gridHash, x, y, solverName);
+        boolean traceSteps = showExploration && solverName.equals("dfs");
+        if (!traceSteps) {
+            SolutionCache.Entry cached = cache.get(key);
+            if (cached != null) {
+                System.out.println("Route of length " + cached.getPath().getStepCount() + " loaded from the solution cache.");
+                replay(cached.getPath().toPoints(), speed, onDone);
+                return true;
+            }
+        }
+        double startX = x;
+        double startY = y;
+        Task<List<Point>> task = new Task<>() {
+            @Override
+            protected List<Point> call() {
+                if (traceSteps) {
+                    return traceDepthFirst(key, startX, startY);
+                }
+                Lattice lattice = maze.getLattice();
+                SolveResult result = MazeSolvers.create(solverName, maze).measure(lattice.nodeAt(startX, startY), lattice.goal());
+                System.out.println("Maze solved by " + result);
+                if (!result.isSolved()) {
+                    return List.of();
+                }
+                List<Point> route = lattice.toPoints(result.getRoute());
+                storeSolution(key, route);
+                return route;
+            }
+        };
+        task.setOnSucceeded(event -> {
+            List<Point> points = task.getValue();
+            if (points.isEmpty()) {
                 isSolving = false;
-                timeline.stop();
-                System.out.println("Exit reached at (" + x + ", " + y + ")!");
-                System.out.println("Distance from exact exit: " +
-                        Math.sqrt(Math.pow(x - exitPoint.x, 2) + Math.pow(y - exitPoint.y, 2)));
+                System.out.println("No path to the exit was found.");
+                onDone.run();
+                return;
             }
+            replay(points, speed, onDone);
         });
-        timeline.getKeyFrames().add(keyFrame);
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
+        task.setOnFailed(event -> {
+            isSolving = false;
+            System.out.println("Solving failed: " + task.getException());
+            onDone.run();
+        });
+        Thread thread = new Thread(task, "maze-solver");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
     }
 
     /**
-     * Performs a single step in the maze-solving process.
-     * This method is called repeatedly by the timeline until the exit is reached.
+     * Runs a depth-first search step by step, recording every position including dead ends.
+     * Called off the JavaFX application thread.
+     *
+     * @param key The cache key to store the route under.
+     * @param startX The x-coordinate to start from.
+     * @param startY The y-coordinate to start from.
+     * @return Every position of the search in order, or an empty list if the exit is unreachable.
      */
-    private void step() {
-        if (path.isEmpty()) {
-            isSolving = false;
-            return;
+    private List<Point> traceDepthFirst(String key, double startX, double startY) {
+        DepthFirstSolver solver = new DepthFirstSolver(maze, startX, startY);
+        List<Point> trace = new ArrayList<>();
+        trace.add(solver.getCurrent());
+        while (!solver.isAtExit() && solver.step()) {
+            trace.add(solver.getCurrent());
         }
-        Point current = path.peek();
-        List<Point> neighbors = getUnvisitedNeighbors(current);
-        if (!neighbors.isEmpty()) {
-            Point next = neighbors.get(0);
-            path.push(next);
-            visited.add(next);
-            moveTo(next);
-        } else {
-            path.pop();
-            if (!path.isEmpty()) {
-                moveTo(path.peek());
-            }
+        if (!solver.isAtExit()) {
+            return List.of();
         }
+        System.out.println("Maze solved in " + solver.getStepCount() + " steps, route length "
+                + (solver.getPath().size() - 1) + ".");
+        storeSolution(key, solver.getPath());
+        return trace;
     }
 
     /**
-     * Gets the unvisited neighboring points of a given point.
+     * Replays a route loaded from a path file.
+     * The route is only replayed if it was recorded on a maze with the same walls.
      *
-     * @param p The point to check neighbors for.
-     * @return A list of unvisited neighboring points.
+     * @param path The route to replay.
+     * @param speed The playback speed, as a multiple of the normal solving speed.
+     * @param onDone Called on the JavaFX application thread once the replay has finished; not called
+     *               when the replay does not start.
+     * @return True if the replay started, false if the robot is busy or the route belongs to another maze.
      */
-    private List<Point> getUnvisitedNeighbors(Point p) {
-        List<Point> neighbors = new ArrayList<>();
-        int[][] directions = {{0, -STEP_SIZE}, {STEP_SIZE, 0}, {0, STEP_SIZE}, {-STEP_SIZE, 0}};
-        for (int[] dir : directions) {
-            Point neighbor = new Point(p.x + dir[0], p.y + dir[1]);
-            if (isValidMove(neighbor.x, neighbor.y) && !visited.contains(neighbor)) {
-                neighbors.add(neighbor);
-            }
+    public boolean replayPath(PathFile path, double speed, Runnable onDone) {
+        if (isSolving) return false;
+        if (!path.matches(gridHash)) {
+            System.out.println("The path file was recorded on a different maze.");
+            return false;
+        }
+        if (path.getStepSize() != Maze.STEP_SIZE) {
+            System.out.println("The path file uses a step size of " + path.getStepSize() + " pixels.");
+            return false;
         }
-        return neighbors;
+        isSolving = true;
+        clearOverlay();
+        System.out.println("Replaying a route of " + path.getStepCount() + " steps.");
+        replay(path.toPoints(), speed, onDone);
+        return true;
     }
 
     /**
-     * Moves the robot to a specific point.
+     * Stores a solved route in the solution cache.
+     * A failure to write the cache is reported but does not affect the solve.
      *
-     * @param p The point to move the robot to.
+     * @param key The cache key of the solution.
+     * @param route The points of the route from the start to the exit.
      */
-    private void moveTo(Point p) {
-        x = p.x;
-        y = p.y;
-        updateRobotPosition();
+    private void storeSolution(String key, List<Point> route) {
+        try {
+            cache.put(key, new SolutionCache.Entry(maze.getOpenings(), PathFile.fromPoints(gridHash, Maze.STEP_SIZE, route)));
+        } catch (IOException e) {
+            System.out.println("Could not write the solution cache: " + e.getMessage());
+        }
     }
 
     /**
-     * Checks if the robot is at the exit of the maze.
+     * Moves the robot through a precomputed list of points with a {@link PathPlayer}.
+     * Every point passed is traced on the overlay, even when several are passed in one frame.
      *
-     * @return True if the robot is within the exit range, false otherwise.
+     * @param points The points to move the robot through, in order.
+     * @param speed The playback speed, as a multiple of the normal solving speed.
+     * @param onDone Called once the robot has passed every point.
      */
-    private boolean isAtExit() {
-        return Math.abs(x - exitPoint.x) < EXIT_RANGE && Math.abs(y - exitPoint.y) < EXIT_RANGE;
+    private void replay(List<Point> points, double speed, Runnable onDone) {
+        player = new PathPlayer(points, robotView, speed, p -> {
+            moveTo(p);
+            trace(p);
+        }, () -> {
+            isSolving = false;
+            player = null;
+            System.out.println("Exit reached at (" + x + ", " + y + ")!");
+            onDone.run();
+        });
+        player.play();
     }
 
     /**
-     * Checks if a move to the specified coordinates is valid.
+     * Changes the speed of the current playback, if any.
      *
-     * @param newX The new x-coordinate.
-     * @param newY The new y-coordinate.
-     * @return True if the move is valid, false otherwise.
+     * @param speed The playback speed, as a multiple of the normal solving speed.
      */
-    private boolean isValidMove(double newX, double newY) {
-        if (newX < 0 || newX > mazeImage.getWidth() - ROBOT_SIZE ||
-                newY < 0 || newY > mazeImage.getHeight() - ROBOT_SIZE) {
-            return false;
+    public void setSpeed(double speed) {
+        if (player != null) {
+            player.setSpeed(speed);
         }
-        return isPathAvailable(newX, newY) &&
-                isPathAvailable(newX + ROBOT_SIZE, newY) &&
-                isPathAvailable(newX, newY + ROBOT_SIZE) &&
-                isPathAvailable(newX + ROBOT_SIZE, newY + ROBOT_SIZE);
     }
 
     /**
-     * Checks if a path is available at the specified coordinates.
+     * Shows an overlay of the visited cells and current path while the robot solves or replays.
      *
-     * @param x The x-coordinate to check.
-     * @param y The y-coordinate to check.
-     * @return True if a path is available, false otherwise.
+     * @param overlay The overlay to draw on, or null to draw nothing.
      */
-    private boolean isPathAvailable(double x, double y) {
-        PixelReader pixelReader = mazeImage.getPixelReader();
-        if (x < 0 || x >= mazeImage.getWidth() || y < 0 || y >= mazeImage.getHeight()) {
-            return false;
+    public void setOverlay(ExplorationOverlay overlay) {
+        this.overlay = overlay;
+    }
+
+    /**
+     * Clears the overlay, if one is shown, before a new solve or replay.
+     */
+    private void clearOverlay() {
+        if (overlay != null) {
+            overlay.clear();
         }
-        Color color = pixelReader.getColor((int) x, (int) y);
-        return color.equals(pathColor);
     }
 
     /**
-     * Gets the path color from the robot's starting position.
+     * Records a point the robot passes on the overlay, if one is shown.
      *
-     * @return The Color object representing the path color.
+     * @param p The point passed.
      */
-    private Color getPathColor() {
-        PixelReader pixelReader = mazeImage.getPixelReader();
-        return pixelReader.getColor((int) x, (int) y);
+    private void trace(Point p) {
+        if (overlay != null) {
+            overlay.trace(p);
+        }
+    }
+
+    /**
+     * Moves the robot to a specific point.
+     *
+     * @param p The point to move the robot to.
+     */
+    private void moveTo(Point p) {
+        x = p.x;
+        y = p.y;
+        updateRobotPosition();
     }
 
     /**
@@ -375,6 +364,15 @@ public class Robot {
         robotView.setX(x);
         robotView.setY(y);
     }
+    /**
+     * Gets the maze the robot navigates.
+     *
+     * @return The maze.
+     */
+    public Maze getMaze() {
+        return maze;
+    }
+
     /**
      * Gets the current x-coordinate of the robot.
      *
@@ -392,62 +390,4 @@ public class Robot {
     public double getY() {
         return y;
     }
-
-    /**
-     * Represents a point in 2D space.
-     */
-    private static class Point {
-        /** The x-coordinate of the point. */
-        double x;
-        /** The y-coordinate of the point. */
-        double y;
-
-        /**
-         * Constructs a new Point.
-         *
-         * @param x The x-coordinate.
-         * @param y The y-coordinate.
-         */
-        Point(double x, double y) {
-            this.x = x;
-            this.y = y;
-        }
-
-        /**
-         * Checks if this Point is equal to another object.
-         *
-         * @param o The object to compare with.
-         * @return true if the objects are equal, false otherwise.
-         */
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            Point point = (Point) o;
-            return Double.compare(point.x, x) == 0 && Double.compare(point.y, y) == 0;
-        }
-
-        /**
-         * Generates a hash code for this Point.
-         *
-         * @return The hash code.
-         */
-        @Override
-        public int hashCode() {
-            return Objects.hash(x, y);
-        }
-
-        /**
-         * Returns a string representation of this Point.
-         *
-         * @return A string representation of the Point.
-         */
-        @Override
-        public String toString() {
-            return "Point{" +
-                    "x=" + x +
-                    ", y=" + y +
-                    '}';
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+package org.example.mazewithrobot;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of maze solutions, so that mazes that were solved before are not solved again.
+ *
+ * <p>Entries are content-addressed: the key is a hash of the decoded maze pixels, the start
+ * position, the robot and step sizes and the solver, so a renamed or re-encoded image still hits
+ * the cache, while any change that could alter the solution misses it. Each entry holds the
+ * openings of the maze and the solved route as a {@link PathFile}.</p>
+ *
+ * <p>The cache is bounded in bytes. Reading an entry refreshes its modification time, and writing
+ * an entry evicts the least recently used ones until the cache fits its bound again.</p>
+ */
+public class SolutionCache {
+    /** The default upper bound on the size of the cache, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    /** The magic bytes every cache entry starts with. */
+    private static final byte[] MAGIC = {'M', 'W', 'R', 'C'};
+
+    /** The version of the entry format written by this class. */
+    private static final int VERSION = 1;
+
+    /** The file name extension of cache entries. */
+    private static final String EXTENSION = ".sol";
+
+    /** The directory holding the cache entries. */
+    private final Path directory;
+
+    /** The upper bound on the total size of the cache entries, in bytes. */
+    private final long maxBytes;
+
+    /**
+     * Constructs a cache stored in a directory.
+     *
+     * @param directory The directory holding the cache entries; it is created when needed.
+     * @param maxBytes The upper bound on the total size of the cache entries, in bytes.
+     */
+    public SolutionCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Creates the cache in the user's home directory, bounded by {@link #DEFAULT_MAX_BYTES}.
+     *
+     * @return The default cache.
+     */
+    public static SolutionCache defaultCache() {
+        return new SolutionCache(Path.of(System.getProperty("user.home"), ".mazewithrobot", "cache"), DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Computes the cache key of a maze solution.
+     *
+     * @param gridHash The content hash of the maze grid, see {@link MazeSource#contentHash()}.
+     * @param startX The x-coordinate the robot starts from.
+     * @param startY The y-coordinate the robot starts from.
+     * @param solver The name of the search algorithm that produced the solution.
+     * @return The cache key.
+     */
+    public static String key(byte[] gridHash, double startX, double startY, String solver) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(gridHash);
+        digest.update(ByteBuffer.allocate(2 * Double.BYTES + 2 * Integer.BYTES)
+                .putDouble(startX).putDouble(startY)
+                .putInt(Maze.ROBOT_SIZE).putInt(Maze.STEP_SIZE)
+                .flip());
+        digest.update(solver.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Looks up a solution.
+     * A missing, unreadable or corrupt entry is treated as a miss.
+     *
+     * @param key The cache key, see {@link #key(byte[], double, double, String)}.
+     * @return The cached solution, or null if there is none.
+     */
+    public Entry get(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            Entry entry = readEntry(new DataInputStream(in));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return entry;
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a solution, then evicts the least recently used entries if the cache grew too large.
+     * The entry is written to a temporary file first, so readers never see a partial entry.
+     *
+     * @param key The cache key, see {@link #key(byte[], double, double, String)}.
+     * @param entry The solution to store.
+     * @throws IOException If the entry cannot be written.
+     */
+    public void put(String key, Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writeEntry(out, entry);
+            }
+            Files.move(temporary, directory.resolve(key + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        evict();
+    }
+
+    /**
+     * Deletes the least recently used entries until the cache fits its size bound.
+     *
+     * @throws IOException If the cache directory cannot be listed.
+     */
+    private void evict() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = new ArrayList<>(listing.filter(file -> file.toString().endsWith(EXTENSION)).toList());
+        }
+        long[] sizes = new long[files.size()];
+        long[] times = new long[files.size()];
+        long total = 0;
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                sizes[i] = Files.size(files.get(i));
+                times[i] = Files.getLastModifiedTime(files.get(i)).toMillis();
+            } catch (NoSuchFileException e) {
+                // Deleted concurrently by another process
+                sizes[i] = 0;
+            }
+            total += sizes[i];
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        Integer[] order = new Integer[files.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingLong(i -> times[i]));
+        for (int i = 0; i < order.length && total > maxBytes; i++) {
+            Files.deleteIfExists(files.get(order[i]));
+            total -= sizes[order[i]];
+        }
+    }
+
+    /**
+     * Writes a cache entry.
+     *
+     * @param out The stream to write to.
+     * @param entry The entry to write.
+     * @throws IOException If the entry cannot be written.
+     */
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(entry.openings.size());
+        for (Point opening : entry.openings) {
+            out.writeDouble(opening.x);
+            out.writeDouble(opening.y);
+        }
+        entry.path.write(out);
+    }
+
+    /**
+     * Reads a cache entry.
+     *
+     * @param in The stream to read from.
+     * @return The entry read.
+     * @throws IOException If the stream cannot be read or does not hold a valid entry.
+     */
+    private static Entry readEntry(DataInputStream in) throws IOException {
+        byte[] magic = in.readNBytes(MAGIC.length);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a cache entry");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported cache entry version: " + version);
+        }
+        int count = in.readInt();
+        if (count < 0 || count > 1 << 20) {
+            throw new IOException("Corrupt opening count: " + count);
+        }
+        List<Point> openings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            openings.add(new Point(in.readDouble(), in.readDouble()));
+        }
+        return new Entry(openings, PathFile.read(in));
+    }
+
+    /**
+     * A cached solution: the openings of a maze and the route found through it.
+     */
+    public static class Entry {
+        /** The openings found on the borders of the maze. */
+        private final List<Point> openings;
+
+        /** The route from the start to the exit. */
+        private final PathFile path;
+
+        /**
+         * Constructs a new cache entry.
+         *
+         * @param openings The openings found on the borders of the maze.
+         * @param path The route from the start to the exit.
+         */
+        public Entry(List<Point> openings, PathFile path) {
+            this.openings = List.copyOf(openings);
+            this.path = path;
+        }
+
+        /**
+         * Gets the openings found on the borders of the maze.
+         *
+         * @return An unmodifiable list of openings.
+         */
+        public List<Point> getOpenings() {
+            return openings;
+        }
+
+        /**
+         * Gets the route from the start to the exit.
+         *
+         * @return The route.
+         */
+        public PathFile getPath() {
+            return path;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.mazewithrobot;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The outcome of a single {@link MazeSolver} query: the route found and what it cost to find it.
+ */
+public final class SolveResult {
+    /** The bean reporting the bytes allocated by each thread, or null if the JVM cannot. */
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    /** The name of the solver that produced the result. */
+    private final String solverName;
+
+    /** The lattice node ids along the route, or an empty array if no route was found. */
+    private final int[] route;
+
+    /** The number of nodes expanded by the search. */
+    private final int expandedCount;
+
+    /** The largest number of nodes waiting to be expanded. */
+    private final int peakFrontier;
+
+    /** The number of bytes allocated by the search on the calling thread, or -1 if unknown. */
+    private final long allocatedBytes;
+
+    /** The wall-clock time of the search, in nanoseconds. */
+    private final long nanos;
+
+    /**
+     * Constructs a result.
+     *
+     * @param solverName The name of the solver that produced the result.
+     * @param route The lattice node ids along the route, or an empty array if no route was found.
+     * @param expandedCount The number of nodes expanded by the search.
+     * @param peakFrontier The largest number of nodes waiting to be expanded.
+     * @param allocatedBytes The number of bytes allocated by the search on the calling thread, or -1 if unknown.
+     * @param nanos The wall-clock time of the search, in nanoseconds.
+     */
+    public SolveResult(String solverName, int[] route, int expandedCount, int peakFrontier, long allocatedBytes, long nanos) {
+        this.solverName = solverName;
+        this.route = route;
+        this.expandedCount = expandedCount;
+        this.peakFrontier = peakFrontier;
+        this.allocatedBytes = allocatedBytes;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets the thread bean of the JVM if it can report allocated bytes.
+     *
+     * @return The bean, or null if allocation measurement is not available.
+     */
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the total number of bytes allocated by the current thread so far.
+     *
+     * @return The allocated bytes, or -1 if allocation measurement is not available.
+     */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Checks if a route was found.
+     *
+     * @return True if the route is not empty.
+     */
+    public boolean isSolved() {
+        return route.length > 0;
+    }
+
+    /**
+     * Gets the name of the solver that produced the result.
+     *
+     * @return The solver name.
+     */
+    public String getSolverName() {
+        return solverName;
+    }
+
+    /**
+     * Gets the route found.
+     *
+     * @return The lattice node ids along the route, or an empty array if no route was found.
+     */
+    public int[] getRoute() {
+        return route;
+    }
+
+    /**
+     * Gets the number of steps along the route.
+     *
+     * @return The route length, or -1 if no route was found.
+     */
+    public int getLength() {
+        return route.length - 1;
+    }
+
+    /**
+     * Gets the number of nodes expanded by the search.
+     *
+     * @return The number of expanded nodes.
+     */
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    /**
+     * Gets the largest number of nodes waiting to be expanded.
+     *
+     * @return The peak frontier size.
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the search on the calling thread.
+     *
+     * @return The allocated bytes, or -1 if unknown, as for searches spread over several threads.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the wall-clock time of the search.
+     *
+     * @return The time in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Formats the result for logging.
+     *
+     * @return A one-line summary of the result.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: length %d, %d expanded, peak frontier %d, %d bytes, %.3f ms",
+                solverName, getLength(), expandedCount, peakFrontier, allocatedBytes, nanos / 1e6);
+    }
+}
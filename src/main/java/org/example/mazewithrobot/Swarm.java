@@ -0,0 +1,330 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Many robots walking the same maze at once, each from its own start, for throughput testing.
+ *
+ * <p>Every agent is a {@link DepthFirstSolver}: a bitset of visited nodes and an int stack of its
+ * path, over the maze's {@link Lattice}. The lattice and the grid under it are built once and only
+ * read afterwards, so all agents share them and can be stepped in parallel without locking. Each
+ * tick steps every agent that is still walking once, then publishes a copy of their positions for
+ * a renderer such as {@link SwarmView} to pick up.</p>
+ *
+ * <p>In cooperative mode, the agents instead follow the collision-free moves of a
+ * {@link CooperativePlanner}, starting apart and leaving the maze at the exit. A position of -1
+ * then marks an agent that has left.</p>
+ */
+public final class Swarm {
+    /** The lattice shared by every agent. */
+    private final Lattice lattice;
+
+    /** The search state of every agent, or null in cooperative mode. */
+    private final DepthFirstSolver[] agents;
+
+    /** True for every agent that has reached the exit or explored everything it can reach, or null in cooperative mode. */
+    private final boolean[] finished;
+
+    /** The planner of the agents' moves in cooperative mode, or null otherwise. */
+    private final CooperativePlanner planner;
+
+    /** The number of ticks taken since the planner last planned. */
+    private int windowStep;
+
+    /** The number of ticks in a row in which no agent moved. */
+    private int idleTicks;
+
+    /** The node id of every agent after the last tick, replaced by a new array on every tick. */
+    private volatile int[] positions;
+
+    /** The simulation speed, as a multiple of the normal speed. */
+    private volatile double speed = 1;
+
+    /** True once {@link #stop()} has been called. */
+    private volatile boolean stopped;
+
+    /** The number of agents still walking. */
+    private volatile int walking;
+
+    /** The number of ticks run so far. */
+    private long ticks;
+
+    /** The number of agent steps taken so far. */
+    private long steps;
+
+    /**
+     * Constructs a swarm of agents on random nodes reachable from the maze's start.
+     * The starts are distinct while there are enough reachable nodes; beyond that, agents share them.
+     *
+     * @param maze The maze to walk.
+     * @param count The number of agents.
+     * @param seed The seed choosing the start nodes.
+     * @throws IllegalArgumentException If the count is not positive or no node is reachable.
+     */
+    public Swarm(Maze maze, int count, long seed) {
+        this(maze, count, seed, false);
+    }
+
+    /**
+     * Constructs a swarm of agents on random nodes reachable from the maze's start.
+     * In cooperative mode, agents only start where their footprints do not overlap, so fewer agents
+     * than asked for may fit; otherwise the starts are distinct while there are enough reachable
+     * nodes, and beyond that agents share them.
+     *
+     * @param maze The maze to walk.
+     * @param count The number of agents.
+     * @param seed The seed choosing the start nodes.
+     * @param cooperative True to plan collision-free moves to the exit, false to let every agent search on its own.
+     * @throws IllegalArgumentException If the count is not positive or no node is reachable.
+     */
+    public Swarm(Maze maze, int count, long seed, boolean cooperative) {
+        this.lattice = maze.getLattice();
+        int[] reachable = reachableNodes(lattice);
+        if (count < 1 || reachable.length == 0) {
+            throw new IllegalArgumentException("Cannot place " + count + " robots on " + reachable.length + " reachable positions");
+        }
+
+        // Shuffle the reachable nodes and deal them out in turn
+        Random random = new Random(seed);
+        for (int i = reachable.length - 1; i > 0; i--) {
+            int pick = random.nextInt(i + 1);
+            int node = reachable[pick];
+            reachable[pick] = reachable[i];
+            reachable[i] = node;
+        }
+        if (cooperative) {
+            planner = new CooperativePlanner(lattice);
+            agents = null;
+            finished = null;
+            positions = planner.placeApart(reachable, count);
+            walking = positions.length;
+            if (walking < count) {
+                System.out.println("Only " + walking + " of " + count + " robots fit apart on this maze.");
+            }
+            return;
+        }
+        planner = null;
+        agents = new DepthFirstSolver[count];
+        int[] starts = new int[count];
+        for (int i = 0; i < count; i++) {
+            int node = reachable[i % reachable.length];
+            starts[i] = node;
+            agents[i] = new DepthFirstSolver(maze, lattice.x(node), lattice.y(node));
+        }
+        finished = new boolean[count];
+        positions = starts;
+        walking = count;
+    }
+
+    /**
+     * Lists the nodes reachable from the start of a lattice, in breadth-first order.
+     *
+     * @param lattice The lattice to search.
+     * @return The ids of the reachable nodes.
+     */
+    private static int[] reachableNodes(Lattice lattice) {
+        int start = lattice.start();
+        if (start < 0 || !lattice.isOpen(start)) {
+            return new int[0];
+        }
+        long[] seen = new long[(lattice.size() + 63) >>> 6];
+        int[] nodes = new int[16];
+        int count = 0;
+        IntQueue queue = new IntQueue(64);
+        queue.add(start);
+        seen[start >>> 6] |= 1L << start;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (count == nodes.length) {
+                nodes = Arrays.copyOf(nodes, count * 2);
+            }
+            nodes[count++] = node;
+            for (int direction = 0; direction < Lattice.DIRECTIONS.length; direction++) {
+                int neighbor = lattice.neighbor(node, direction);
+                if (neighbor >= 0 && (seen[neighbor >>> 6] & (1L << neighbor)) == 0) {
+                    seen[neighbor >>> 6] |= 1L << neighbor;
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return Arrays.copyOf(nodes, count);
+    }
+
+    /**
+     * Steps every agent that is still walking once and publishes their new positions.
+     *
+     * @return The number of agents still walking afterwards.
+     */
+    public int tick() {
+        return planner != null ? tickCooperatively() : tickIndependently();
+    }
+
+    /**
+     * Steps every agent that is still walking once, in parallel, each by its own search.
+     *
+     * @return The number of agents still walking afterwards.
+     */
+    private int tickIndependently() {
+        int[] previous = positions;
+        int[] next = new int[agents.length];
+        IntStream.range(0, agents.length).parallel().forEach(i -> {
+            DepthFirstSolver agent = agents[i];
+            if (!finished[i]) {
+                finished[i] = !agent.step() || agent.isAtExit();
+            }
+            next[i] = agent.getCurrentNode();
+        });
+
+        // Every step moves its agent to another node, so the moves are the changed positions
+        int remaining = 0;
+        for (int i = 0; i < agents.length; i++) {
+            if (next[i] != previous[i]) {
+                steps++;
+            }
+            if (!finished[i]) {
+                remaining++;
+            }
+        }
+        ticks++;
+        positions = next;
+        walking = remaining;
+        return remaining;
+    }
+
+    /**
+     * Moves every agent still in the maze one planned step, planning a new window when due.
+     * The swarm stops early when no agent has moved for a whole window: the planner has then
+     * found no way to make room, and planning again from the same positions gives the same moves.
+     *
+     * @return The number of agents still in the maze afterwards.
+     */
+    private int tickCooperatively() {
+        int[] previous = positions;
+        if (windowStep == 0) {
+            planner.plan(previous);
+        }
+        windowStep++;
+        int[] next = new int[previous.length];
+        int remaining = 0;
+        boolean moved = false;
+        for (int i = 0; i < previous.length; i++) {
+            next[i] = planner.positionAfter(i, windowStep);
+            if (next[i] != previous[i]) {
+                moved = true;
+                if (next[i] >= 0) {
+                    steps++;
+                }
+            }
+            if (next[i] >= 0) {
+                remaining++;
+            }
+        }
+        if (windowStep == CooperativePlanner.REPLAN_INTERVAL) {
+            windowStep = 0;
+        }
+        idleTicks = moved ? 0 : idleTicks + 1;
+        if (idleTicks >= CooperativePlanner.WINDOW && remaining > 0) {
+            System.out.println("Swarm stalled: " + remaining + " robots cannot get through.");
+            remaining = 0;
+        }
+        ticks++;
+        positions = next;
+        walking = remaining;
+        return remaining;
+    }
+
+    /**
+     * Ticks until every agent has finished or the swarm is stopped, paced by the speed.
+     * Runs on the calling thread, which must not be the JavaFX application thread.
+     * When the pace cannot be kept up, ticks run back to back until they catch up.
+     */
+    public void run() {
+        long begin = System.nanoTime();
+        long deadline = begin;
+        while (!stopped && walking > 0) {
+            tick();
+            deadline += (long) (PlaybackSpeed.NANOS_PER_STEP / speed);
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                deadline = System.nanoTime();
+            }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("Swarm of %d robots: %d reached the exit, %d steps in %d ticks, %.0f steps/s%n",
+                positions.length, getArrivedCount(), steps, ticks, steps / Math.max(seconds, 1e-9));
+    }
+
+    /**
+     * Stops a running swarm after its current tick.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Changes the simulation speed, taking effect from the next tick.
+     *
+     * @param speed The speed, as a multiple of the normal speed; clamped to the range of {@link PlaybackSpeed}.
+     */
+    public void setSpeed(double speed) {
+        this.speed = PlaybackSpeed.clamp(speed);
+    }
+
+    /**
+     * Gets the positions of the agents after the last tick.
+     * The array is never modified afterwards, so it can be read from any thread.
+     *
+     * @return The node id of every agent.
+     */
+    public int[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Checks if every agent has finished or the swarm was stopped.
+     *
+     * @return True if the swarm no longer moves, false otherwise.
+     */
+    public boolean isDone() {
+        return stopped || walking == 0;
+    }
+
+    /**
+     * Counts the agents standing at the exit or gone through it after the last tick.
+     *
+     * @return The number of agents that reached the exit.
+     */
+    public int getArrivedCount() {
+        Maze maze = lattice.getMaze();
+        int arrived = 0;
+        for (int node : positions) {
+            if (node < 0 || maze.isAtExit(lattice.x(node), lattice.y(node))) {
+                arrived++;
+            }
+        }
+        return arrived;
+    }
+
+    /**
+     * Gets the lattice the agents walk on.
+     *
+     * @return The shared lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Gets the number of agents.
+     *
+     * @return The number of agents.
+     */
+    public int size() {
+        return positions.length;
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.mazewithrobot;
+
+import javafx.animation.AnimationTimer;
+import javafx.concurrent.Task;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+
+/**
+ * Runs a {@link Swarm} in the background and draws its robots over the maze.
+ *
+ * <p>All robots are drawn on a single {@link Canvas}: once per pulse, an {@link AnimationTimer}
+ * picks up the latest published positions, clears the footprints drawn on the previous pulse and
+ * draws the robot image at every new position. The scene graph holds one node however many
+ * robots there are, and the JavaFX application thread never steps an agent.</p>
+ */
+public final class SwarmView {
+    /** The canvas the robots are drawn on. */
+    private final Canvas canvas;
+
+    /** The image drawn for every robot. */
+    private final Image robotImage;
+
+    /** The timer drawing the robots once per pulse. */
+    private final AnimationTimer timer;
+
+    /** The running swarm, or null when idle. */
+    private Swarm swarm;
+
+    /** The positions drawn on the previous pulse, or null if nothing is drawn. */
+    private int[] drawn;
+
+    /** Called once the running swarm has finished and its final positions are drawn. */
+    private Runnable onFinished;
+
+    /**
+     * Constructs an empty view. Must be called on the JavaFX application thread.
+     *
+     * @param width The width of the maze in pixels.
+     * @param height The height of the maze in pixels.
+     * @param robotImage The image drawn for every robot.
+     */
+    public SwarmView(int width, int height, Image robotImage) {
+        this.canvas = new Canvas(width, height);
+        this.canvas.setMouseTransparent(true);
+        this.robotImage = robotImage;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                draw();
+            }
+        };
+    }
+
+    /**
+     * Places a swarm on the maze and runs it until every robot has finished.
+     * The swarm is built and stepped off the JavaFX application thread.
+     *
+     * @param maze The maze to walk.
+     * @param count The number of robots.
+     * @param cooperative True to plan collision-free moves for the robots, false to let each search on its own.
+     * @param speed The simulation speed, as a multiple of the normal solving speed.
+     * @param onFinished Called on the JavaFX application thread once the swarm has finished or failed to start.
+     * @return True if the swarm is starting, false if one is already running.
+     */
+    public boolean run(Maze maze, int count, boolean cooperative, double speed, Runnable onFinished) {
+        if (swarm != null) {
+            return false;
+        }
+        this.onFinished = onFinished;
+        long seed = System.nanoTime();
+        Task<Swarm> task = new Task<>() {
+            @Override
+            protected Swarm call() {
+                return new Swarm(maze, count, seed, cooperative);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            swarm = task.getValue();
+            swarm.setSpeed(speed);
+            Thread thread = new Thread(swarm::run, "maze-swarm");
+            thread.setDaemon(true);
+            thread.start();
+            timer.start();
+        });
+        task.setOnFailed(event -> {
+            System.out.println("Could not start the swarm: " + task.getException().getMessage());
+            onFinished.run();
+        });
+        Thread thread = new Thread(task, "maze-swarm-setup");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Changes the speed of the running swarm, if any.
+     *
+     * @param speed The simulation speed, as a multiple of the normal solving speed; clamped to the range of {@link PlaybackSpeed}.
+     */
+    public void setSpeed(double speed) {
+        if (swarm != null) {
+            swarm.setSpeed(speed);
+        }
+    }
+
+    /**
+     * Stops the running swarm, if any, leaving its robots where they are.
+     */
+    public void stop() {
+        if (swarm != null) {
+            swarm.stop();
+        }
+    }
+
+    /**
+     * Redraws the robots at their latest positions, and finishes the run once the swarm is done.
+     */
+    private void draw() {
+        Swarm running = swarm;
+        if (running == null) {
+            return;
+        }
+        // Read the done flag first, so the positions drawn are at least as recent as it
+        boolean done = running.isDone();
+        int[] positions = running.getPositions();
+        if (positions != drawn) {
+            Lattice lattice = running.getLattice();
+            GraphicsContext graphics = canvas.getGraphicsContext2D();
+            if (drawn != null) {
+                for (int node : drawn) {
+                    if (node < 0) {
+                        continue;
+                    }
+                    graphics.clearRect(lattice.x(node), lattice.y(node), Maze.ROBOT_SIZE, Maze.ROBOT_SIZE);
+                }
+            }
+            for (int node : positions) {
+                // Robots that have left through the exit are no longer drawn
+                if (node < 0) {
+                    continue;
+                }
+                graphics.drawImage(robotImage, lattice.x(node), lattice.y(node), Maze.ROBOT_SIZE, Maze.ROBOT_SIZE);
+            }
+            drawn = positions;
+        }
+        if (done) {
+            timer.stop();
+            swarm = null;
+            onFinished.run();
+        }
+    }
+
+    /**
+     * Removes the robots of the last run from the canvas.
+     */
+    public void clear() {
+        if (drawn != null && swarm == null) {
+            canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            drawn = null;
+        }
+    }
+
+    /**
+     * Gets the node showing the robots, to be placed over the maze.
+     *
+     * @return The canvas.
+     */
+    public Canvas getView() {
+        return canvas;
+    }
+}
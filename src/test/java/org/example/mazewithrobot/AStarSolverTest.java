@@ -0,0 +1,68 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link AStarSolver}, with and without its heuristic, finds routes as short as {@link BreadthFirstSolver}.
+ */
+class AStarSolverTest {
+    /** The number of random start and goal pairs tried on every maze. */
+    private static final int PAIRS = 40;
+
+    /**
+     * Solves random pairs of nodes with A*, Dijkstra and breadth-first search and compares the routes.
+     *
+     * @param lattice The lattice to solve.
+     * @param seed The seed picking the pairs.
+     */
+    private static void matchBreadthFirst(Lattice lattice, long seed) {
+        Random random = new Random(seed);
+        BreadthFirstSolver reference = new BreadthFirstSolver(lattice);
+        AStarSolver astar = new AStarSolver(lattice);
+        AStarSolver dijkstra = new AStarSolver(lattice, false);
+        for (int pair = 0; pair < PAIRS; pair++) {
+            int start = TestMazes.randomOpenNode(lattice, random, 0, lattice.getColumns());
+            int goal = TestMazes.randomOpenNode(lattice, random, 0, lattice.getColumns());
+            int[] expected = reference.solve(start, goal);
+            for (AStarSolver solver : new AStarSolver[]{astar, dijkstra}) {
+                int[] actual = solver.solve(start, goal);
+                if (expected.length == 0) {
+                    assertEquals(0, actual.length, solver.getName() + " found a route bfs did not");
+                } else {
+                    TestMazes.assertValidRoute(lattice, actual, start, goal);
+                    assertEquals(expected.length, actual.length, solver.getName() + " route from " + start + " to " + goal);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesBreadthFirstOnGeneratedMazes() {
+        for (long seed = 1; seed <= 3; seed++) {
+            matchBreadthFirst(TestMazes.braidedLattice(seed), seed);
+        }
+    }
+
+    @Test
+    void matchesBreadthFirstOnScatteredWalls() {
+        for (int wallPercent : new int[]{0, 4, 8}) {
+            matchBreadthFirst(TestMazes.scatteredLattice(600, wallPercent, false, wallPercent), wallPercent);
+        }
+    }
+
+    @Test
+    void findsNoRouteAcrossDividingWall() {
+        Lattice lattice = TestMazes.scatteredLattice(600, 5, true, 7);
+        Random random = new Random(7);
+        int half = lattice.getColumns() / 2;
+        int start = TestMazes.randomOpenNode(lattice, random, 0, half - 2);
+        int goal = TestMazes.randomOpenNode(lattice, random, half + 1, lattice.getColumns());
+
+        assertEquals(0, new AStarSolver(lattice).solve(start, goal).length);
+        assertEquals(0, new AStarSolver(lattice, false).solve(start, goal).length);
+    }
+}
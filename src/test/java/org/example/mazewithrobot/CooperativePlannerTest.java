@@ -0,0 +1,90 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the moves a {@link CooperativePlanner} plans for a {@link Swarm} never collide.
+ */
+class CooperativePlannerTest {
+    /** The number of robots asked for on every test maze. */
+    private static final int ROBOTS = 60;
+
+    /**
+     * Checks if the footprints of two robots, each swept from its previous to its current node, overlap.
+     *
+     * @param lattice The lattice the robots move on.
+     * @param from The previous node of the first robot.
+     * @param to The current node of the first robot.
+     * @param otherFrom The previous node of the second robot.
+     * @param otherTo The current node of the second robot.
+     * @return True if the swept footprints share a cell.
+     */
+    private static boolean sweptOverlap(Lattice lattice, int from, int to, int otherFrom, int otherTo) {
+        int reach = ReservationTable.FOOTPRINT - 1;
+        return Math.min(lattice.column(from), lattice.column(to))
+                <= Math.max(lattice.column(otherFrom), lattice.column(otherTo)) + reach
+                && Math.min(lattice.column(otherFrom), lattice.column(otherTo))
+                <= Math.max(lattice.column(from), lattice.column(to)) + reach
+                && Math.min(lattice.row(from), lattice.row(to))
+                <= Math.max(lattice.row(otherFrom), lattice.row(otherTo)) + reach
+                && Math.min(lattice.row(otherFrom), lattice.row(otherTo))
+                <= Math.max(lattice.row(from), lattice.row(to)) + reach;
+    }
+
+    /**
+     * Runs a cooperative swarm to the end, checking every tick that no two robots overlap or swap
+     * places and that no robot moves further than to a neighbor.
+     *
+     * @param maze The maze to run on.
+     * @param seed The seed placing the robots.
+     */
+    private static void runWithoutCollisions(Maze maze, long seed) {
+        Swarm swarm = new Swarm(maze, ROBOTS, seed, true);
+        Lattice lattice = swarm.getLattice();
+        int[] previous = swarm.getPositions();
+        int count = previous.length;
+        assertTrue(count > 1, "Only " + count + " robots fit");
+        int footprint = ReservationTable.FOOTPRINT;
+        while (!swarm.isDone()) {
+            swarm.tick();
+            int[] current = swarm.getPositions();
+            for (int i = 0; i < count; i++) {
+                if (current[i] < 0) {
+                    continue;
+                }
+                assertTrue(previous[i] >= 0, "Robot " + i + " came back");
+                assertTrue(lattice.manhattan(previous[i], current[i]) <= 1, "Robot " + i + " jumped");
+                for (int j = i + 1; j < count; j++) {
+                    if (current[j] < 0) {
+                        continue;
+                    }
+                    assertFalse(Math.abs(lattice.column(current[i]) - lattice.column(current[j])) < footprint
+                                    && Math.abs(lattice.row(current[i]) - lattice.row(current[j])) < footprint,
+                            "Robots " + i + " and " + j + " overlap with seed " + seed);
+                    assertFalse(sweptOverlap(lattice, previous[i], current[i], previous[j], current[j]),
+                            "Robots " + i + " and " + j + " collide while moving with seed " + seed);
+                }
+            }
+            previous = current;
+        }
+        assertEquals(count, swarm.getArrivedCount(), "Robots stalled with seed " + seed);
+    }
+
+    @Test
+    void perfectMazeRunsWithoutCollisions() {
+        Maze maze = new MazeGenerator(30, 30, 5).generateMaze(MazeGenerator.Algorithm.KRUSKAL);
+        for (long seed = 1; seed <= 5; seed++) {
+            runWithoutCollisions(maze, seed);
+        }
+    }
+
+    @Test
+    void braidedMazeRunsWithoutCollisions() {
+        Maze maze = new MazeGenerator(30, 30, 5).generateMaze(MazeGenerator.Algorithm.BRAIDED);
+        for (long seed = 1; seed <= 5; seed++) {
+            runWithoutCollisions(maze, seed);
+        }
+    }
+}
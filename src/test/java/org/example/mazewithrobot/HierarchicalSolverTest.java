@@ -0,0 +1,68 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link HierarchicalSolver} finds valid routes wherever {@link BreadthFirstSolver} finds one.
+ * The routes are only near-optimal, so they may be longer than the breadth-first ones but never shorter.
+ */
+class HierarchicalSolverTest {
+    /** The number of random start and goal pairs tried on every maze. */
+    private static final int PAIRS = 40;
+
+    /** The cluster size of the test graphs, small enough for many clusters on the test mazes. */
+    private static final int CLUSTER_SIZE = 8;
+
+    /**
+     * Solves random pairs of nodes with hierarchical and breadth-first search and compares the routes.
+     *
+     * @param lattice The lattice to solve.
+     * @param seed The seed picking the pairs.
+     */
+    private static void matchBreadthFirst(Lattice lattice, long seed) {
+        Random random = new Random(seed);
+        BreadthFirstSolver reference = new BreadthFirstSolver(lattice);
+        HierarchicalSolver solver = new HierarchicalSolver(new ClusterGraph(lattice, CLUSTER_SIZE));
+        for (int pair = 0; pair < PAIRS; pair++) {
+            int start = TestMazes.randomOpenNode(lattice, random, 0, lattice.getColumns());
+            int goal = TestMazes.randomOpenNode(lattice, random, 0, lattice.getColumns());
+            int[] expected = reference.solve(start, goal);
+            int[] actual = solver.solve(start, goal);
+            if (expected.length == 0) {
+                assertEquals(0, actual.length, "Found a route bfs did not");
+            } else {
+                TestMazes.assertValidRoute(lattice, actual, start, goal);
+                assertTrue(actual.length >= expected.length, "Route from " + start + " to " + goal + " beats bfs");
+            }
+        }
+    }
+
+    @Test
+    void findsValidRoutesOnGeneratedMazes() {
+        for (long seed = 1; seed <= 3; seed++) {
+            matchBreadthFirst(TestMazes.braidedLattice(seed), seed);
+        }
+    }
+
+    @Test
+    void findsValidRoutesOnScatteredWalls() {
+        for (int wallPercent : new int[]{0, 4, 8}) {
+            matchBreadthFirst(TestMazes.scatteredLattice(600, wallPercent, false, wallPercent), wallPercent);
+        }
+    }
+
+    @Test
+    void findsNoRouteAcrossDividingWall() {
+        Lattice lattice = TestMazes.scatteredLattice(600, 5, true, 7);
+        Random random = new Random(7);
+        int half = lattice.getColumns() / 2;
+        int start = TestMazes.randomOpenNode(lattice, random, 0, half - 2);
+        int goal = TestMazes.randomOpenNode(lattice, random, half + 1, lattice.getColumns());
+
+        assertEquals(0, new HierarchicalSolver(new ClusterGraph(lattice, CLUSTER_SIZE)).solve(start, goal).length);
+    }
+}
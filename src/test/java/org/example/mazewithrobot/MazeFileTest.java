@@ -0,0 +1,116 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests writing and mapping mazes in the {@link MazeFile} format.
+ */
+class MazeFileTest {
+    /** The path color stored with the test mazes. */
+    private static final int PATH_ARGB = 0xFFFFFFFF;
+
+    /** The directory the test files are written to. */
+    @TempDir
+    Path directory;
+
+    /**
+     * Generates a small maze whose width is not a multiple of 64, so rows end in a partial word.
+     *
+     * @return The maze.
+     */
+    private static Maze generateMaze() {
+        return new MazeGenerator(7, 5, 3).generateMaze(MazeGenerator.Algorithm.KRUSKAL);
+    }
+
+    @Test
+    void roundTripKeepsGridStartAndOpenings() throws IOException {
+        Maze maze = generateMaze();
+        Path file = directory.resolve("maze.mwrg");
+
+        MazeFile.write(file, maze, PATH_ARGB);
+        MazeFile read = MazeFile.open(file);
+
+        MazeSource expected = maze.getGrid();
+        MazeSource actual = read.getMaze().getGrid();
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        long[] expectedRow = new long[(expected.getWidth() + 63) >>> 6];
+        long[] actualRow = new long[expectedRow.length];
+        for (int y = 0; y < expected.getHeight(); y++) {
+            expected.copyRow(y, expectedRow);
+            actual.copyRow(y, actualRow);
+            assertTrue(Arrays.equals(expectedRow, actualRow), "Row " + y + " differs");
+        }
+        assertEquals(maze.getOpenings(), read.getMaze().getOpenings());
+        assertEquals(maze.getStart(), read.getMaze().getStart());
+        assertEquals((int) maze.getStart().getX(), read.getStartX());
+        assertEquals((int) maze.getStart().getY(), read.getStartY());
+        assertEquals(PATH_ARGB, read.getPathArgb());
+        assertArrayEquals(expected.contentHash(), read.getContentHash());
+        assertArrayEquals(expected.contentHash(), actual.contentHash());
+    }
+
+    @Test
+    void readHeaderMatchesOpenedFile() throws IOException {
+        Maze maze = generateMaze();
+        Path file = directory.resolve("maze.mwrg");
+
+        MazeFile.write(file, maze, PATH_ARGB);
+        MazeFile.Header header = MazeFile.readHeader(file);
+
+        assertEquals(maze.getGrid().getWidth(), header.getWidth());
+        assertEquals(maze.getGrid().getHeight(), header.getHeight());
+        assertEquals((int) maze.getStart().getX(), header.getStartX());
+        assertEquals((int) maze.getStart().getY(), header.getStartY());
+        assertEquals(PATH_ARGB, header.getPathArgb());
+        assertArrayEquals(maze.getGrid().contentHash(), header.getContentHash());
+    }
+
+    @Test
+    void rejectsBadMagic() throws IOException {
+        Path file = directory.resolve("maze.mwrg");
+        MazeFile.write(file, generateMaze(), PATH_ARGB);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[3] = 'X';
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> MazeFile.open(file));
+        assertTrue(e.getMessage().startsWith("Not a maze file"), e.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path file = directory.resolve("maze.mwrg");
+        MazeFile.write(file, generateMaze(), PATH_ARGB);
+        byte[] bytes = Files.readAllBytes(file);
+
+        for (int length : new int[]{0, 10, 63, 64, bytes.length - 8, bytes.length - 1}) {
+            Path truncated = directory.resolve("truncated-" + length + ".mwrg");
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> MazeFile.open(truncated), "Truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsHugeOpeningCount() throws IOException {
+        Path file = directory.resolve("maze.mwrg");
+        MazeFile.write(file, generateMaze(), PATH_ARGB);
+        byte[] bytes = Files.readAllBytes(file);
+        // The opening count follows the width, height, start and path color
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(28, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> MazeFile.open(file));
+        assertTrue(e.getMessage().startsWith("Corrupt maze file header"), e.getMessage());
+    }
+}
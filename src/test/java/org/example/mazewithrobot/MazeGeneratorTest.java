@@ -0,0 +1,65 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link MazeGenerator} builds reproducible, solvable mazes with every algorithm.
+ */
+class MazeGeneratorTest {
+    /** The number of cell columns of the test mazes, more than one word of cells. */
+    private static final int COLUMNS = 70;
+
+    /** The number of cell rows of the test mazes. */
+    private static final int ROWS = 25;
+
+    /** The directory the test images are written to. */
+    @TempDir
+    Path directory;
+
+    @Test
+    void sameSeedGivesSameMaze() {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            byte[] first = new MazeGenerator(COLUMNS, ROWS, 42).generateGrid(algorithm).contentHash();
+            byte[] second = new MazeGenerator(COLUMNS, ROWS, 42).generateGrid(algorithm).contentHash();
+            byte[] other = new MazeGenerator(COLUMNS, ROWS, 43).generateGrid(algorithm).contentHash();
+
+            assertArrayEquals(first, second, algorithm + " is not reproducible");
+            assertFalse(Arrays.equals(first, other), algorithm + " ignores the seed");
+        }
+    }
+
+    @Test
+    void everyAlgorithmGivesSolvableMaze() {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (long seed = 1; seed <= 3; seed++) {
+                Maze maze = new MazeGenerator(COLUMNS, ROWS, seed).generateMaze(algorithm);
+                Lattice lattice = maze.getLattice();
+
+                assertEquals(2, maze.getOpenings().size(), algorithm + " with seed " + seed);
+                int[] route = new BreadthFirstSolver(lattice).solve(lattice.start(), lattice.goal());
+                TestMazes.assertValidRoute(lattice, route, lattice.start(), lattice.goal());
+            }
+        }
+    }
+
+    @Test
+    void pngMatchesGeneratedGrid() throws IOException {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            MazeGenerator generator = new MazeGenerator(COLUMNS, ROWS, 7);
+            Path file = directory.resolve(algorithm + ".png");
+
+            generator.writePng(algorithm, file);
+            Maze loaded = MazeLoader.load(file, MazeGenerator.START_X, MazeGenerator.START_Y);
+
+            assertArrayEquals(generator.generateGrid(algorithm).contentHash(), loaded.getGrid().contentHash(),
+                    algorithm + " image differs from its grid");
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the word-at-a-time border scans of {@link OpeningDetector} find the openings of a plain per-pixel scan.
+ */
+class OpeningDetectorTest {
+    /** The number of pixels next to every border that get random passability. */
+    private static final int BORDER_DEPTH = 8;
+
+    /**
+     * Finds the openings of a maze one pixel at a time, as the detector did before scanning words.
+     *
+     * @param grid The passability of the maze pixels.
+     * @return The middle points of the openings, top border first, then bottom, left and right.
+     */
+    private static List<Point> findOpeningsPerPixel(MazeSource grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        List<Point> openings = new ArrayList<>();
+        for (int border = 0; border < 4; border++) {
+            boolean isHorizontal = border < 2;
+            int fixed = border % 2 == 0 ? 0 : (isHorizontal ? height : width) - 1;
+            int length = isHorizontal ? width : height;
+            int openingStart = -1;
+            for (int i = 0; i <= length; i++) {
+                boolean passable = i < length && (isHorizontal ? grid.isPassable(i, fixed) : grid.isPassable(fixed, i));
+                if (passable && openingStart < 0) {
+                    openingStart = i;
+                } else if (!passable && openingStart >= 0) {
+                    int openingWidth = i - openingStart;
+                    if (openingWidth >= OpeningDetector.MIN_OPENING_WIDTH && leadsInside(grid, openingStart, fixed, isHorizontal)) {
+                        int openingMiddle = openingStart + openingWidth / 2;
+                        openings.add(isHorizontal ? new Point(openingMiddle, fixed) : new Point(fixed, openingMiddle));
+                    }
+                    openingStart = -1;
+                }
+            }
+        }
+        return openings;
+    }
+
+    /**
+     * Checks if any of the five pixels inward from the start of a border run is passable.
+     *
+     * @param grid The passability of the maze pixels.
+     * @param start The coordinate of the start of the run along the border.
+     * @param fixed The coordinate of the border.
+     * @param isHorizontal True for the top and bottom borders, false for the left and right ones.
+     * @return True if the run leads into the maze.
+     */
+    private static boolean leadsInside(MazeSource grid, int start, int fixed, boolean isHorizontal) {
+        for (int depth = 1; depth <= 5; depth++) {
+            int inward = fixed == 0 ? fixed + depth : fixed - depth;
+            int x = isHorizontal ? start : inward;
+            int y = isHorizontal ? inward : start;
+            if (x < 0 || x >= grid.getWidth() || y < 0 || y >= grid.getHeight()) {
+                return false;
+            }
+            if (grid.isPassable(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a grid whose borders are runs of path and wall pixels of random lengths, with random
+     * pixels just inside them, so that some runs lead into the maze and some do not.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @param seed The seed of the pixels.
+     * @return The grid.
+     */
+    private static PassabilityGrid randomBorders(int width, int height, long seed) {
+        Random random = new Random(seed);
+        PassabilityGrid grid = new PassabilityGrid(width, height);
+        for (int depth = 0; depth < BORDER_DEPTH; depth++) {
+            boolean passable = random.nextBoolean();
+            for (int x = 0; x < width; ) {
+                int run = 1 + random.nextInt(depth == 0 ? 90 : 4);
+                for (int end = Math.min(width, x + run); x < end; x++) {
+                    grid.setPassable(x, depth, passable);
+                    grid.setPassable(x, height - 1 - depth, passable ^ depth % 3 == 1);
+                }
+                passable = !passable;
+            }
+            for (int y = 0; y < height; ) {
+                int run = 1 + random.nextInt(depth == 0 ? 90 : 4);
+                for (int end = Math.min(height, y + run); y < end; y++) {
+                    grid.setPassable(depth, y, passable);
+                    grid.setPassable(width - 1 - depth, y, passable ^ depth % 3 == 2);
+                }
+                passable = !passable;
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    void matchesPerPixelScanOnRandomBorders() {
+        Random sizes = new Random(1);
+        for (long seed = 0; seed < 200; seed++) {
+            int width = BORDER_DEPTH * 2 + sizes.nextInt(700);
+            int height = BORDER_DEPTH * 2 + sizes.nextInt(700);
+            PassabilityGrid grid = randomBorders(width, height, seed);
+
+            assertEquals(findOpeningsPerPixel(grid), OpeningDetector.findOpenings(grid), width + "x" + height + " grid with seed " + seed);
+        }
+    }
+
+    @Test
+    void matchesPerPixelScanWhenScanningInParallel() {
+        // Wide enough for the four borders to be scanned in parallel
+        for (long seed = 0; seed < 5; seed++) {
+            PassabilityGrid grid = randomBorders(5_003, 3_301, seed);
+
+            List<Point> openings = OpeningDetector.findOpenings(grid);
+            assertFalse(openings.isEmpty());
+            assertEquals(findOpeningsPerPixel(grid), openings, "Seed " + seed);
+        }
+    }
+
+    @Test
+    void matchesPerPixelScanOnGeneratedMazes() {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            PassabilityGrid grid = new MazeGenerator(67, 41, 9).generateGrid(algorithm);
+
+            List<Point> openings = OpeningDetector.findOpenings(grid);
+            assertEquals(2, openings.size(), algorithm.toString());
+            assertEquals(findOpeningsPerPixel(grid), openings, algorithm.toString());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link ParallelBfsSolver} finds exactly the routes of {@link BreadthFirstSolver}.
+ */
+class ParallelBfsSolverTest {
+    /** The width and height of the test mazes in pixels, wide enough for levels above the parallel threshold. */
+    private static final int SIDE = 16_000;
+
+    /**
+     * Builds a square open maze scattered with wall blocks of one lattice cell.
+     *
+     * @param wallPercent The chance of every block being a wall, in percent.
+     * @param seed The seed placing the walls.
+     * @return The lattice of the maze.
+     */
+    private static Lattice scatteredLattice(int wallPercent, long seed) {
+        Random random = new Random(seed);
+        PassabilityGrid grid = new PassabilityGrid(SIDE, SIDE);
+        int blocks = SIDE / Maze.STEP_SIZE;
+        long[] row = new long[(SIDE + 63) >>> 6];
+        for (int blockRow = 0; blockRow < blocks; blockRow++) {
+            Arrays.fill(row, -1L);
+            row[row.length - 1] = -1L >>> (64 - (SIDE & 63));
+            for (int blockColumn = 0; blockColumn < blocks; blockColumn++) {
+                if (random.nextInt(100) < wallPercent) {
+                    for (int x = blockColumn * Maze.STEP_SIZE; x < (blockColumn + 1) * Maze.STEP_SIZE; x++) {
+                        row[x >>> 6] &= ~(1L << x);
+                    }
+                }
+            }
+            for (int y = blockRow * Maze.STEP_SIZE; y < (blockRow + 1) * Maze.STEP_SIZE; y++) {
+                grid.setRow(y, row);
+            }
+        }
+        // The openings are irrelevant to the search, so skip scanning the borders for them
+        Maze maze = new Maze(grid, SIDE / 2.0, SIDE / 2.0, List.of(new Point(0, 0), new Point(SIDE - 1, SIDE - 1)));
+        return maze.getLattice();
+    }
+
+    /**
+     * Finds the open node nearest to a lattice position, scanning along its row.
+     *
+     * @param lattice The lattice.
+     * @param column The column to start from.
+     * @param row The row of the node.
+     * @return The node id.
+     */
+    private static int openNodeNear(Lattice lattice, int column, int row) {
+        for (int offset = 0; offset < lattice.getColumns(); offset++) {
+            int candidate = lattice.id(Math.min(column + offset, lattice.getColumns() - 1), row);
+            if (lattice.isOpen(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Row " + row + " is closed");
+    }
+
+    @Test
+    void matchesSerialSearchAcrossParallelLevels() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int wallPercent : new int[]{0, 3}) {
+                Lattice lattice = scatteredLattice(wallPercent, wallPercent);
+                int start = openNodeNear(lattice, lattice.getColumns() / 2, lattice.getRows() / 2);
+                int goal = openNodeNear(lattice, 0, 0);
+
+                BreadthFirstSolver serial = new BreadthFirstSolver(lattice);
+                ParallelBfsSolver parallel = new ParallelBfsSolver(lattice, pool);
+                int[] expected = serial.solve(start, goal);
+                int[] actual = parallel.solve(start, goal);
+
+                assertTrue(expected.length > 0, "No route with " + wallPercent + "% walls");
+                assertArrayEquals(expected, actual, "Routes differ with " + wallPercent + "% walls");
+                assertTrue(parallel.getPeakFrontier() >= ParallelBfsSolver.PARALLEL_THRESHOLD,
+                        "Peak level of " + parallel.getPeakFrontier() + " with " + wallPercent + "% walls never ran in parallel");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests reading and writing routes in the {@link PathFile} format.
+ */
+class PathFileTest {
+    /** The maze hash the test routes belong to. */
+    private static final byte[] HASH = {1, 2, 3, 4, 5, 6, 7, 8};
+
+    /**
+     * Builds a random walk of unit steps, with straight runs of varying length.
+     *
+     * @param steps The number of steps.
+     * @param seed The seed of the walk.
+     * @return The points of the walk, start included.
+     */
+    private static List<Point> randomWalk(int steps, long seed) {
+        Random random = new Random(seed);
+        List<Point> points = new ArrayList<>();
+        int x = -30;
+        int y = 50;
+        points.add(new Point(x, y));
+        int direction = 0;
+        for (int i = 0; i < steps; i++) {
+            if (random.nextInt(8) == 0) {
+                direction = random.nextInt(Lattice.DIRECTIONS.length);
+            }
+            x += Lattice.DIRECTIONS[direction][0] * Maze.STEP_SIZE;
+            y += Lattice.DIRECTIONS[direction][1] * Maze.STEP_SIZE;
+            points.add(new Point(x, y));
+        }
+        return points;
+    }
+
+    /**
+     * Writes a route to bytes.
+     *
+     * @param path The route.
+     * @return The encoded route.
+     * @throws IOException If the route cannot be written.
+     */
+    private static byte[] encode(PathFile path) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        path.write(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a route from bytes.
+     *
+     * @param bytes The encoded route.
+     * @return The route.
+     * @throws IOException If the bytes do not hold a valid route.
+     */
+    private static PathFile decode(byte[] bytes) throws IOException {
+        return PathFile.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    void roundTripKeepsEveryPoint() throws IOException {
+        List<Point> points = randomWalk(10_000, 42);
+        PathFile path = PathFile.fromPoints(HASH, Maze.STEP_SIZE, points);
+
+        PathFile read = decode(encode(path));
+
+        assertEquals(points, read.toPoints());
+        assertEquals(10_000, read.getStepCount());
+        assertEquals(path.getRunCount(), read.getRunCount());
+        assertEquals(Maze.STEP_SIZE, read.getStepSize());
+        assertTrue(read.matches(HASH));
+        assertFalse(read.matches(new byte[HASH.length]));
+    }
+
+    @Test
+    void roundTripKeepsSingleStartPoint() throws IOException {
+        List<Point> points = List.of(new Point(10, 260));
+
+        PathFile read = decode(encode(PathFile.fromPoints(HASH, Maze.STEP_SIZE, points)));
+
+        assertEquals(points, read.toPoints());
+        assertEquals(0, read.getStepCount());
+    }
+
+    @Test
+    void rejectsBadMagic() throws IOException {
+        byte[] bytes = encode(PathFile.fromPoints(HASH, Maze.STEP_SIZE, randomWalk(100, 1)));
+        bytes[0] = 'X';
+
+        IOException e = assertThrows(IOException.class, () -> decode(bytes));
+        assertEquals("Not a path file", e.getMessage());
+    }
+
+    @Test
+    void rejectsEveryTruncation() throws IOException {
+        byte[] bytes = encode(PathFile.fromPoints(HASH, Maze.STEP_SIZE, randomWalk(1_000, 2)));
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> decode(truncated), "Truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    void rejectsHugeStepCount() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{'M', 'W', 'R', 'P', 1, 0});
+        // Step size 10, start (0, 0), one run of 2^29 - 1 steps to the right and the terminator
+        out.write(new byte[]{10, 0, 0});
+        out.write(new byte[]{(byte) 0xFD, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+        out.write(0);
+        // A step count near Long.MAX_VALUE
+        out.write(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, 0x7F});
+
+        IOException e = assertThrows(IOException.class, () -> decode(out.toByteArray()));
+        assertTrue(e.getMessage().startsWith("Path file holds"), e.getMessage());
+    }
+
+    @Test
+    void expandsLongRunWithoutTrustingStepCount() throws IOException {
+        // One run of 2^20 steps decodes to a list grown as it fills, not one sized from the header
+        PathFile path = new PathFile(HASH, 1, 0, 0);
+        for (int i = 0; i < 1 << 20; i++) {
+            path.addStep(1);
+        }
+
+        List<Point> points = decode(encode(path)).toPoints();
+
+        assertEquals((1 << 20) + 1, points.size());
+        assertEquals(new Point(1 << 20, 0), points.get(points.size() - 1));
+    }
+
+    @Test
+    void rejectsZeroLengthRun() {
+        byte[] bytes = {'M', 'W', 'R', 'P', 1, 0, 10, 0, 0, 0x02, 0, 0};
+
+        assertThrows(IOException.class, () -> decode(bytes));
+    }
+
+    @Test
+    void truncatedHeaderIsEndOfFile() {
+        byte[] bytes = {'M', 'W', 'R', 'P', 1, 8, 1, 2};
+
+        assertThrows(EOFException.class, () -> decode(bytes));
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests parsing {@link PathTolerance}s and the pixels they accept.
+ */
+class PathToleranceTest {
+    /** The white path color of the test images. */
+    private static final int WHITE = 0xFFFFFFFF;
+
+    /**
+     * Builds an opaque gray pixel, whose luminance equals its level.
+     *
+     * @param level The level of every color channel, from 0 to 255.
+     * @return The ARGB value.
+     */
+    private static int gray(int level) {
+        return 0xFF000000 | level << 16 | level << 8 | level;
+    }
+
+    @Test
+    void parsesEveryForm() {
+        assertSame(PathTolerance.exact(), PathTolerance.parse("exact"));
+        for (String text : new String[]{"exact", "argb:0", "argb:12", "argb:255", "luma:0", "luma:128", "luma:255"}) {
+            assertEquals(text, PathTolerance.parse(text).toString());
+        }
+        assertEquals("argb:7", PathTolerance.parse("argb: 7").toString());
+    }
+
+    @Test
+    void rejectsBadInput() {
+        for (String text : new String[]{"", "fuzzy", "EXACT", "argb", "argb:", "argb:x", "argb:-1", "argb:256",
+                "luma:300", "hue:5", ":5", "argb:1.5"}) {
+            assertThrows(IllegalArgumentException.class, () -> PathTolerance.parse(text), text);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PathTolerance.argbDistance(-1));
+        assertThrows(IllegalArgumentException.class, () -> PathTolerance.luminance(256));
+    }
+
+    @Test
+    void argbDistanceAcceptsUpToItsBound() {
+        PathTolerance tolerance = PathTolerance.argbDistance(10);
+
+        assertTrue(tolerance.matches(WHITE, WHITE));
+        assertTrue(tolerance.matches(0xFFF5FFFF, WHITE));
+        assertFalse(tolerance.matches(0xFFF4FFFF, WHITE));
+        assertTrue(tolerance.matches(0xF5FFFFFF, WHITE));
+        assertFalse(tolerance.matches(0xF4FFFFFF, WHITE));
+        assertTrue(PathTolerance.argbDistance(255).matches(0x00000000, WHITE));
+        assertFalse(PathTolerance.argbDistance(0).matches(0xFFFFFFFE, WHITE));
+    }
+
+    @Test
+    void luminanceSplitsAtItsThreshold() {
+        PathTolerance tolerance = PathTolerance.luminance(128);
+
+        assertTrue(tolerance.matches(gray(128), WHITE));
+        assertFalse(tolerance.matches(gray(127), WHITE));
+        assertTrue(tolerance.matches(gray(0), gray(127)));
+        assertFalse(tolerance.matches(gray(128), gray(0)));
+        // Every pixel is at or above a threshold of 0
+        assertTrue(PathTolerance.luminance(0).matches(gray(0), WHITE));
+        assertFalse(PathTolerance.luminance(255).matches(gray(254), WHITE));
+    }
+
+    @Test
+    void classifyRowAgreesWithMatches() {
+        Random random = new Random(3);
+        int width = 200;
+        int[] argb = new int[width + 5];
+        long[] row = new long[(width + 63) >>> 6];
+        for (PathTolerance tolerance : new PathTolerance[]{PathTolerance.exact(), PathTolerance.argbDistance(40),
+                PathTolerance.luminance(100)}) {
+            for (int trial = 0; trial < 20; trial++) {
+                int pathArgb = random.nextInt();
+                for (int i = 0; i < argb.length; i++) {
+                    // Mix exact hits, near misses and random colors
+                    argb[i] = switch (random.nextInt(3)) {
+                        case 0 -> pathArgb;
+                        case 1 -> pathArgb ^ random.nextInt(64) << 8 * random.nextInt(4);
+                        default -> random.nextInt();
+                    };
+                }
+                tolerance.classifyRow(argb, 5, width, pathArgb, row);
+                for (int x = 0; x < width; x++) {
+                    assertEquals(tolerance.matches(argb[5 + x], pathArgb), (row[x >>> 6] & 1L << x) != 0,
+                            tolerance + " at pixel " + x);
+                }
+            }
+        }
+    }
+}
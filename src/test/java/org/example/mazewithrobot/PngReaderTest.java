@@ -0,0 +1,133 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests decoding PNG images row by row with {@link PngReader}.
+ */
+class PngReaderTest {
+    /**
+     * Decodes every row of an image.
+     *
+     * @param bytes The PNG file.
+     * @return The ARGB pixels, row by row.
+     * @throws IOException If the image cannot be decoded.
+     */
+    private static int[] readAll(byte[] bytes) throws IOException {
+        try (PngReader reader = new PngReader(new ByteArrayInputStream(bytes))) {
+            int width = reader.getWidth();
+            int[] argb = new int[width * reader.getHeight()];
+            int[] row = new int[width];
+            for (int y = 0; y < reader.getHeight(); y++) {
+                reader.readRow(row);
+                System.arraycopy(row, 0, argb, y * width, width);
+            }
+            return argb;
+        }
+    }
+
+    /**
+     * Encodes an image with the platform's PNG writer.
+     *
+     * @param image The image.
+     * @return The PNG file.
+     * @throws IOException If the image cannot be encoded.
+     */
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(ImageIO.write(image, "png", out));
+        return out.toByteArray();
+    }
+
+    /**
+     * Builds an image of random pixels.
+     *
+     * @param type The image type, such as {@link BufferedImage#TYPE_INT_RGB}.
+     * @param seed The seed of the pixels.
+     * @return The image.
+     */
+    private static BufferedImage randomImage(int type, long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(37, 23, type);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        return image;
+    }
+
+    @Test
+    void decodesImagesWrittenByImageIo() throws IOException {
+        for (int type : new int[]{BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB,
+                BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_BYTE_BINARY}) {
+            BufferedImage image = randomImage(type, type);
+            byte[] bytes = encode(image);
+
+            int[] expected = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+            if (type == BufferedImage.TYPE_BYTE_GRAY) {
+                // getRGB converts linear gray to sRGB, while a PNG gray sample is the displayed level
+                int[] gray = image.getRaster().getPixels(0, 0, image.getWidth(), image.getHeight(), (int[]) null);
+                Arrays.setAll(expected, i -> 0xFF000000 | gray[i] * 0x010101);
+            }
+            assertArrayEquals(expected, readAll(bytes), "Image type " + type);
+        }
+    }
+
+    @Test
+    void roundTripThroughPngWriter() throws IOException {
+        int width = 70;
+        int height = 9;
+        Random random = new Random(5);
+        long[][] rows = new long[height][(width + 63) >>> 6];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PngWriter writer = new PngWriter(out, width, height)) {
+            for (long[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = random.nextLong();
+                }
+                row[row.length - 1] &= (1L << (width & 63)) - 1;
+                writer.writeRow(row);
+            }
+        }
+
+        int[] argb = readAll(out.toByteArray());
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean passable = (rows[y][x >>> 6] & (1L << x)) != 0;
+                assertEquals(passable ? 0xFFFFFFFF : 0xFF000000, argb[y * width + x], "Pixel " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    void rejectsBadSignature() throws IOException {
+        byte[] bytes = encode(randomImage(BufferedImage.TYPE_INT_RGB, 1));
+        bytes[1] = 'J';
+
+        IOException e = assertThrows(IOException.class, () -> readAll(bytes));
+        assertEquals("Not a PNG image", e.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedImage() throws IOException {
+        byte[] bytes = encode(randomImage(BufferedImage.TYPE_INT_RGB, 2));
+
+        // Random pixels barely compress, so cutting the file short of three quarters loses image data
+        for (int length = 0; length < bytes.length * 3 / 4; length += 7) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> readAll(truncated), "Truncated to " + length + " bytes");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests reserving, releasing and compacting footprints in a {@link ReservationTable}.
+ */
+class ReservationTableTest {
+    /** The width and height of the test maze in pixels. */
+    private static final int SIDE = 400;
+
+    /** The number of time slots of the test tables. */
+    private static final int WINDOW = 4;
+
+    /**
+     * Builds the lattice of a square maze without walls.
+     *
+     * @return The lattice.
+     */
+    private static Lattice openLattice() {
+        PassabilityGrid grid = new PassabilityGrid(SIDE, SIDE);
+        long[] row = new long[(SIDE + 63) >>> 6];
+        Arrays.fill(row, -1L);
+        row[row.length - 1] = -1L >>> (64 - (SIDE & 63));
+        for (int y = 0; y < SIDE; y++) {
+            grid.setRow(y, row);
+        }
+        return new Maze(grid, 0, 0, List.of(new Point(0, 0), new Point(SIDE - 1, SIDE - 1))).getLattice();
+    }
+
+    @Test
+    void waitingBlocksOverlappingFootprintsDuringItsSlotOnly() {
+        Lattice lattice = openLattice();
+        ReservationTable table = new ReservationTable(lattice, WINDOW);
+        int column = 10;
+        int row = 10;
+        int node = lattice.id(column, row);
+
+        table.reserve(node, node, 1);
+
+        int reach = ReservationTable.FOOTPRINT;
+        for (int dy = -reach; dy <= reach; dy++) {
+            for (int dx = -reach; dx <= reach; dx++) {
+                int other = lattice.id(column + dx, row + dy);
+                boolean overlaps = Math.abs(dx) < reach && Math.abs(dy) < reach;
+                assertEquals(!overlaps, table.isFree(other, other, 1), "Offset " + dx + "," + dy);
+            }
+        }
+        assertTrue(table.isFree(node, node, 0));
+        assertTrue(table.isFree(node, node, 2));
+    }
+
+    @Test
+    void moveReservesBothEnds() {
+        Lattice lattice = openLattice();
+        ReservationTable table = new ReservationTable(lattice, WINDOW);
+        int from = lattice.id(10, 10);
+        int to = lattice.id(11, 10);
+
+        table.reserve(from, to, 0);
+
+        int reach = ReservationTable.FOOTPRINT;
+        assertFalse(table.isFree(lattice.id(10 - reach + 1, 10), lattice.id(10 - reach + 1, 10), 0));
+        assertTrue(table.isFree(lattice.id(10 - reach, 10), lattice.id(10 - reach, 10), 0));
+        assertFalse(table.isFree(lattice.id(11 + reach - 1, 10), lattice.id(11 + reach - 1, 10), 0));
+        assertTrue(table.isFree(lattice.id(11 + reach, 10), lattice.id(11 + reach, 10), 0));
+        // A robot swapping places with the mover sweeps the same cells
+        assertFalse(table.isFree(to, from, 0));
+        // So does one passing by diagonally, clipping a corner
+        assertFalse(table.isFree(lattice.id(12, 11), lattice.id(12, 10), 0));
+    }
+
+    @Test
+    void releaseFreesTheWaitingFootprint() {
+        Lattice lattice = openLattice();
+        ReservationTable table = new ReservationTable(lattice, WINDOW);
+        int node = lattice.id(5, 7);
+        int other = lattice.id(20, 7);
+
+        table.reserve(node, node, 2);
+        table.reserve(other, other, 2);
+        table.release(node, 2);
+
+        assertTrue(table.isFree(node, node, 2));
+        assertFalse(table.isFree(other, other, 2));
+    }
+
+    @Test
+    void compactDropsEveryReservation() {
+        Lattice lattice = openLattice();
+        ReservationTable table = new ReservationTable(lattice, WINDOW);
+        // Enough reservations to grow the log of touched words several times
+        int columns = lattice.getColumns() - ReservationTable.FOOTPRINT;
+        int rows = lattice.getRows() - ReservationTable.FOOTPRINT;
+        for (int slot = 0; slot < WINDOW; slot++) {
+            for (int row = 0; row < rows; row += ReservationTable.FOOTPRINT) {
+                for (int column = 0; column < columns; column += ReservationTable.FOOTPRINT) {
+                    int node = lattice.id(column, row);
+                    table.reserve(node, node, slot);
+                }
+            }
+        }
+        int node = lattice.id(columns / 2, rows / 2);
+        assertFalse(table.isFree(node, node, WINDOW - 1));
+
+        table.compact();
+
+        for (int slot = 0; slot < WINDOW; slot++) {
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    int free = lattice.id(column, row);
+                    assertTrue(table.isFree(free, free, slot), "Cell " + column + "," + row + " in slot " + slot);
+                }
+            }
+        }
+        table.reserve(node, node, 0);
+        assertFalse(table.isFree(node, node, 0));
+    }
+}
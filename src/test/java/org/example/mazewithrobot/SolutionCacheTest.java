@@ -0,0 +1,92 @@
+package org.example.mazewithrobot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests storing and looking up solutions in a {@link SolutionCache}.
+ */
+class SolutionCacheTest {
+    /** The maze hash the test solutions belong to. */
+    private static final byte[] HASH = {9, 8, 7, 6};
+
+    /** The directory the cache keeps its entries in. */
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds a solution with two openings and a short route.
+     *
+     * @return The solution.
+     */
+    private static SolutionCache.Entry sampleEntry() {
+        List<Point> route = List.of(new Point(10, 260), new Point(20, 260), new Point(30, 260), new Point(30, 250));
+        return new SolutionCache.Entry(List.of(new Point(0, 260), new Point(1190, 40)),
+                PathFile.fromPoints(HASH, Maze.STEP_SIZE, route));
+    }
+
+    @Test
+    void roundTripKeepsOpeningsAndRoute() throws IOException {
+        SolutionCache cache = new SolutionCache(directory, SolutionCache.DEFAULT_MAX_BYTES);
+        String key = SolutionCache.key(HASH, 10, 260, "bfs");
+        SolutionCache.Entry entry = sampleEntry();
+
+        cache.put(key, entry);
+        SolutionCache.Entry read = cache.get(key);
+
+        assertNotNull(read);
+        assertEquals(entry.getOpenings(), read.getOpenings());
+        assertEquals(entry.getPath().toPoints(), read.getPath().toPoints());
+        assertTrue(read.getPath().matches(HASH));
+    }
+
+    @Test
+    void keysDependOnStartAndSolver() {
+        String key = SolutionCache.key(HASH, 10, 260, "bfs");
+
+        assertEquals(key, SolutionCache.key(HASH, 10, 260, "bfs"));
+        assertNotEquals(key, SolutionCache.key(HASH, 20, 260, "bfs"));
+        assertNotEquals(key, SolutionCache.key(HASH, 10, 260, "astar"));
+        assertNotEquals(key, SolutionCache.key(new byte[]{9, 8, 7, 5}, 10, 260, "bfs"));
+    }
+
+    @Test
+    void missingEntryIsMiss() {
+        SolutionCache cache = new SolutionCache(directory, SolutionCache.DEFAULT_MAX_BYTES);
+
+        assertNull(cache.get(SolutionCache.key(HASH, 10, 260, "bfs")));
+    }
+
+    @Test
+    void corruptEntriesAreMisses() throws IOException {
+        SolutionCache cache = new SolutionCache(directory, SolutionCache.DEFAULT_MAX_BYTES);
+        String key = SolutionCache.key(HASH, 10, 260, "bfs");
+        cache.put(key, sampleEntry());
+        Path file = directory.resolve(key + ".sol");
+        byte[] bytes = Files.readAllBytes(file);
+
+        byte[] badMagic = bytes.clone();
+        badMagic[0] = 'X';
+        Files.write(file, badMagic);
+        assertNull(cache.get(key));
+
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            assertNull(cache.get(key), "Truncated to " + length + " bytes");
+        }
+
+        // An opening count far beyond any maze
+        byte[] hugeCount = bytes.clone();
+        hugeCount[5] = 0x7F;
+        Files.write(file, hugeCount);
+        assertNull(cache.get(key));
+    }
+}
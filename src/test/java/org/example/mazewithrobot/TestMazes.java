@@ -0,0 +1,102 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds mazes and checks routes for the solver tests.
+ */
+final class TestMazes {
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TestMazes() {
+    }
+
+    /**
+     * Builds a square open maze scattered with wall blocks of one lattice cell.
+     * A wall column of blocks can split the maze into a left and a right half that do not connect.
+     *
+     * @param side The width and height of the maze in pixels, a multiple of {@link Maze#STEP_SIZE}.
+     * @param wallPercent The chance of every block being a wall, in percent.
+     * @param divided True to wall off the right half of the maze from the left half.
+     * @param seed The seed placing the walls.
+     * @return The lattice of the maze.
+     */
+    static Lattice scatteredLattice(int side, int wallPercent, boolean divided, long seed) {
+        Random random = new Random(seed);
+        PassabilityGrid grid = new PassabilityGrid(side, side);
+        int blocks = side / Maze.STEP_SIZE;
+        long[] row = new long[(side + 63) >>> 6];
+        for (int blockRow = 0; blockRow < blocks; blockRow++) {
+            Arrays.fill(row, -1L);
+            if ((side & 63) != 0) {
+                row[row.length - 1] = -1L >>> (64 - (side & 63));
+            }
+            for (int blockColumn = 0; blockColumn < blocks; blockColumn++) {
+                if (random.nextInt(100) < wallPercent || divided && blockColumn == blocks / 2) {
+                    for (int x = blockColumn * Maze.STEP_SIZE; x < (blockColumn + 1) * Maze.STEP_SIZE; x++) {
+                        row[x >>> 6] &= ~(1L << x);
+                    }
+                }
+            }
+            for (int y = blockRow * Maze.STEP_SIZE; y < (blockRow + 1) * Maze.STEP_SIZE; y++) {
+                grid.setRow(y, row);
+            }
+        }
+        // The openings are irrelevant to the search, so skip scanning the borders for them
+        Maze maze = new Maze(grid, 0, 0, List.of(new Point(0, 0), new Point(side - 1, side - 1)));
+        return maze.getLattice();
+    }
+
+    /**
+     * Builds the lattice of a generated maze with loops, in which most pairs of nodes have several routes.
+     *
+     * @param seed The seed of the generator.
+     * @return The lattice of the maze.
+     */
+    static Lattice braidedLattice(long seed) {
+        return new MazeGenerator(24, 18, seed, 0.5).generateMaze(MazeGenerator.Algorithm.BRAIDED).getLattice();
+    }
+
+    /**
+     * Picks a random open node of a lattice.
+     *
+     * @param lattice The lattice.
+     * @param random The source of randomness.
+     * @param fromColumn The first column to pick from.
+     * @param toColumn The column after the last one to pick from.
+     * @return The node id.
+     */
+    static int randomOpenNode(Lattice lattice, Random random, int fromColumn, int toColumn) {
+        while (true) {
+            int node = lattice.id(fromColumn + random.nextInt(toColumn - fromColumn), random.nextInt(lattice.getRows()));
+            if (lattice.isOpen(node)) {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Checks that a route runs from the start to the goal in single steps between open neighbors.
+     *
+     * @param lattice The lattice the route is on.
+     * @param route The node ids of the route.
+     * @param start The node the route must start at.
+     * @param goal The node the route must end at.
+     */
+    static void assertValidRoute(Lattice lattice, int[] route, int start, int goal) {
+        assertTrue(route.length > 0, "No route from " + start + " to " + goal);
+        assertEquals(start, route[0], "Route does not start at the start");
+        assertEquals(goal, route[route.length - 1], "Route does not end at the goal");
+        for (int i = 0; i < route.length; i++) {
+            assertTrue(lattice.isOpen(route[i]), "Step " + i + " is closed");
+            if (i > 0) {
+                assertEquals(1, lattice.manhattan(route[i - 1], route[i]), "Step " + i + " is not to a neighbor");
+            }
+        }
+    }
+}